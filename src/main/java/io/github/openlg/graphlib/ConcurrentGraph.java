@@ -0,0 +1,491 @@
+package io.github.openlg.graphlib;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A thread-safe directed multi-graph for concurrent writers.
+ *
+ * Every node is guarded by one of a fixed number of striped read-write locks, chosen by the hash of its id.
+ * Writers lock the stripes of every node they touch, always in ascending stripe order so they cannot
+ * deadlock: setEdge and removeEdge lock the two endpoints, removeNode locks the node and all its
+ * neighbors. The out map of the source and the in map of the target are updated under the same locks,
+ * so they never disagree. Readers take the read lock of the node they ask about, results are copies.
+ *
+ * Writers on disjoint stripes run in parallel, the node and edge counters are striped as well.
+ * Compound graphs are not supported, use {@link #toGraph()} for a consistent copy to run algorithms on.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class ConcurrentGraph<N, E> {
+
+	private final boolean directed;
+	private final boolean multiGraph;
+
+	private final ReentrantReadWriteLock[] stripes;
+
+	private final ConcurrentHashMap<String, NodeEntry> nodes = new ConcurrentHashMap<>();
+	private final LongAdder nodeCount = new LongAdder();
+	private final LongAdder edgeCount = new LongAdder();
+
+	/**
+	 * node and its adjacency, the maps are guarded by the stripe of the node
+	 */
+	private static final class NodeEntry {
+		private volatile Object label;
+
+		/**
+		 * target id -&gt; edge name -&gt; edge
+		 */
+		private final Map<String, Map<String, EdgeEntry>> out = new HashMap<>();
+
+		/**
+		 * source id -&gt; edge name -&gt; edge
+		 */
+		private final Map<String, Map<String, EdgeEntry>> in = new HashMap<>();
+
+		private NodeEntry(Object label) {
+			this.label = label;
+		}
+	}
+
+	/**
+	 * shared by the out map of the source and the in map of the target
+	 */
+	private static final class EdgeEntry {
+		private final Edge edge;
+		private volatile Object label;
+
+		private EdgeEntry(Edge edge, Object label) {
+			this.edge = edge;
+			this.label = label;
+		}
+	}
+
+	public ConcurrentGraph() {
+		this(true, false);
+	}
+
+	public ConcurrentGraph(boolean directed, boolean multigraph) {
+		this(directed, multigraph, Runtime.getRuntime().availableProcessors() * 16);
+	}
+
+	/**
+	 * @param directed set to false to get an undirected graph
+	 * @param multigraph set to true to allow named edges
+	 * @param concurrencyLevel number of lock stripes, rounded up to a power of two
+	 */
+	public ConcurrentGraph(boolean directed, boolean multigraph, int concurrencyLevel) {
+		this.directed = directed;
+		this.multiGraph = multigraph;
+		int size = Integer.highestOneBit(Math.max(1, concurrencyLevel) * 2 - 1);
+		stripes = new ReentrantReadWriteLock[size];
+		for (int i = 0; i < size; i++)
+			stripes[i] = new ReentrantReadWriteLock();
+	}
+
+	public boolean isDirected() {
+		return directed;
+	}
+
+	public boolean isMultiGraph() {
+		return multiGraph;
+	}
+
+	public int nodeCount() {
+		return nodeCount.intValue();
+	}
+
+	public int edgeCount() {
+		return edgeCount.intValue();
+	}
+
+	/**
+	 * @return ids of the nodes, in no particular order
+	 */
+	public List<String> getNodes() {
+		return new ArrayList<>(nodes.keySet());
+	}
+
+	public ConcurrentGraph<N, E> setNode(String id) {
+		return setNode(id, null, false);
+	}
+
+	public ConcurrentGraph<N, E> setNode(String id, N n) {
+		return setNode(id, n, true);
+	}
+
+	private ConcurrentGraph<N, E> setNode(String id, N n, boolean replaceValue) {
+		Lock lock = stripe(id).writeLock();
+		lock.lock();
+		try {
+			NodeEntry node = nodes.get(id);
+			if (node == null)
+				addNode(id, n);
+			else if (replaceValue)
+				node.label = n;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	public N getNode(String nodeId) {
+		NodeEntry node = nodes.get(nodeId);
+		return node != null ? (N) node.label : null;
+	}
+
+	public boolean hasNode(String nodeId) {
+		return nodes.containsKey(nodeId);
+	}
+
+	/**
+	 * Remove the node and its edges, or do nothing if the node is not in the graph.
+	 * @param id node id
+	 * @return current graph
+	 */
+	public ConcurrentGraph<N, E> removeNode(String id) {
+		while (true) {
+			List<String> neighbors = neighbors(id);
+
+			// the neighbors can only change while the node's own stripe is not held, so check them after locking
+			int[] locked = lockAll(id, neighbors);
+			try {
+				NodeEntry node = nodes.get(id);
+				if (node == null)
+					return this;
+				if (!covers(locked, neighborIds(node)))
+					continue;
+
+				for (Map.Entry<String, Map<String, EdgeEntry>> entry : node.out.entrySet()) {
+					if (!entry.getKey().equals(id))
+						nodes.get(entry.getKey()).in.remove(id);
+					edgeCount.add(-entry.getValue().size());
+				}
+				for (Map.Entry<String, Map<String, EdgeEntry>> entry : node.in.entrySet()) {
+					if (!entry.getKey().equals(id)) {
+						nodes.get(entry.getKey()).out.remove(id);
+						edgeCount.add(-entry.getValue().size());
+					}
+				}
+				nodes.remove(id);
+				nodeCount.decrement();
+				return this;
+			} finally {
+				unlockAll(locked);
+			}
+		}
+	}
+
+	public ConcurrentGraph<N, E> setEdge(String sourceId, String targetId) {
+		return setEdge(sourceId, targetId, null, null);
+	}
+
+	public ConcurrentGraph<N, E> setEdge(String sourceId, String targetId, E e) {
+		return setEdge(sourceId, targetId, e, null);
+	}
+
+	public ConcurrentGraph<N, E> setEdge(Edge edge) {
+		return setEdge(edge.getSource(), edge.getTarget(), null, edge.getName());
+	}
+
+	public ConcurrentGraph<N, E> setEdge(Edge edge, E e) {
+		return setEdge(edge.getSource(), edge.getTarget(), e, edge.getName());
+	}
+
+	/**
+	 * Creates the edge and missing nodes, or updates the value of an existing edge.
+	 *
+	 * @param sourceId source node id
+	 * @param targetId target node id
+	 * @param e edge data
+	 * @param name edge name
+	 * @return current graph
+	 */
+	public ConcurrentGraph<N, E> setEdge(String sourceId, String targetId, E e, String name) {
+		if (!Utils.isEmpty(name) && !multiGraph)
+			throw new IllegalOperationException("Cannot set a named getEdge when multiGraph = false");
+
+		// Ensure we add undirected edges in a consistent way.
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+
+		int[] locked = lockAll(sourceId, Collections.singleton(targetId));
+		try {
+			NodeEntry source = nodes.get(sourceId);
+			if (source == null)
+				source = addNode(sourceId, null);
+			NodeEntry target = nodes.get(targetId);
+			if (target == null)
+				target = addNode(targetId, null);
+
+			Map<String, EdgeEntry> edges = source.out.computeIfAbsent(targetId, k -> new HashMap<>(2));
+			EdgeEntry edge = edges.get(name);
+			if (edge != null) {
+				edge.label = e;
+			} else {
+				edge = new EdgeEntry(new Edge(sourceId, targetId, name), e);
+				edges.put(name, edge);
+				target.in.computeIfAbsent(sourceId, k -> new HashMap<>(2)).put(name, edge);
+				edgeCount.increment();
+			}
+		} finally {
+			unlockAll(locked);
+		}
+		return this;
+	}
+
+	public ConcurrentGraph<N, E> setPath(String... nodeIds) {
+		for (int i = 1; i < nodeIds.length; i++)
+			setEdge(nodeIds[i - 1], nodeIds[i]);
+		return this;
+	}
+
+	public E getEdge(Edge edge) {
+		return getEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public E getEdge(String sourceId, String targetId) {
+		return getEdge(sourceId, targetId, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public E getEdge(String sourceId, String targetId, String name) {
+		EdgeEntry edge = findEdge(sourceId, targetId, name);
+		return edge != null ? (E) edge.label : null;
+	}
+
+	public boolean hasEdge(Edge edge) {
+		return hasEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public boolean hasEdge(String sourceId, String targetId) {
+		return hasEdge(sourceId, targetId, null);
+	}
+
+	public boolean hasEdge(String sourceId, String targetId, String name) {
+		return findEdge(sourceId, targetId, name) != null;
+	}
+
+	public ConcurrentGraph<N, E> removeEdge(Edge edge) {
+		return removeEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public ConcurrentGraph<N, E> removeEdge(String sourceId, String targetId) {
+		return removeEdge(sourceId, targetId, null);
+	}
+
+	public ConcurrentGraph<N, E> removeEdge(String sourceId, String targetId, String name) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+
+		int[] locked = lockAll(sourceId, Collections.singleton(targetId));
+		try {
+			NodeEntry source = nodes.get(sourceId);
+			Map<String, EdgeEntry> edges = source != null ? source.out.get(targetId) : null;
+			if (edges != null && edges.remove(name) != null) {
+				if (edges.isEmpty())
+					source.out.remove(targetId);
+				Map<String, EdgeEntry> reverse = nodes.get(targetId).in.get(sourceId);
+				reverse.remove(name);
+				if (reverse.isEmpty())
+					nodes.get(targetId).in.remove(sourceId);
+				edgeCount.decrement();
+			}
+		} finally {
+			unlockAll(locked);
+		}
+		return this;
+	}
+
+	/**
+	 * @return all edges, copied stripe by stripe
+	 */
+	public List<Edge> getEdges() {
+		List<Edge> edges = new ArrayList<>();
+		for (String nodeId : nodes.keySet())
+			edges.addAll(outEdges(nodeId));
+		return edges;
+	}
+
+	public List<Edge> inEdges(String nodeId) {
+		return adjacentEdges(nodeId, null, false);
+	}
+
+	public List<Edge> inEdges(String nodeId, String sourceId) {
+		return adjacentEdges(nodeId, sourceId, false);
+	}
+
+	public List<Edge> outEdges(String nodeId) {
+		return adjacentEdges(nodeId, null, true);
+	}
+
+	public List<Edge> outEdges(String nodeId, String targetId) {
+		return adjacentEdges(nodeId, targetId, true);
+	}
+
+	public List<String> predecessors(String nodeId) {
+		return adjacentIds(nodeId, false);
+	}
+
+	public List<String> successors(String nodeId) {
+		return adjacentIds(nodeId, true);
+	}
+
+	/**
+	 * @param nodeId node id
+	 * @return ids of the predecessors and successors, each once
+	 */
+	public List<String> neighbors(String nodeId) {
+		Lock lock = stripe(nodeId).readLock();
+		lock.lock();
+		try {
+			NodeEntry node = nodes.get(nodeId);
+			return node != null ? new ArrayList<>(neighborIds(node)) : Collections.emptyList();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Copies the graph while holding the read locks of all stripes, so the copy is a consistent state.
+	 *
+	 * @return new graph with the nodes and edges of this graph
+	 */
+	@SuppressWarnings("unchecked")
+	public Graph<N, E> toGraph() {
+		for (ReentrantReadWriteLock stripe : stripes)
+			stripe.readLock().lock();
+		try {
+			Graph<N, E> graph = new Graph<>(directed, multiGraph, false);
+			nodes.forEach((id, node) -> graph.setNode(id, (N) node.label));
+			nodes.forEach((id, node) -> node.out.values().forEach(edges -> edges.values().forEach(
+					edge -> graph.setEdge(edge.edge, (E) edge.label))));
+			return graph;
+		} finally {
+			for (ReentrantReadWriteLock stripe : stripes)
+				stripe.readLock().unlock();
+		}
+	}
+
+	private NodeEntry addNode(String id, Object label) {
+		NodeEntry node = new NodeEntry(label);
+		nodes.put(id, node);
+		nodeCount.increment();
+		return node;
+	}
+
+	private EdgeEntry findEdge(String sourceId, String targetId, String name) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+		Lock lock = stripe(sourceId).readLock();
+		lock.lock();
+		try {
+			NodeEntry source = nodes.get(sourceId);
+			Map<String, EdgeEntry> edges = source != null ? source.out.get(targetId) : null;
+			return edges != null ? edges.get(name) : null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private List<Edge> adjacentEdges(String nodeId, String otherId, boolean out) {
+		Lock lock = stripe(nodeId).readLock();
+		lock.lock();
+		try {
+			NodeEntry node = nodes.get(nodeId);
+			if (node == null)
+				return Collections.emptyList();
+			Map<String, Map<String, EdgeEntry>> adjacency = out ? node.out : node.in;
+			List<Edge> edges = new ArrayList<>();
+			if (otherId != null) {
+				Map<String, EdgeEntry> link = adjacency.get(otherId);
+				if (link != null)
+					link.values().forEach(edge -> edges.add(edge.edge));
+			} else {
+				adjacency.values().forEach(link -> link.values().forEach(edge -> edges.add(edge.edge)));
+			}
+			return edges;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private List<String> adjacentIds(String nodeId, boolean out) {
+		Lock lock = stripe(nodeId).readLock();
+		lock.lock();
+		try {
+			NodeEntry node = nodes.get(nodeId);
+			return node != null ? new ArrayList<>((out ? node.out : node.in).keySet()) : Collections.emptyList();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Must be called with a lock on the stripe of the node.
+	 */
+	private static Set<String> neighborIds(NodeEntry node) {
+		Set<String> ids = new LinkedHashSet<>(node.in.keySet());
+		ids.addAll(node.out.keySet());
+		return ids;
+	}
+
+	private ReentrantReadWriteLock stripe(String id) {
+		return stripes[stripeIndex(id)];
+	}
+
+	private int stripeIndex(String id) {
+		int h = id.hashCode();
+		return (h ^ (h >>> 16)) & (stripes.length - 1);
+	}
+
+	/**
+	 * Write locks the stripes of all given nodes in ascending order.
+	 * @return the locked stripe indices
+	 */
+	private int[] lockAll(String id, Collection<String> others) {
+		int[] indices = new int[others.size() + 1];
+		int count = 0;
+		indices[count++] = stripeIndex(id);
+		for (String other : others)
+			indices[count++] = stripeIndex(other);
+		Arrays.sort(indices);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || indices[distinct - 1] != indices[i])
+				indices[distinct++] = indices[i];
+		}
+		indices = Arrays.copyOf(indices, distinct);
+		for (int index : indices)
+			stripes[index].writeLock().lock();
+		return indices;
+	}
+
+	private void unlockAll(int[] indices) {
+		for (int i = indices.length - 1; i >= 0; i--)
+			stripes[indices[i]].writeLock().unlock();
+	}
+
+	private boolean covers(int[] locked, Collection<String> ids) {
+		for (String id : ids) {
+			if (Arrays.binarySearch(locked, stripeIndex(id)) < 0)
+				return false;
+		}
+		return true;
+	}
+}
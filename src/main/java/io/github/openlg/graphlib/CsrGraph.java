@@ -0,0 +1,534 @@
+package io.github.openlg.graphlib;
+
+import io.github.openlg.graphlib.algorithms.IsAcyclic;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import io.github.openlg.graphlib.algorithms.Topsort;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Immutable snapshot of a {@link Graph} in compressed sparse row form, created by {@link Graph#freeze()}.
+ *
+ * Nodes are numbered 0 .. n - 1 in insertion order. The distinct successors of node i are
+ * succTargets[succOffsets[i] .. succOffsets[i + 1]), sorted by index, and every such link owns the
+ * edges edge[linkEdges[link] .. linkEdges[link + 1]), so the out edges of a node are one contiguous range.
+ * Predecessors and in edges are kept the same way. Ids, node labels and edge labels live in parallel arrays.
+ *
+ * All fields are final and never written after construction, so an instance can be shared
+ * across threads without locks. The read methods follow {@link Graph}, returned collections are read-only.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class CsrGraph<N, E> implements IndexedGraph, Serializable {
+
+	private final boolean directed;
+	private final boolean multiGraph;
+	private final boolean compound;
+
+	private final String[] ids;
+	private final Object[] labels;
+
+	/**
+	 * open addressing table of node index + 1, 0 for free slots
+	 */
+	private final int[] idTable;
+
+	private final int[] succOffsets;
+	private final int[] succTargets;
+	private final int[] predOffsets;
+	private final int[] predSources;
+
+	/**
+	 * link (position in succTargets) -&gt; first edge, edges of a node are contiguous
+	 */
+	private final int[] linkEdges;
+	private final Edge[] edgeObjs;
+	private final Object[] edgeLabels;
+
+	/**
+	 * edges entering each node, as edge indices
+	 */
+	private final int[] inEdgeOffsets;
+	private final int[] inEdges;
+
+	/**
+	 * node -&gt; parent index or -1, and children of each node (the last row holds the root nodes),
+	 * null if the graph is not compound
+	 */
+	private final int[] parents;
+	private final int[] childOffsets;
+	private final int[] children;
+
+	CsrGraph(Graph<N, E> graph, GraphStore store) {
+		directed = graph.isDirected();
+		multiGraph = graph.isMultiGraph();
+		compound = graph.isCompound();
+
+		int n = store.nodeCount();
+		int[] remap = new int[store.nodeBound()];
+		ids = new String[n];
+		labels = new Object[n];
+		int count = 0;
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node)) {
+			remap[node] = count;
+			ids[count] = store.nodeId(node);
+			labels[count++] = store.nodeLabel(node);
+		}
+
+		int tableSize = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+		idTable = new int[tableSize];
+		for (int i = 0; i < n; i++) {
+			int slot = slotOf(ids[i]);
+			while (idTable[slot] != 0)
+				slot = (slot + 1) & (tableSize - 1);
+			idTable[slot] = i + 1;
+		}
+
+		// out direction: links sorted by target, each followed by its edges in insertion order
+		succOffsets = new int[n + 1];
+		int linkCount = 0;
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node))
+			linkCount += store.successorCount(node);
+		succTargets = new int[linkCount];
+		linkEdges = new int[linkCount + 1];
+		edgeObjs = new Edge[store.edgeCount()];
+		edgeLabels = new Object[edgeObjs.length];
+		long[] order = new long[0];
+		int links = 0;
+		int edgeCount = 0;
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node)) {
+			int i = remap[node];
+			int degree = store.successorCount(node);
+			if (order.length < degree)
+				order = new long[Math.max(degree, order.length << 1)];
+			for (int k = 0; k < degree; k++) {
+				int link = store.successorLink(node, k);
+				order[k] = ((long) remap[store.linkTarget(link)] << 32) | link;
+			}
+			Arrays.sort(order, 0, degree);
+			succOffsets[i] = links;
+			for (int k = 0; k < degree; k++) {
+				int link = (int) order[k];
+				succTargets[links] = (int) (order[k] >>> 32);
+				linkEdges[links++] = edgeCount;
+				int first = edgeCount;
+				for (int edge = store.firstEdge(link); edge != -1; edge = store.nextEdge(edge)) {
+					edgeObjs[edgeCount] = store.edgeObj(edge);
+					edgeLabels[edgeCount++] = store.edgeLabel(edge);
+				}
+				reverse(edgeObjs, first, edgeCount);
+				reverse(edgeLabels, first, edgeCount);
+			}
+		}
+		succOffsets[n] = links;
+		linkEdges[links] = edgeCount;
+
+		// in direction by counting sort over the out direction, which keeps sources sorted
+		predOffsets = new int[n + 1];
+		inEdgeOffsets = new int[n + 1];
+		for (int link = 0; link < linkCount; link++) {
+			predOffsets[succTargets[link] + 1]++;
+			inEdgeOffsets[succTargets[link] + 1] += linkEdges[link + 1] - linkEdges[link];
+		}
+		for (int i = 0; i < n; i++) {
+			predOffsets[i + 1] += predOffsets[i];
+			inEdgeOffsets[i + 1] += inEdgeOffsets[i];
+		}
+		predSources = new int[linkCount];
+		inEdges = new int[edgeCount];
+		int[] predFill = Arrays.copyOf(predOffsets, n);
+		int[] inFill = Arrays.copyOf(inEdgeOffsets, n);
+		for (int i = 0; i < n; i++) {
+			for (int link = succOffsets[i]; link < succOffsets[i + 1]; link++) {
+				int target = succTargets[link];
+				predSources[predFill[target]++] = i;
+				for (int edge = linkEdges[link]; edge < linkEdges[link + 1]; edge++)
+					inEdges[inFill[target]++] = edge;
+			}
+		}
+
+		if (compound) {
+			parents = new int[n];
+			childOffsets = new int[n + 2];
+			for (int i = 0; i < n; i++) {
+				String parentId = graph.getParent(ids[i]);
+				parents[i] = parentId != null ? indexOf(parentId) : -1;
+				childOffsets[(parents[i] != -1 ? parents[i] : n) + 1]++;
+			}
+			for (int i = 0; i <= n; i++)
+				childOffsets[i + 1] += childOffsets[i];
+			children = new int[n];
+			int[] childFill = Arrays.copyOf(childOffsets, n + 1);
+			for (int i = 0; i < n; i++)
+				children[childFill[parents[i] != -1 ? parents[i] : n]++] = i;
+		} else {
+			parents = null;
+			childOffsets = null;
+			children = null;
+		}
+	}
+
+	public boolean isDirected() {
+		return directed;
+	}
+
+	public boolean isMultiGraph() {
+		return multiGraph;
+	}
+
+	public boolean isCompound() {
+		return compound;
+	}
+
+	@Override
+	public int nodeCount() {
+		return ids.length;
+	}
+
+	/**
+	 * @return node ids in insertion order
+	 */
+	public List<String> getNodes() {
+		return new IdList(ids, 0, ids.length);
+	}
+
+	@SuppressWarnings("unchecked")
+	public N getNode(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? (N) labels[node] : null;
+	}
+
+	public boolean hasNode(String nodeId) {
+		return indexOf(nodeId) != -1;
+	}
+
+	public Set<String> getSources() {
+		Set<String> sources = new HashSet<>();
+		for (int i = 0; i < ids.length; i++) {
+			if (predOffsets[i] == predOffsets[i + 1])
+				sources.add(ids[i]);
+		}
+		return sources;
+	}
+
+	public Set<String> getSinks() {
+		Set<String> sinks = new HashSet<>();
+		for (int i = 0; i < ids.length; i++) {
+			if (succOffsets[i] == succOffsets[i + 1])
+				sinks.add(ids[i]);
+		}
+		return sinks;
+	}
+
+	public int edgeCount() {
+		return edgeObjs.length;
+	}
+
+	public List<Edge> getEdges() {
+		return Collections.unmodifiableList(Arrays.asList(edgeObjs));
+	}
+
+	public E getEdge(Edge edge) {
+		return getEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public E getEdge(String sourceId, String targetId) {
+		return getEdge(sourceId, targetId, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public E getEdge(String sourceId, String targetId, String name) {
+		int edge = findEdge(sourceId, targetId, name);
+		return edge != -1 ? (E) edgeLabels[edge] : null;
+	}
+
+	public boolean hasEdge(Edge edge) {
+		return hasEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public boolean hasEdge(String sourceId, String targetId) {
+		return hasEdge(sourceId, targetId, null);
+	}
+
+	public boolean hasEdge(String sourceId, String targetId, String name) {
+		return findEdge(sourceId, targetId, name) != -1;
+	}
+
+	public List<Edge> inEdges(String nodeId) {
+		return inEdges(nodeId, null);
+	}
+
+	public List<Edge> inEdges(String nodeId, String sourceId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		if (sourceId == null)
+			return new EdgeList(inEdges, inEdgeOffsets[node], inEdgeOffsets[node + 1]);
+		return linkEdgeList(findLink(indexOf(sourceId), node));
+	}
+
+	public List<Edge> outEdges(String nodeId) {
+		return outEdges(nodeId, null);
+	}
+
+	public List<Edge> outEdges(String nodeId, String targetId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		if (targetId == null)
+			return getEdges().subList(linkEdges[succOffsets[node]], linkEdges[succOffsets[node + 1]]);
+		return linkEdgeList(findLink(node, indexOf(targetId)));
+	}
+
+	public List<Edge> nodeEdges(String nodeId) {
+		return nodeEdges(nodeId, null);
+	}
+
+	public List<Edge> nodeEdges(String nodeId, String connectedNodeId) {
+		List<Edge> edges = new ArrayList<>(inEdges(nodeId, connectedNodeId));
+		edges.addAll(outEdges(nodeId, connectedNodeId));
+		return edges;
+	}
+
+	public List<String> predecessors(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? new IdList(predSources, predOffsets[node], predOffsets[node + 1]) : Collections.emptyList();
+	}
+
+	public List<String> successors(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? new IdList(succTargets, succOffsets[node], succOffsets[node + 1]) : Collections.emptyList();
+	}
+
+	/**
+	 * @param nodeId node id
+	 * @return predecessors followed by the successors that are not predecessors
+	 */
+	public List<String> neighbors(String nodeId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		List<String> neighbors = new ArrayList<>(predecessors(nodeId));
+		// both rows are sorted, so successors already seen as predecessors are found by merging
+		int p = predOffsets[node];
+		for (int link = succOffsets[node]; link < succOffsets[node + 1]; link++) {
+			int successor = succTargets[link];
+			while (p < predOffsets[node + 1] && predSources[p] < successor)
+				p++;
+			if (p == predOffsets[node + 1] || predSources[p] != successor)
+				neighbors.add(ids[successor]);
+		}
+		return neighbors;
+	}
+
+	public boolean isLeaf(String nodeId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return true;
+		boolean noSuccessors = succOffsets[node] == succOffsets[node + 1];
+		return directed ? noSuccessors : noSuccessors && predOffsets[node] == predOffsets[node + 1];
+	}
+
+	public String getParent(String nodeId) {
+		if (!compound)
+			return null;
+		int node = indexOf(nodeId);
+		return node != -1 && parents[node] != -1 ? ids[parents[node]] : null;
+	}
+
+	public List<String> getChildren(String nodeId) {
+		if (!compound) {
+			if (nodeId == null)
+				return getNodes();
+			return hasNode(nodeId) ? Collections.emptyList() : null;
+		}
+		int node = nodeId == null ? ids.length : indexOf(nodeId);
+		return node != -1 ? new IdList(children, childOffsets[node], childOffsets[node + 1]) : null;
+	}
+
+	/**
+	 * @return an array of nodes such that for each edge u -&gt; v, u appears before v in the array.
+	 * @throws Topsort.CycleException if the graph has a cycle
+	 */
+	public List<String> topsort() {
+		return new Topsort().topsort(this, Topsort.Order.FIFO);
+	}
+
+	public List<List<String>> tarjan() {
+		return new Tarjan().tarjan(this);
+	}
+
+	public boolean isAcyclic() {
+		return new IsAcyclic().isAcyclic(this);
+	}
+
+	public List<List<String>> findCycles() {
+		List<List<String>> cycles = new ArrayList<>();
+		for (List<String> component : tarjan()) {
+			if (component.size() > 1 || hasEdge(component.get(0), component.get(0)))
+				cycles.add(component);
+		}
+		return cycles;
+	}
+
+	@Override
+	public int nodeBound() {
+		return ids.length;
+	}
+
+	@Override
+	public boolean containsIndex(int index) {
+		return index >= 0 && index < ids.length;
+	}
+
+	@Override
+	public int indexOf(String nodeId) {
+		if (nodeId == null)
+			return -1;
+		int mask = idTable.length - 1;
+		for (int slot = slotOf(nodeId); idTable[slot] != 0; slot = (slot + 1) & mask) {
+			String id = ids[idTable[slot] - 1];
+			if (id.equals(nodeId))
+				return idTable[slot] - 1;
+		}
+		return -1;
+	}
+
+	@Override
+	public String nodeIdAt(int index) {
+		return ids[index];
+	}
+
+	@Override
+	public int successorCount(int index) {
+		return succOffsets[index + 1] - succOffsets[index];
+	}
+
+	@Override
+	public int successorAt(int index, int i) {
+		return succTargets[succOffsets[index] + i];
+	}
+
+	@Override
+	public int predecessorCount(int index) {
+		return predOffsets[index + 1] - predOffsets[index];
+	}
+
+	@Override
+	public int predecessorAt(int index, int i) {
+		return predSources[predOffsets[index] + i];
+	}
+
+	private int slotOf(String id) {
+		int h = id.hashCode();
+		return (h ^ (h >>> 16)) & (idTable.length - 1);
+	}
+
+	/**
+	 * Binary search in the sorted successor row.
+	 * @return link index or -1
+	 */
+	private int findLink(int source, int target) {
+		if (source == -1 || target == -1)
+			return -1;
+		int link = Arrays.binarySearch(succTargets, succOffsets[source], succOffsets[source + 1], target);
+		return link >= 0 ? link : -1;
+	}
+
+	private int findEdge(String sourceId, String targetId, String name) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+		int link = findLink(indexOf(sourceId), indexOf(targetId));
+		if (link == -1)
+			return -1;
+		for (int edge = linkEdges[link]; edge < linkEdges[link + 1]; edge++) {
+			if (Objects.equals(edgeObjs[edge].getName(), name))
+				return edge;
+		}
+		return -1;
+	}
+
+	private List<Edge> linkEdgeList(int link) {
+		return link != -1 ? getEdges().subList(linkEdges[link], linkEdges[link + 1]) : Collections.emptyList();
+	}
+
+	private static void reverse(Object[] array, int from, int to) {
+		for (int i = from, j = to - 1; i < j; i++, j--) {
+			Object tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Read-only ids of the node indices in a range of an index array.
+	 */
+	private final class IdList extends AbstractList<String> implements RandomAccess {
+		private final int[] indices;
+		private final String[] values;
+		private final int from;
+		private final int to;
+
+		private IdList(int[] indices, int from, int to) {
+			this.indices = indices;
+			this.values = null;
+			this.from = from;
+			this.to = to;
+		}
+
+		private IdList(String[] values, int from, int to) {
+			this.indices = null;
+			this.values = values;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public String get(int index) {
+			Objects.checkIndex(index, to - from);
+			return values != null ? values[from + index] : ids[indices[from + index]];
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			// a value range is only used for all nodes
+			return values == null ? super.contains(o) : o instanceof String && hasNode((String) o);
+		}
+	}
+
+	/**
+	 * Read-only edges of the edge indices in a range of an index array.
+	 */
+	private final class EdgeList extends AbstractList<Edge> implements RandomAccess {
+		private final int[] indices;
+		private final int from;
+		private final int to;
+
+		private EdgeList(int[] indices, int from, int to) {
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Edge get(int index) {
+			Objects.checkIndex(index, to - from);
+			return edgeObjs[indices[from + index]];
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+}
@@ -0,0 +1,503 @@
+package io.github.openlg.graphlib;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a graph, maintained across updates.
+ *
+ * Components are kept in a topological order of the condensed graph. Inserting an edge that goes
+ * backwards in that order runs the Pearce-Kelly search between the two positions: the components that
+ * are both reachable from the target and reach the source form a new cycle and are merged, smaller
+ * member lists into larger ones. Removing an edge or a node inside a component re-runs Tarjan's algorithm
+ * on that component only, a split inserts the parts at the position of the old component.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class DynamicScc implements Serializable {
+
+	private static final int EMPTY = -1;
+
+	/**
+	 * node index -&gt; component, EMPTY for unused indices
+	 */
+	private int[] comp = new int[16];
+
+	/**
+	 * node index -&gt; position in the member list of its component
+	 */
+	private int[] memberPos = new int[16];
+
+	/**
+	 * component -&gt; node indices
+	 */
+	private int[][] members = new int[16][];
+	private int[] memberCount = new int[16];
+
+	/**
+	 * component ids of merged or removed components
+	 */
+	private int[] freeComps = new int[16];
+	private int freeCount;
+	private int compBound;
+
+	/**
+	 * component -&gt; position and position -&gt; component, EMPTY for holes
+	 */
+	private int[] compPos = new int[16];
+	private int[] compAt = new int[16];
+	private int nextPos;
+	private int compCount;
+
+	/**
+	 * search state, reused across updates
+	 */
+	private int[] forwardMark = new int[16];
+	private int[] backwardMark = new int[16];
+	private int stamp;
+	private int[] stack = new int[16];
+	private int[] forward = new int[16];
+	private int[] backward = new int[16];
+	private int[] nodeMark = new int[16];
+	private int nodeStamp;
+
+	/**
+	 * @param graph graph
+	 * @param componentIds component by node index in reverse topological order, see Tarjan#componentIds
+	 */
+	DynamicScc(IndexedGraph graph, int[] componentIds) {
+		int components = 0;
+		for (int id : componentIds)
+			components = Math.max(components, id + 1);
+		ensureNodes(graph.nodeBound());
+		for (int i = 0; i < components; i++)
+			newComp();
+		for (int i = components - 1; i >= 0; i--)
+			addPosition(i);
+		Arrays.fill(comp, EMPTY);
+		for (int node = 0; node < componentIds.length; node++) {
+			if (componentIds[node] != EMPTY)
+				addMember(componentIds[node], node);
+		}
+	}
+
+	/**
+	 * @param node node index
+	 * @return component of the node
+	 */
+	int componentOf(int node) {
+		return comp[node];
+	}
+
+	int componentCount() {
+		return compCount;
+	}
+
+	/**
+	 * @param component component
+	 * @return node indices of the component, only the first {@link #size(int)} entries are used
+	 */
+	int[] members(int component) {
+		return members[component];
+	}
+
+	int size(int component) {
+		return memberCount[component];
+	}
+
+	/**
+	 * @param order receives the components in topological order of the condensed graph
+	 * @return order
+	 */
+	int[] toArray(int[] order) {
+		int count = 0;
+		for (int i = 0; i < nextPos; i++) {
+			if (compAt[i] != EMPTY)
+				order[count++] = compAt[i];
+		}
+		return order;
+	}
+
+	void addNode(int node) {
+		ensureNodes(node + 1);
+		int c = newComp();
+		addPosition(c);
+		addMember(c, node);
+	}
+
+	/**
+	 * Called after the node and its edges were removed from the graph.
+	 */
+	void removeNode(IndexedGraph graph, int node) {
+		int c = comp[node];
+		removeMember(c, node);
+		if (memberCount[c] == 0)
+			removeComp(c);
+		else
+			split(graph, c);
+	}
+
+	/**
+	 * Called after the link source -&gt; target was added to the graph.
+	 */
+	void addEdge(IndexedGraph graph, int source, int target) {
+		int cu = comp[source];
+		int cv = comp[target];
+		int lower = compPos[cv];
+		int upper = compPos[cu];
+		if (cu == cv || lower > upper)
+			return;
+
+		if (++stamp == 0) {
+			Arrays.fill(forwardMark, 0);
+			Arrays.fill(backwardMark, 0);
+			stamp = 1;
+		}
+		int forwardSize = search(graph, cv, true, lower, upper);
+		int backwardSize = search(graph, cu, false, lower, upper);
+		boolean cycle = forwardMark[cu] == stamp;
+
+		// backward-only components take the lowest positions, forward-only components the highest ones
+		int[] backwardOnly = byPosition(backward, backwardSize, forwardMark);
+		int[] forwardOnly = byPosition(forward, forwardSize, backwardMark);
+		int[] slots = new int[forwardSize + backwardOnly.length];
+		for (int i = 0; i < forwardSize; i++)
+			slots[i] = compPos[forward[i]];
+		for (int i = 0; i < backwardOnly.length; i++)
+			slots[forwardSize + i] = compPos[backwardOnly[i]];
+		Arrays.sort(slots);
+		for (int slot : slots)
+			compAt[slot] = EMPTY;
+
+		for (int i = 0; i < backwardOnly.length; i++)
+			place(backwardOnly[i], slots[i]);
+		for (int i = 0; i < forwardOnly.length; i++)
+			place(forwardOnly[i], slots[slots.length - forwardOnly.length + i]);
+
+		if (cycle) {
+			// components in both sets lie on a cycle through the new edge, the largest one absorbs the others
+			int keeper = cu;
+			for (int i = 0; i < forwardSize; i++) {
+				int c = forward[i];
+				if (backwardMark[c] == stamp && memberCount[c] > memberCount[keeper])
+					keeper = c;
+			}
+			for (int i = 0; i < forwardSize; i++) {
+				int c = forward[i];
+				if (c != keeper && backwardMark[c] == stamp)
+					merge(keeper, c);
+			}
+			place(keeper, slots[backwardOnly.length]);
+		}
+	}
+
+	/**
+	 * Called after the last edge source -&gt; target was removed from the graph.
+	 */
+	void removeEdge(IndexedGraph graph, int source, int target) {
+		int c = comp[source];
+		if (c == comp[target] && !reaches(graph, source, target, c))
+			split(graph, c);
+	}
+
+	/**
+	 * Every member still reaches source and is still reached from target, so the component stays
+	 * strongly connected exactly when source still reaches target. Bidirectional breadth first search
+	 * inside c, one level at a time from the smaller frontier; forward visits are marked with nodeStamp,
+	 * backward visits with -nodeStamp.
+	 */
+	private boolean reaches(IndexedGraph graph, int source, int target, int c) {
+		if (++nodeStamp == Integer.MAX_VALUE) {
+			Arrays.fill(nodeMark, 0);
+			nodeStamp = 1;
+		}
+		nodeMark[source] = nodeStamp;
+		nodeMark[target] = -nodeStamp;
+		stack = append(stack, 0, source);
+		forward = append(forward, 0, target);
+		int forwardHead = 0;
+		int forwardTail = 1;
+		int backwardHead = 0;
+		int backwardTail = 1;
+		while (forwardHead < forwardTail && backwardHead < backwardTail) {
+			boolean successors = forwardTail - forwardHead <= backwardTail - backwardHead;
+			int[] queue = successors ? stack : forward;
+			int head = successors ? forwardHead : backwardHead;
+			int tail = successors ? forwardTail : backwardTail;
+			int mark = successors ? nodeStamp : -nodeStamp;
+			for (int end = tail; head < end; head++) {
+				int node = queue[head];
+				int degree = successors ? graph.successorCount(node) : graph.predecessorCount(node);
+				for (int i = 0; i < degree; i++) {
+					int next = successors ? graph.successorAt(node, i) : graph.predecessorAt(node, i);
+					if (comp[next] != c || nodeMark[next] == mark)
+						continue;
+					if (nodeMark[next] == -mark)
+						return true;
+					nodeMark[next] = mark;
+					queue = append(queue, tail++, next);
+				}
+			}
+			if (successors) {
+				stack = queue;
+				forwardHead = head;
+				forwardTail = tail;
+			} else {
+				forward = queue;
+				backwardHead = head;
+				backwardTail = tail;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Depth first search over components with positions in [lower, upper], forward over successors
+	 * and backward over predecessors. Marks and collects the visited components.
+	 */
+	private int search(IndexedGraph graph, int start, boolean successors, int lower, int upper) {
+		int[] mark = successors ? forwardMark : backwardMark;
+		int[] found = successors ? forward : backward;
+		int count = 0;
+		int top = 0;
+		mark[start] = stamp;
+		stack[top++] = start;
+		while (top > 0) {
+			int c = stack[--top];
+			if (count == found.length)
+				found = Arrays.copyOf(found, count << 1);
+			found[count++] = c;
+
+			int[] nodes = members[c];
+			for (int m = 0, size = memberCount[c]; m < size; m++) {
+				int node = nodes[m];
+				int degree = successors ? graph.successorCount(node) : graph.predecessorCount(node);
+				for (int i = 0; i < degree; i++) {
+					int next = comp[successors ? graph.successorAt(node, i) : graph.predecessorAt(node, i)];
+					int p = compPos[next];
+					if (mark[next] != stamp && p >= lower && p <= upper) {
+						mark[next] = stamp;
+						if (top == stack.length)
+							stack = Arrays.copyOf(stack, top << 1);
+						stack[top++] = next;
+					}
+				}
+			}
+		}
+		if (successors)
+			forward = found;
+		else
+			backward = found;
+		return count;
+	}
+
+	/**
+	 * @return the components not marked in exclude, sorted by their current position
+	 */
+	private int[] byPosition(int[] comps, int size, int[] exclude) {
+		int count = 0;
+		int[] positions = new int[size];
+		for (int i = 0; i < size; i++) {
+			if (exclude[comps[i]] != stamp)
+				positions[count++] = compPos[comps[i]];
+		}
+		Arrays.sort(positions, 0, count);
+		int[] sorted = new int[count];
+		for (int i = 0; i < count; i++)
+			sorted[i] = compAt[positions[i]];
+		return sorted;
+	}
+
+	private void place(int c, int position) {
+		compPos[c] = position;
+		compAt[position] = c;
+	}
+
+	/**
+	 * Moves all members of from into into and drops from.
+	 */
+	private void merge(int into, int from) {
+		int[] nodes = members[from];
+		for (int m = 0, size = memberCount[from]; m < size; m++)
+			addMember(into, nodes[m]);
+		memberCount[from] = 0;
+		members[from] = null;
+		freeComps = append(freeComps, freeCount++, from);
+		compCount--;
+	}
+
+	/**
+	 * Re-runs Tarjan's algorithm on the members of c, following only edges inside c.
+	 */
+	private void split(IndexedGraph graph, int c) {
+		int size = memberCount[c];
+		int[] nodes = Arrays.copyOf(members[c], size);
+		int[] index = new int[size];
+		int[] lowLink = new int[size];
+		int[] part = new int[size];
+		int[] tarjanStack = new int[size];
+		int[] callNode = new int[size];
+		int[] callPos = new int[size];
+
+		int counter = 0;
+		int parts = 0;
+		int top = 0;
+		for (int root = 0; root < size; root++) {
+			if (index[root] != 0)
+				continue;
+			int depth = 0;
+			index[root] = lowLink[root] = ++counter;
+			part[root] = EMPTY;
+			tarjanStack[top++] = root;
+			callNode[depth] = root;
+			callPos[depth++] = 0;
+			while (depth > 0) {
+				int v = callNode[depth - 1];
+				int pos = callPos[depth - 1];
+				int node = nodes[v];
+				if (pos < graph.successorCount(node)) {
+					callPos[depth - 1] = pos + 1;
+					int successor = graph.successorAt(node, pos);
+					if (comp[successor] != c)
+						continue;
+					int w = memberPos[successor];
+					if (index[w] == 0) {
+						index[w] = lowLink[w] = ++counter;
+						part[w] = EMPTY;
+						tarjanStack[top++] = w;
+						callNode[depth] = w;
+						callPos[depth++] = 0;
+					} else if (part[w] == EMPTY && index[w] < lowLink[v]) {
+						lowLink[v] = index[w];
+					}
+					continue;
+				}
+				depth--;
+				if (lowLink[v] == index[v]) {
+					int w;
+					do {
+						w = tarjanStack[--top];
+						part[w] = parts;
+					} while (w != v);
+					parts++;
+				}
+				if (depth > 0) {
+					int parent = callNode[depth - 1];
+					if (lowLink[v] < lowLink[parent])
+						lowLink[parent] = lowLink[v];
+				}
+			}
+		}
+		if (parts == 1)
+			return;
+
+		// parts are numbered in reverse topological order, the last one keeps c and its position
+		int[] partComp = new int[parts];
+		partComp[parts - 1] = c;
+		for (int p = 0; p < parts - 1; p++)
+			partComp[p] = newComp();
+		memberCount[c] = 0;
+		for (int v = 0; v < size; v++)
+			addMember(partComp[part[v]], nodes[v]);
+
+		int position = compPos[c];
+		ensurePositions(nextPos + parts - 1);
+		System.arraycopy(compAt, position + 1, compAt, position + parts, nextPos - position - 1);
+		nextPos += parts - 1;
+		for (int i = position + parts; i < nextPos; i++) {
+			if (compAt[i] != EMPTY)
+				compPos[compAt[i]] = i;
+		}
+		for (int p = parts - 1; p >= 0; p--)
+			place(partComp[p], position + parts - 1 - p);
+		compCount += parts - 1;
+	}
+
+	private int newComp() {
+		int c;
+		if (freeCount > 0) {
+			c = freeComps[--freeCount];
+		} else {
+			c = compBound++;
+			if (c == members.length) {
+				int length = members.length << 1;
+				members = Arrays.copyOf(members, length);
+				memberCount = Arrays.copyOf(memberCount, length);
+				compPos = Arrays.copyOf(compPos, length);
+				forwardMark = Arrays.copyOf(forwardMark, length);
+				backwardMark = Arrays.copyOf(backwardMark, length);
+			}
+		}
+		members[c] = new int[2];
+		memberCount[c] = 0;
+		return c;
+	}
+
+	private void removeComp(int c) {
+		compAt[compPos[c]] = EMPTY;
+		members[c] = null;
+		freeComps = append(freeComps, freeCount++, c);
+		compCount--;
+	}
+
+	private void addPosition(int c) {
+		if (nextPos == compAt.length && nextPos - compCount > compCount)
+			compact();
+		ensurePositions(nextPos + 1);
+		place(c, nextPos++);
+		compCount++;
+	}
+
+	private void addMember(int c, int node) {
+		int size = memberCount[c];
+		members[c] = append(members[c], size, node);
+		memberCount[c] = size + 1;
+		comp[node] = c;
+		memberPos[node] = size;
+	}
+
+	private void removeMember(int c, int node) {
+		int last = members[c][--memberCount[c]];
+		members[c][memberPos[node]] = last;
+		memberPos[last] = memberPos[node];
+		comp[node] = EMPTY;
+	}
+
+	private void compact() {
+		int count = 0;
+		for (int i = 0; i < nextPos; i++) {
+			int c = compAt[i];
+			if (c != EMPTY)
+				place(c, count++);
+		}
+		Arrays.fill(compAt, count, nextPos, EMPTY);
+		nextPos = count;
+	}
+
+	private void ensurePositions(int length) {
+		if (length > compAt.length) {
+			int old = compAt.length;
+			compAt = Arrays.copyOf(compAt, Math.max(length, old << 1));
+			Arrays.fill(compAt, old, compAt.length, EMPTY);
+		}
+	}
+
+	private void ensureNodes(int bound) {
+		if (bound > comp.length) {
+			int old = comp.length;
+			int length = Math.max(bound, old << 1);
+			comp = Arrays.copyOf(comp, length);
+			memberPos = Arrays.copyOf(memberPos, length);
+			nodeMark = Arrays.copyOf(nodeMark, length);
+			Arrays.fill(comp, old, length, EMPTY);
+		}
+	}
+
+	private static int[] append(int[] array, int size, int value) {
+		if (size == array.length)
+			array = Arrays.copyOf(array, Math.max(4, size << 1));
+		array[size] = value;
+		return array;
+	}
+}
@@ -0,0 +1,210 @@
+package io.github.openlg.graphlib;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Topological order of a directed acyclic graph, maintained across edge insertions with the
+ * Pearce-Kelly algorithm. Every node holds a distinct position; inserting an edge u -&gt; v with
+ * pos(u) &gt; pos(v) only searches the nodes whose positions lie between pos(v) and pos(u) and reorders
+ * those, so the cost depends on the affected region instead of the whole graph.
+ *
+ * Removing edges never invalidates the order, removed nodes leave holes that are compacted when the
+ * position array fills up.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class DynamicTopoOrder implements Serializable {
+
+	private static final int EMPTY = -1;
+
+	/**
+	 * node index -&gt; position
+	 */
+	private int[] pos = new int[16];
+
+	/**
+	 * position -&gt; node index, EMPTY for holes
+	 */
+	private int[] at = new int[16];
+
+	/**
+	 * next free position, holes = nextPos - size
+	 */
+	private int nextPos;
+	private int size;
+
+	/**
+	 * search state, reused across insertions; a node is visited in the current search if mark == stamp
+	 */
+	private int[] mark = new int[16];
+	private int stamp;
+	private int[] stack = new int[16];
+	private int[] forward = new int[16];
+	private int[] backward = new int[16];
+	private int[] slots = new int[32];
+
+	/**
+	 * @param graph acyclic graph
+	 * @param order node indices of the graph in topological order
+	 */
+	DynamicTopoOrder(IndexedGraph graph, int[] order) {
+		ensureNodes(graph.nodeBound());
+		for (int node : order)
+			addNode(node);
+	}
+
+	/**
+	 * Appends a new node after all other nodes.
+	 * @param node node index
+	 */
+	void addNode(int node) {
+		ensureNodes(node + 1);
+		if (nextPos == at.length) {
+			if (nextPos - size > size)
+				compact();
+			else
+				at = Arrays.copyOf(at, at.length << 1);
+		}
+		pos[node] = nextPos;
+		at[nextPos++] = node;
+		size++;
+	}
+
+	void removeNode(int node) {
+		at[pos[node]] = EMPTY;
+		size--;
+	}
+
+	/**
+	 * Called before the edge source -&gt; target is added to the graph, restores the order for it.
+	 *
+	 * @param graph graph without the new edge
+	 * @param source source node index
+	 * @param target target node index
+	 * @return false if the edge would close a cycle, the order is unchanged in that case
+	 */
+	boolean addEdge(IndexedGraph graph, int source, int target) {
+		if (source == target)
+			return false;
+		int lower = pos[target];
+		int upper = pos[source];
+		if (lower > upper)
+			return true;
+
+		// forward: nodes reachable from target that are not after source, reaching source closes a cycle
+		nextStamp();
+		int forwardSize = search(graph, target, true, lower, upper, source);
+		if (forwardSize == -1)
+			return false;
+		int backwardSize = search(graph, source, false, lower, upper, -1);
+
+		// the backward nodes move before the forward nodes, both keep their relative order
+		int count = forwardSize + backwardSize;
+		if (slots.length < count)
+			slots = new int[Math.max(count, slots.length << 1)];
+		if (forward.length < count)
+			forward = Arrays.copyOf(forward, Math.max(count, forward.length << 1));
+		for (int i = 0; i < forwardSize; i++)
+			forward[i] = pos[forward[i]];
+		for (int i = 0; i < backwardSize; i++)
+			backward[i] = pos[backward[i]];
+		Arrays.sort(forward, 0, forwardSize);
+		Arrays.sort(backward, 0, backwardSize);
+		System.arraycopy(backward, 0, slots, 0, backwardSize);
+		System.arraycopy(forward, 0, slots, backwardSize, forwardSize);
+		for (int i = 0; i < count; i++)
+			slots[i] = at[slots[i]];
+
+		System.arraycopy(backward, 0, forward, forwardSize, backwardSize);
+		Arrays.sort(forward, 0, count);
+		for (int i = 0; i < count; i++) {
+			pos[slots[i]] = forward[i];
+			at[forward[i]] = slots[i];
+		}
+		return true;
+	}
+
+	/**
+	 * Depth first search within the positions [lower, upper], collecting visited nodes into forward or backward.
+	 * @return number of visited nodes, -1 if stop was reached
+	 */
+	private int search(IndexedGraph graph, int start, boolean successors, int lower, int upper, int stop) {
+		int[] found = successors ? forward : backward;
+		int count = 0;
+		int top = 0;
+		mark[start] = stamp;
+		stack[top++] = start;
+		while (top > 0) {
+			int node = stack[--top];
+			if (count == found.length)
+				found = Arrays.copyOf(found, count << 1);
+			found[count++] = node;
+
+			int degree = successors ? graph.successorCount(node) : graph.predecessorCount(node);
+			for (int i = 0; i < degree; i++) {
+				int next = successors ? graph.successorAt(node, i) : graph.predecessorAt(node, i);
+				if (next == stop)
+					return -1;
+				int p = pos[next];
+				if (mark[next] != stamp && (successors ? p < upper : p > lower)) {
+					mark[next] = stamp;
+					if (top == stack.length)
+						stack = Arrays.copyOf(stack, top << 1);
+					stack[top++] = next;
+				}
+			}
+		}
+		if (successors)
+			forward = found;
+		else
+			backward = found;
+		return count;
+	}
+
+	/**
+	 * @param order receives the node indices in topological order
+	 * @return order
+	 */
+	int[] toArray(int[] order) {
+		int count = 0;
+		for (int i = 0; i < nextPos; i++) {
+			if (at[i] != EMPTY)
+				order[count++] = at[i];
+		}
+		return order;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void nextStamp() {
+		if (++stamp == 0) {
+			Arrays.fill(mark, 0);
+			stamp = 1;
+		}
+	}
+
+	private void compact() {
+		int count = 0;
+		for (int i = 0; i < nextPos; i++) {
+			int node = at[i];
+			if (node != EMPTY) {
+				pos[node] = count;
+				at[count++] = node;
+			}
+		}
+		Arrays.fill(at, count, nextPos, EMPTY);
+		nextPos = count;
+	}
+
+	private void ensureNodes(int bound) {
+		if (bound > pos.length) {
+			int length = Math.max(bound, pos.length << 1);
+			pos = Arrays.copyOf(pos, length);
+			mark = Arrays.copyOf(mark, length);
+		}
+	}
+}
@@ -1,15 +1,22 @@
 package io.github.openlg.graphlib;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
+ * Immutable edge key: source node id, target node id and optional name.
+ * The graph keeps a single instance per edge, so the instances returned by
+ * {@link Graph#getEdges()}, {@link Graph#inEdges(String)} and {@link Graph#outEdges(String)} can be
+ * compared and hashed cheaply.
+ *
  * @author lg
  * Create by lg on 4/24/20 10:41 PM
  */
-public class Edge implements Serializable {
-	private String source;
-	private String target;
-	private String name;
+public final class Edge implements Serializable {
+	private final String source;
+	private final String target;
+	private final String name;
+	private final int hash;
 
 	public Edge(String source, String target) {
 		this(source, target, null);
@@ -18,6 +25,7 @@ public class Edge implements Serializable {
 		this.source = source;
 		this.target = target;
 		this.name = name;
+		this.hash = (Objects.hashCode(source) * 31 + Objects.hashCode(target)) * 31 + Objects.hashCode(name);
 	}
 
 	public String getSource() {
@@ -45,12 +53,22 @@ public class Edge implements Serializable {
 
 	@Override
 	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
 		if( obj instanceof Edge){
 			Edge _edge = (Edge) obj;
-			return _edge.toString().equals(toString());
+			return hash == _edge.hash
+					&& Objects.equals(source, _edge.source)
+					&& Objects.equals(target, _edge.target)
+					&& Objects.equals(name, _edge.name);
 		} else {
 			return false;
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
 }
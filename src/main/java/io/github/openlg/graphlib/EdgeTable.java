@@ -0,0 +1,166 @@
+package io.github.openlg.graphlib;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Edges of the graph in parallel arrays. Every edge belongs to the link of its node pair,
+ * edges of one link are chained through next so multi-graph edges need no extra structure.
+ * Edges are hashed on (source index, target index, name), so looking up an existing edge
+ * allocates nothing.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class EdgeTable extends HashedSlots {
+
+	private final LinkTable links;
+
+	private final IntColumn link;
+	private final IntColumn next;
+	private String[] name = new String[16];
+	private Object[] label = new Object[16];
+
+	/**
+	 * Edge instance of every edge, null off heap where they are created on demand
+	 */
+	private Edge[] edge;
+
+	private int free = -1;
+	private int bound = 0;
+	private int size = 0;
+
+	/**
+	 * @param links links of the edges
+	 * @param offHeap keep the int columns outside the Java heap and no Edge instances
+	 */
+	EdgeTable(LinkTable links, boolean offHeap) {
+		super(offHeap);
+		this.links = links;
+		link = new IntColumn(16, offHeap);
+		next = new IntColumn(16, offHeap);
+		edge = offHeap ? null : new Edge[16];
+	}
+
+	@Override
+	protected int hashOf(int slot) {
+		return hash(links.source(link.get(slot)), links.target(link.get(slot)), name[slot]);
+	}
+
+	static int hash(int source, int target, String name) {
+		return LinkTable.hash(source, target) * 31 + (name != null ? name.hashCode() : 0);
+	}
+
+	/**
+	 * @param source source node index
+	 * @param target target node index
+	 * @param name edge name
+	 * @return edge index or -1
+	 */
+	int find(int source, int target, String name) {
+		for (int bucket = home(hash(source, target, name)); ; bucket = nextBucket(bucket)) {
+			int slot = slotAt(bucket);
+			if (slot == EMPTY)
+				return EMPTY;
+			int l = link.get(slot);
+			if (links.source(l) == source && links.target(l) == target && Objects.equals(name, this.name[slot]))
+				return slot;
+		}
+	}
+
+	int add(int link, String name, Object label, Edge edge) {
+		int slot;
+		if (free != -1) {
+			slot = free;
+			free = next.get(slot);
+		} else {
+			if (bound == this.link.length())
+				grow(bound << 1);
+			slot = bound++;
+		}
+		this.link.set(slot, link);
+		this.next.set(slot, -1);
+		this.name[slot] = name;
+		this.label[slot] = label;
+		if (this.edge != null)
+			this.edge[slot] = edge;
+		index(slot);
+		++size;
+		return slot;
+	}
+
+	void remove(int slot) {
+		unindex(slot);
+		link.set(slot, -1);
+		name[slot] = null;
+		label[slot] = null;
+		if (edge != null)
+			edge[slot] = null;
+		next.set(slot, free);
+		free = slot;
+		--size;
+	}
+
+	boolean contains(int slot) {
+		return slot >= 0 && slot < bound && link.get(slot) != -1;
+	}
+
+	int link(int slot) {
+		return link.get(slot);
+	}
+
+	int next(int slot) {
+		return next.get(slot);
+	}
+
+	void setNext(int slot, int nextSlot) {
+		next.set(slot, nextSlot);
+	}
+
+	String name(int slot) {
+		return name[slot];
+	}
+
+	Object label(int slot) {
+		return label[slot];
+	}
+
+	void setLabel(int slot, Object value) {
+		label[slot] = value;
+	}
+
+	/**
+	 * @param slot edge
+	 * @return the kept Edge instance, null off heap
+	 */
+	Edge edge(int slot) {
+		return edge != null ? edge[slot] : null;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int bound() {
+		return bound;
+	}
+
+	/**
+	 * Grow the arrays and the hash index up front so that capacity entries can be added without resizing.
+	 * @param capacity expected number of entries
+	 */
+	void ensureCapacity(int capacity) {
+		if (capacity > link.length())
+			grow(capacity);
+		presize(capacity);
+	}
+
+	private void grow(int capacity) {
+		link.resize(capacity);
+		next.resize(capacity);
+		name = Arrays.copyOf(name, capacity);
+		label = Arrays.copyOf(label, capacity);
+		if (edge != null)
+			edge = Arrays.copyOf(edge, capacity);
+	}
+}
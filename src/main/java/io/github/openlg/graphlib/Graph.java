@@ -4,6 +4,9 @@ import io.github.openlg.graphlib.algorithms.*;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -14,11 +17,15 @@ import java.util.stream.Stream;
  * @author lg
  * Create by lg on 4/22/20 6:17 AM
  */
-public class Graph<N, E> implements Serializable {
+public class Graph<N, E> implements IndexedGraph, Serializable {
 
-	private static final String DEFAULT_EDGE_NAME = "\\x00";
 	private static final String GRAPH_NODE = "\\x00";
-	private static final String EDGE_KEY_DELIM = "\\x01";
+
+	/**
+	 * a batch with more changes than 1 / BATCH_REBUILD_RATIO of the nodes and edges rebuilds the maintained
+	 * topological order and components instead of updating them
+	 */
+	private static final int BATCH_REBUILD_RATIO = 16;
 
 	/**
 	 * set to true to get a directed graph and false to get an undirected graph.
@@ -41,39 +48,9 @@ public class Graph<N, E> implements Serializable {
 	private boolean compound;
 
 	/**
-	 * nodeId -&gt; node data
-	 */
-	private final Map<String, N> nodes = new LinkedHashMap<>();
-
-	/**
-	 * nodeId -&gt; edgeId -&gt; in Edge
-	 */
-	private final Map<String, Map<String, Edge>> in = new HashMap<>();
-
-	/**
-	 * nodeId -&gt; in nodeId -&gt; link count
-	 */
-	private final Map<String, Map<String, Integer>> pred = new HashMap<>();
-
-	/**
-	 * nodeId -&gt; edgeId -&gt; out Edge
-	 */
-	private final Map<String, Map<String, Edge>> out = new HashMap<>();
-
-	/**
-	 * nodeId -&gt; out nodeId -&gt; link count
-	 */
-	private final Map<String, Map<String, Integer>> sucs = new HashMap<>();
-
-	/**
-	 * edgeId -&gt; Edge object
+	 * nodes, adjacency and edges, indexed by interned node id
 	 */
-	private final Map<String, Edge> edgeObjs = new HashMap<>();
-
-	/**
-	 * edgeId -&gt; getEdge data
-	 */
-	private final Map<String, E> edgeLabels = new HashMap<>();
+	private final GraphStore store;
 
 	/**
 	 * node -&gt; parent node
@@ -86,23 +63,34 @@ public class Graph<N, E> implements Serializable {
 	private Map<String, HashMap<String, Boolean>> children = null;
 
 	/**
-	 * Number of node in the graph. Should only be changed by the implementation.
+	 * maintained topological order, null unless the graph is in acyclic mode
 	 */
-	private int nodeCount = 0;
+	private DynamicTopoOrder topoOrder = null;
 
 	/**
-	 * Number of getEdge in the graph. Should only be changed by the implementation.
+	 * maintained strongly connected components, null unless tracking is enabled
 	 */
-	private int edgeCount = 0;
+	private DynamicScc scc = null;
 
 	public Graph() {
 		this(true, false, false);
 	}
 	public Graph(boolean directed, boolean multigraph, boolean compound) {
+		this(directed, multigraph, compound, false);
+	}
+
+	/**
+	 * @param directed set to false to get an undirected graph
+	 * @param multigraph set to true to allow named edges
+	 * @param compound set to true to allow parent nodes
+	 * @param offHeap set to true to keep adjacency and edge bookkeeping outside the Java heap, see {@link #isOffHeap()}
+	 */
+	public Graph(boolean directed, boolean multigraph, boolean compound, boolean offHeap) {
 
 		this.directed = directed;
 		this.multiGraph = multigraph;
 		this.compound = compound;
+		this.store = new GraphStore(offHeap);
 
 		if (isCompound()) {
 			parent = new HashMap<>();
@@ -117,8 +105,9 @@ public class Graph<N, E> implements Serializable {
 	 *
 	 * @return int
 	 */
+	@Override
 	public int nodeCount() {
-		return nodeCount;
+		return store.nodeCount();
 	}
 
 	/**
@@ -127,11 +116,13 @@ public class Graph<N, E> implements Serializable {
 	 * @return java.util.Set
 	 */
 	public Collection<String> getNodes() {
-		return nodes.keySet();
+		return new NodeIds();
 	}
 
+	@SuppressWarnings("unchecked")
 	public N getNode(String nodeId) {
-		return nodes.get(nodeId);
+		int node = store.indexOf(nodeId);
+		return node != -1 ? (N) store.nodeLabel(node) : null;
 	}
 
 	/**
@@ -140,7 +131,12 @@ public class Graph<N, E> implements Serializable {
 	 * @return java.util.Set
 	 */
 	public Set<String> getSources() {
-		return this.getNodes().stream().filter(node -> !in.containsKey(node) || in.get(node).size() == 0).collect(Collectors.toSet());
+		Set<String> sources = new HashSet<>();
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node)) {
+			if (store.inDegree(node) == 0)
+				sources.add(store.nodeId(node));
+		}
+		return sources;
 	}
 
 	/**
@@ -149,7 +145,12 @@ public class Graph<N, E> implements Serializable {
 	 * @return java.util.Set
 	 */
 	public Set<String> getSinks() {
-		return this.getNodes().stream().filter(node -> !out.containsKey(node) || out.get(node).size() == 0).collect(Collectors.toSet());
+		Set<String> sinks = new HashSet<>();
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node)) {
+			if (store.outDegree(node) == 0)
+				sinks.add(store.nodeId(node));
+		}
+		return sinks;
 	}
 
 	/**
@@ -173,13 +174,17 @@ public class Graph<N, E> implements Serializable {
 		return this.setNode(id, n, true);
 	}
 	private Graph<N, E> setNode(String id, N n, boolean replaceValue) {
-		if (nodes.containsKey(id)) {
+		int node = store.indexOf(id);
+		if (node != -1) {
 			if(replaceValue)
-				nodes.replace(id, n);
+				store.setNodeLabel(node, n);
 			return this;
-		} else {
-			nodes.put(id, n);
 		}
+		node = store.addNode(id, n);
+		if (topoOrder != null)
+			topoOrder.addNode(node);
+		if (scc != null)
+			scc.addNode(node);
 
 		if (isCompound()) {
 			parent.put(id, GRAPH_NODE);
@@ -187,14 +192,6 @@ public class Graph<N, E> implements Serializable {
 			children.put(id, new HashMap<>());
 			children.get(GRAPH_NODE).put(id, true);
 		}
-
-		in.put(id, new HashMap<>());
-		pred.put(id, new HashMap<>());
-
-		out.put(id, new HashMap<>());
-		sucs.put(id, new HashMap<>());
-
-		++nodeCount;
 		return this;
 	}
 
@@ -226,7 +223,7 @@ public class Graph<N, E> implements Serializable {
 	 * @return boolean
 	 */
 	public boolean hasNode(String id) {
-		return nodes.containsKey(id);
+		return store.indexOf(id) != -1;
 	}
 
 	/**
@@ -235,9 +232,8 @@ public class Graph<N, E> implements Serializable {
 	 * @return current graph
 	 */
 	public Graph<N, E> removeNode(String id) {
-		if (hasNode(id)) {
-
-			nodes.remove(id);
+		int node = store.indexOf(id);
+		if (node != -1) {
 
 			if (isCompound()) {
 				removeFromParentsChildList(id);
@@ -246,17 +242,11 @@ public class Graph<N, E> implements Serializable {
 				children.remove(id);
 			}
 
-			//in.get(id).keySet().forEach(edgeId -> removeEdge(edgeObjs.get(edgeId)));
-			new HashSet<>(in.get(id).keySet()).forEach(edgeId -> removeEdge(edgeObjs.get(edgeId)));
-			in.remove(id);
-			pred.remove(id);
-
-			new HashSet<>(out.get(id).keySet()).forEach(edgeId -> removeEdge(edgeObjs.get(edgeId)));
-			out.remove(id);
-			sucs.remove(id);
-
-			--nodeCount;
-
+			if (topoOrder != null)
+				topoOrder.removeNode(node);
+			store.removeNode(node);
+			if (scc != null)
+				scc.removeNode(this, node);
 		}
 		return this;
 	}
@@ -267,7 +257,7 @@ public class Graph<N, E> implements Serializable {
 	 * @return edge count
 	 */
 	public int edgeCount() {
-		return edgeCount;
+		return store.edgeCount();
 	}
 
 	/**
@@ -276,7 +266,21 @@ public class Graph<N, E> implements Serializable {
 	 * @return all edge's
 	 */
 	public Collection<Edge> getEdges() {
-		return edgeObjs.values();
+		return new Edges();
+	}
+
+	/**
+	 * Performs the action for each edge and its value without looking the value up by edge.
+	 * The graph must not be modified by the action.
+	 *
+	 * @param action action for each edge and edge value
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachEdge(BiConsumer<Edge, ? super E> action) {
+		for (int edge = 0, bound = store.edgeBound(); edge < bound; edge++) {
+			if (store.containsEdge(edge))
+				action.accept(store.edgeObj(edge), (E) store.edgeLabel(edge));
+		}
 	}
 
 	/**
@@ -304,9 +308,10 @@ public class Graph<N, E> implements Serializable {
 	 * @param name edge name
 	 * @return edge data
 	 */
+	@SuppressWarnings("unchecked")
 	public E getEdge(String sourceId, String targetId, String name) {
-		String edgeId = edgeArgsToId(directed, sourceId, targetId, name);
-		return edgeLabels.get(edgeId);
+		int edge = edgeArgsToIndex(directed, sourceId, targetId, name);
+		return edge != -1 ? (E) store.edgeLabel(edge) : null;
 	}
 
 	/**
@@ -345,7 +350,7 @@ public class Graph<N, E> implements Serializable {
 	 * @return current graph
 	 */
 	public Graph<N, E> setEdge(Edge edge, E e) {
-		return setEdge(edge.getSource(), edge.getTarget(), e, edge.getName());
+		return setEdge(edge.getSource(), edge.getTarget(), e, edge.getName(), edge);
 	}
 
 	/**
@@ -357,39 +362,54 @@ public class Graph<N, E> implements Serializable {
 	 * @return current graph
 	 */
 	public Graph<N, E> setEdge(String sourceId, String targetId, E e, String name) {
+		return setEdge(sourceId, targetId, e, name, null);
+	}
+
+	/**
+	 * add new edge
+	 * @param sourceId source node id
+	 * @param targetId target ndoe id
+	 * @param e edge data
+	 * @param name edge name
+	 * @param edgeObj Edge instance to keep for the new edge if it matches, may be null
+	 * @return current graph
+	 */
+	private Graph<N, E> setEdge(String sourceId, String targetId, E e, String name, Edge edgeObj) {
 
-		String edgeId = edgeArgsToId(directed, sourceId, targetId, name);
+		int edge = edgeArgsToIndex(directed, sourceId, targetId, name);
 
-		if (edgeLabels.containsKey(edgeId)) {
-			edgeLabels.replace(edgeId, e);
+		if (edge != -1) {
+			store.setEdgeLabel(edge, e);
 			return this;
 		}
 
 		if (!Utils.isEmpty(name) && !multiGraph)
 			throw new IllegalOperationException("Cannot set a named getEdge when multiGraph = false");
 
+		if (topoOrder != null && sourceId.equals(targetId))
+			throw new IllegalOperationException("Cannot set edge " + sourceId + " -> " + targetId + " in acyclic mode, it would create a cycle");
+
 		// It didn't exist, so we need to create it.
 		// First ensure the node exist.
 		this.setNode(sourceId, null, false);
 		this.setNode(targetId, null, false);
 
-		Edge edgeObj = edgeArgsToEdge(directed, sourceId, targetId, name);
-		sourceId = edgeObj.getSource();
-		targetId = edgeObj.getTarget();
+		// a new node has no path to the other one, so a rejected edge never leaves new nodes behind
+		if (topoOrder != null && !topoOrder.addEdge(this, store.indexOf(sourceId), store.indexOf(targetId)))
+			throw new IllegalOperationException("Cannot set edge " + sourceId + " -> " + targetId + " in acyclic mode, it would create a cycle");
 
 		// Ensure we add undirected edges in a consistent way.
-		edgeLabels.put(edgeId, e);
-		edgeObjs.put(edgeId, edgeObj);
-
-		in.get(targetId).put(edgeId, edgeObj);
-		Integer linkCounter = pred.get(targetId).getOrDefault(sourceId, 0);
-		pred.get(targetId).put(sourceId, ++linkCounter);
-
-		out.get(sourceId).put(edgeId, edgeObj);
-		linkCounter = sucs.get(sourceId).getOrDefault(targetId, 0);
-		sucs.get(sourceId).put(targetId, ++linkCounter);
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
 
-		++edgeCount;
+		int source = store.indexOf(sourceId);
+		int target = store.indexOf(targetId);
+		store.addEdge(source, target, name, e, edgeObj);
+		if (scc != null)
+			scc.addEdge(this, source, target);
 		return this;
 	}
 
@@ -409,9 +429,7 @@ public class Graph<N, E> implements Serializable {
 	 */
 	public boolean hasEdge(String sourceId, String targetId, String name) {
 
-		String edgeId = edgeArgsToId(directed, sourceId, targetId, name);
-
-		return edgeLabels.containsKey(edgeId);
+		return edgeArgsToIndex(directed, sourceId, targetId, name) != -1;
 	}
 
 	/**
@@ -442,23 +460,13 @@ public class Graph<N, E> implements Serializable {
 	 */
 	public Graph<N, E> removeEdge(String sourceId, String targetId, String name) {
 
-		String edgeId = edgeArgsToId(directed, sourceId, targetId, name);
-
-		Edge edge = edgeObjs.remove(edgeId);
-		if (edge != null) {
-
-			sourceId = edge.getSource();
-			targetId = edge.getTarget();
-
-			edgeLabels.remove(edgeId);
-
-			in.get(targetId).remove(edgeId);
-			out.get(sourceId).remove(edgeId);
-
-			decrementOrRemoveEntry(sucs.get(sourceId), targetId);
-			decrementOrRemoveEntry(pred.get(targetId), sourceId);
-
-			--edgeCount;
+		int edge = edgeArgsToIndex(directed, sourceId, targetId, name);
+		if (edge != -1) {
+			int source = store.edgeSource(edge);
+			int target = store.edgeTarget(edge);
+			store.removeEdge(edge);
+			if (scc != null && store.findLink(source, target) == -1)
+				scc.removeEdge(this, source, target);
 		}
 
 		return this;
@@ -512,14 +520,13 @@ public class Graph<N, E> implements Serializable {
 	 * @return java.util.Collection
 	 */
 	public Collection<Edge> inEdges(String nodeId, String sourceId) {
-		Map<String, Edge> edges = in.get(nodeId);
+		int node = store.indexOf(nodeId);
 
-		if (edges != null) {
-			Collection<Edge> inEdges = edges.values();
+		if (node != -1) {
 			if (sourceId == null)
-				return inEdges;
+				return new NodeEdges(node, false);
 
-			return inEdges.stream().filter(edge -> sourceId.equals(edge.getSource())).collect(Collectors.toSet());
+			return linkEdges(store.indexOf(sourceId), node);
 		}
 		return Collections.emptyList();
 	}
@@ -536,18 +543,34 @@ public class Graph<N, E> implements Serializable {
 	 * @return java.util.Collection
 	 */
 	public Collection<Edge> outEdges(String nodeId, String targetId) {
-		Map<String, Edge> edges = out.get(nodeId);
+		int node = store.indexOf(nodeId);
 
-		if (edges != null) {
-			Collection<Edge> outEdges = edges.values();
+		if (node != -1) {
 			if (targetId == null)
-				return outEdges;
+				return new NodeEdges(node, true);
 
-			return outEdges.stream().filter(edge -> targetId.equals(edge.getTarget())).collect(Collectors.toSet());
+			return linkEdges(node, store.indexOf(targetId));
 		}
 		return Collections.emptyList();
 	}
 
+	/**
+	 *
+	 * @param source source node index
+	 * @param target target node index
+	 * @return all edges from source to target
+	 */
+	private Collection<Edge> linkEdges(int source, int target) {
+		int link = source != -1 && target != -1 ? store.findLink(source, target) : -1;
+		if (link == -1)
+			return Collections.emptyList();
+
+		List<Edge> edges = new ArrayList<>();
+		for (int edge = store.firstEdge(link); edge != -1; edge = store.nextEdge(edge))
+			edges.add(store.edgeObj(edge));
+		return edges;
+	}
+
 	public Collection<Edge> nodeEdges(String nodeId) {
 		return nodeEdges(nodeId, null);
 	}
@@ -564,6 +587,8 @@ public class Graph<N, E> implements Serializable {
 	}
 
 	/**
+	 * Returns a read-only view of the nodes with an edge to nodeId. The view reflects later changes of the graph,
+	 * use {@link #snapshotPredecessors(String)} to get a copy.
 	 *
 	 * @param nodeId node id
 	 * @return predecessors node id
@@ -571,11 +596,13 @@ public class Graph<N, E> implements Serializable {
 	public Collection<String> predecessors(String nodeId) {
 
 		if (hasNode(nodeId))
-			return new HashSet<>(pred.get(nodeId).keySet());
+			return new NeighborIds(nodeId, true, false);
 		return Collections.emptyList();
 	}
 
 	/**
+	 * Returns a read-only view of the nodes nodeId has an edge to. The view reflects later changes of the graph,
+	 * use {@link #snapshotSuccessors(String)} to get a copy.
 	 *
 	 * @param nodeId node id
 	 * @return successors node id
@@ -583,23 +610,148 @@ public class Graph<N, E> implements Serializable {
 	public Collection<String> successors(String nodeId) {
 
 		if (hasNode(nodeId))
-			return new HashSet<>(sucs.get(nodeId).keySet());
+			return new NeighborIds(nodeId, false, true);
 		return Collections.emptyList();
 	}
 
 	/**
+	 * Returns a read-only view of the predecessors and successors of nodeId, each node appears once.
+	 * The view reflects later changes of the graph, use {@link #snapshotNeighbors(String)} to get a copy.
 	 *
 	 * @param nodeId node id
 	 * @return predecessors and successors node id's
 	 */
 	public Collection<String> neighbors(String nodeId) {
-		Collection<String> pred = predecessors(nodeId);
-		Collection<String> sucs = successors(nodeId);
 
-		if (pred != null && sucs != null)
-			pred.addAll(sucs);// Stream.concat(pred.stream(), sucs.stream()).collect(Collectors.toList());
+		if (hasNode(nodeId))
+			return new NeighborIds(nodeId, true, true);
+		return Collections.emptyList();
+	}
+
+	/**
+	 *
+	 * @param nodeId node id
+	 * @return a modifiable copy of the predecessors of nodeId
+	 */
+	public Set<String> snapshotPredecessors(String nodeId) {
+		return new HashSet<>(predecessors(nodeId));
+	}
 
-		return pred != null ? pred : sucs != null ? sucs : Collections.emptyList();
+	/**
+	 *
+	 * @param nodeId node id
+	 * @return a modifiable copy of the successors of nodeId
+	 */
+	public Set<String> snapshotSuccessors(String nodeId) {
+		return new HashSet<>(successors(nodeId));
+	}
+
+	/**
+	 *
+	 * @param nodeId node id
+	 * @return a modifiable copy of the neighbors of nodeId
+	 */
+	public Set<String> snapshotNeighbors(String nodeId) {
+		return new HashSet<>(neighbors(nodeId));
+	}
+
+	/**
+	 * Performs the action for each predecessor of nodeId without creating a collection.
+	 * The graph must not be modified by the action.
+	 *
+	 * @param nodeId node id
+	 * @param action action for each predecessor node id
+	 */
+	public void forEachPredecessor(String nodeId, Consumer<String> action) {
+		int node = store.indexOf(nodeId);
+		if (node != -1) {
+			for (int i = 0, count = store.predecessorCount(node); i < count; i++)
+				action.accept(store.nodeId(store.linkSource(store.predecessorLink(node, i))));
+		}
+	}
+
+	/**
+	 * Performs the action for each successor of nodeId without creating a collection.
+	 * The graph must not be modified by the action.
+	 *
+	 * @param nodeId node id
+	 * @param action action for each successor node id
+	 */
+	public void forEachSuccessor(String nodeId, Consumer<String> action) {
+		int node = store.indexOf(nodeId);
+		if (node != -1) {
+			for (int i = 0, count = store.successorCount(node); i < count; i++)
+				action.accept(store.nodeId(store.linkTarget(store.successorLink(node, i))));
+		}
+	}
+
+	/**
+	 * Performs the action for each out edge of nodeId and its value without creating a collection or looking
+	 * the value up by edge. Edges between the same pair of nodes are passed one after another.
+	 * The graph must not be modified by the action.
+	 *
+	 * @param nodeId node id
+	 * @param action action for each out edge and edge value
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachOutEdge(String nodeId, BiConsumer<Edge, ? super E> action) {
+		int node = store.indexOf(nodeId);
+		if (node != -1) {
+			for (int i = 0, count = store.successorCount(node); i < count; i++) {
+				for (int edge = store.firstEdge(store.successorLink(node, i)); edge != -1; edge = store.nextEdge(edge))
+					action.accept(store.edgeObj(edge), (E) store.edgeLabel(edge));
+			}
+		}
+	}
+
+	/**
+	 * Performs the action for each out edge of the node at index with the edge value and the position of
+	 * its target in {@link #successorAt(int, int)}, so an indexed traversal can read edge values without
+	 * Edge objects or id lookups. The graph must not be modified by the action.
+	 *
+	 * @param index node index
+	 * @param action action for each edge value and successor position
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachOutEdge(int index, ObjIntConsumer<? super E> action) {
+		for (int i = 0, count = store.successorCount(index); i < count; i++) {
+			for (int edge = store.firstEdge(store.successorLink(index, i)); edge != -1; edge = store.nextEdge(edge))
+				action.accept((E) store.edgeLabel(edge), i);
+		}
+	}
+
+	/**
+	 * Same as {@link #forEachOutEdge(int, ObjIntConsumer)} for the in edges, with the position of the source
+	 * in {@link #predecessorAt(int, int)}.
+	 *
+	 * @param index node index
+	 * @param action action for each edge value and predecessor position
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachInEdge(int index, ObjIntConsumer<? super E> action) {
+		for (int i = 0, count = store.predecessorCount(index); i < count; i++) {
+			for (int edge = store.firstEdge(store.predecessorLink(index, i)); edge != -1; edge = store.nextEdge(edge))
+				action.accept((E) store.edgeLabel(edge), i);
+		}
+	}
+
+	/**
+	 * Performs the action once for each predecessor or successor of nodeId without creating a collection.
+	 * The graph must not be modified by the action.
+	 *
+	 * @param nodeId node id
+	 * @param action action for each neighbor node id
+	 */
+	public void forEachNeighbor(String nodeId, Consumer<String> action) {
+		int node = store.indexOf(nodeId);
+		if (node != -1) {
+			forEachPredecessor(nodeId, action);
+			for (int i = 0, count = store.successorCount(node); i < count; i++) {
+				int successor = store.linkTarget(store.successorLink(node, i));
+				if (store.findLink(successor, node) == -1)
+					action.accept(store.nodeId(successor));
+			}
+		}
 	}
 
 	/**
@@ -669,9 +821,9 @@ public class Graph<N, E> implements Serializable {
 			HashMap<String, Boolean> childes = children.get(nodeId);
 			return childes != null ? childes.keySet() : null;
 		} else if (GRAPH_NODE.equals(nodeId)) {
-			return this.nodes.keySet();
+			return getNodes();
 		} else {
-			return nodes.containsKey(nodeId) ? Collections.emptyList() : null;
+			return hasNode(nodeId) ? Collections.emptyList() : null;
 		}
 
 	}
@@ -681,21 +833,26 @@ public class Graph<N, E> implements Serializable {
 	 * @param filter node filter
 	 * @return filtered result
 	 */
+	@SuppressWarnings("unchecked")
 	public Graph<N, E> filterNodes(Predicate<String> filter) {
 		if (filter == null)
 			throw new IllegalArgumentException("Unable to filter nodes based on null filter");
 
-		Graph<N, E> copy = new Graph<>(directed, multiGraph, compound);
+		Graph<N, E> copy = new Graph<>(directed, multiGraph, compound, store.isOffHeap());
 
-		this.nodes.forEach((nodeId, value) -> {
+		for (int node = store.firstNode(); node != -1; node = store.nextNode(node)) {
+			String nodeId = store.nodeId(node);
 			if (filter.test(nodeId))
-				copy.setNode(nodeId, value);
-		});
+				copy.setNode(nodeId, getNode(nodeId));
+		}
 
-		this.edgeObjs.forEach((nodeId, edge) -> {
-			if (copy.hasNode(edge.getSource()) && copy.hasNode(edge.getTarget()))
-				copy.setEdge(edge, getEdge(edge));
-		});
+		for (int edge = 0, bound = store.edgeBound(); edge < bound; edge++) {
+			if (store.containsEdge(edge)) {
+				Edge edgeObj = store.edgeObj(edge);
+				if (copy.hasNode(edgeObj.getSource()) && copy.hasNode(edgeObj.getTarget()))
+					copy.setEdge(edgeObj.getSource(), edgeObj.getTarget(), (E) store.edgeLabel(edge), edgeObj.getName(), edgeObj);
+			}
+		}
 
 		if (isCompound()) {
 			Map<String, String> parents = new HashMap<>();
@@ -713,13 +870,14 @@ public class Graph<N, E> implements Serializable {
 	 */
 	public boolean isLeaf(String nodeId){
 
-		Collection<String> neighbors;
+		int node = store.indexOf(nodeId);
+		if (node == -1)
+			return true;
 		if(isDirected()){
-			neighbors = successors(nodeId);
+			return store.successorCount(node) == 0;
 		} else {
-			neighbors = neighbors(nodeId);
+			return store.successorCount(node) == 0 && store.predecessorCount(node) == 0;
 		}
-		return neighbors == null || neighbors.size() == 0;
 	}
 
 	/**
@@ -754,6 +912,8 @@ public class Graph<N, E> implements Serializable {
 	 * @param directed set for field directed
 	 */
 	public void setDirected(boolean directed) {
+		if (!directed && topoOrder != null)
+			throw new IllegalOperationException("Cannot make the graph undirected in acyclic mode");
 		this.directed = directed;
 	}
 
@@ -790,30 +950,162 @@ public class Graph<N, E> implements Serializable {
 	}
 
 	/**
+	 * An off-heap graph keeps links, edge chains, hash indices and adjacency lists in direct buffers and
+	 * creates Edge instances when they are asked for instead of keeping one per edge, so the collector
+	 * only traces node ids, edge names and node and edge values. Access is somewhat slower than on heap.
+	 * The memory counts against -XX:MaxDirectMemorySize and is released when the graph is collected.
 	 *
-	 * @param isDirected is directed
-	 * @param edge edge
-	 * @return node id
+	 * @return true if the graph was created off heap
 	 */
-	private String edgeObjToId(boolean isDirected, Edge edge) {
-		return edgeArgsToId(isDirected, edge.getSource(), edge.getTarget(), edge.getName());
+	public boolean isOffHeap() {
+		return store.isOffHeap();
 	}
 
 	/**
+	 * Same as {@link #batch(Consumer, boolean)} without rollback.
 	 *
-	 * @param isDirected is directed
-	 * @param sourceId source node id
-	 * @param targetId target node id
-	 * @param name name for node
-	 * @return node id
+	 * @param changes collects the changes
+	 * @return current graph
 	 */
-	private String edgeArgsToId(boolean isDirected, String sourceId, String targetId, String name) {
-		if (!isDirected && sourceId.compareTo(targetId) > 0) {
-			String tmp = sourceId;
-			sourceId = targetId;
-			targetId = tmp;
+	public Graph<N, E> batch(Consumer<GraphBatch<N, E>> changes) {
+		return batch(changes, false);
+	}
+
+	/**
+	 * Applies a set of changes at once. The consumer records the changes on a {@link GraphBatch}, they are
+	 * applied in order after it returns, with the result of calling the same methods on the graph.
+	 *
+	 * The edge tables are sized for all added edges up front. In acyclic mode or with scc tracking, a batch
+	 * with more than 1/16 of the nodes and edges in changes detaches the maintained
+	 * order and components and rebuilds them once at the end instead of updating them per change; in acyclic
+	 * mode such a batch is applied as a whole or not at all.
+	 *
+	 * @param changes collects the changes
+	 * @param atomic set to revert all applied changes if one of them fails; reverted nodes and edges
+	 *               move to the end of the insertion order
+	 * @return current graph
+	 * @throws IllegalOperationException if a change fails, or in acyclic mode if the batch would create a cycle
+	 */
+	public Graph<N, E> batch(Consumer<GraphBatch<N, E>> changes, boolean atomic) {
+		GraphBatch<N, E> batch = new GraphBatch<>();
+		changes.accept(batch);
+		store.ensureCapacity(store.nodeBound(), store.edgeCount() + batch.edgeAdds());
+
+		DynamicTopoOrder order = topoOrder;
+		DynamicScc components = scc;
+		boolean rebuild = (order != null || components != null)
+				&& (long) batch.size() * BATCH_REBUILD_RATIO > store.nodeCount() + store.edgeCount();
+		if (rebuild) {
+			topoOrder = null;
+			scc = null;
 		}
-		return sourceId + EDGE_KEY_DELIM + targetId + EDGE_KEY_DELIM + (name != null ? name : DEFAULT_EDGE_NAME);
+
+		// a deferred cycle check can only fail after all changes are applied
+		GraphBatch<N, E> undo = atomic || (rebuild && order != null) ? new GraphBatch<>() : null;
+		try {
+			batch.apply(this, undo);
+			if (rebuild && order != null && !new IsAcyclic().isAcyclic(this))
+				throw new IllegalOperationException("Cannot apply batch in acyclic mode, it would create a cycle");
+		} catch (RuntimeException e) {
+			if (undo != null)
+				undo.rollback(this);
+			throw e;
+		} finally {
+			if (rebuild) {
+				setAcyclicMode(order != null);
+				setSccTracking(components != null);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Copies the graph into an immutable compressed sparse row snapshot, which answers the read methods with
+	 * array lookups and can be shared across threads without locks. Later changes of this graph are not
+	 * reflected in the snapshot.
+	 *
+	 * @return frozen copy of the graph
+	 */
+	public CsrGraph<N, E> freeze() {
+		return new CsrGraph<>(this, store);
+	}
+
+	/**
+	 * @return storage of the graph, filled directly by {@link GraphBuilder}
+	 */
+	GraphStore store() {
+		return store;
+	}
+
+	/**
+	 *
+	 * @return true if the graph rejects edges that would create a cycle
+	 */
+	public boolean isAcyclicMode() {
+		return topoOrder != null;
+	}
+
+	/**
+	 * In acyclic mode the graph maintains a topological order of its nodes (Pearce-Kelly): setEdge throws
+	 * IllegalOperationException for an edge that would create a cycle, and {@link #topsort()} reads the
+	 * maintained order in O(|V|). An insertion only searches and reorders the nodes between the edge's
+	 * endpoints in the current order.
+	 *
+	 * @param acyclicMode set for acyclic mode
+	 * @throws IllegalOperationException if the graph is undirected or already has a cycle
+	 */
+	public void setAcyclicMode(boolean acyclicMode) {
+		if (!acyclicMode) {
+			topoOrder = null;
+			return;
+		}
+		if (topoOrder != null)
+			return;
+		if (!directed)
+			throw new IllegalOperationException("Acyclic mode requires a directed graph");
+		try {
+			topoOrder = new DynamicTopoOrder(this, new Topsort().sort(this, Topsort.Order.INSERTION));
+		} catch (Topsort.CycleException e) {
+			throw new IllegalOperationException("Cannot enable acyclic mode, " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 *
+	 * @return true if strongly connected components are maintained across updates
+	 */
+	public boolean isSccTracking() {
+		return scc != null;
+	}
+
+	/**
+	 * While tracking is enabled the graph keeps its strongly connected components up to date: an edge
+	 * insertion merges the components on the new cycle (Pearce-Kelly search over the condensed graph), an edge
+	 * or node removal re-runs Tarjan's algorithm on the affected component only. {@link #sccOf(String)},
+	 * {@link #tarjan()} and {@link #findCycles()} then read the maintained components.
+	 *
+	 * @param sccTracking set for tracking
+	 */
+	public void setSccTracking(boolean sccTracking) {
+		if (!sccTracking)
+			scc = null;
+		else if (scc == null)
+			scc = new DynamicScc(this, new Tarjan().componentIds(this));
+	}
+
+	/**
+	 * Takes O(1) time.
+	 *
+	 * @param nodeId node id
+	 * @return id of the strongly connected component of the node, -1 if the node is not in the graph.
+	 * Nodes have the same id if and only if they are in the same component; ids change when components change.
+	 * @throws IllegalOperationException if scc tracking is not enabled
+	 */
+	public int sccOf(String nodeId) {
+		if (scc == null)
+			throw new IllegalOperationException("Cannot get strongly connected component when scc tracking is not enabled");
+		int node = store.indexOf(nodeId);
+		return node != -1 ? scc.componentOf(node) : -1;
 	}
 
 	/**
@@ -822,32 +1114,58 @@ public class Graph<N, E> implements Serializable {
 	 * @param sourceId source node id
 	 * @param targetId target node id
 	 * @param name name for node
-	 * @return edge
+	 * @return edge index, -1 if the edge is not in the graph
 	 */
-	private Edge edgeArgsToEdge(boolean isDirected, String sourceId, String targetId, String name) {
+	private int edgeArgsToIndex(boolean isDirected, String sourceId, String targetId, String name) {
 		if (!isDirected && sourceId.compareTo(targetId) > 0) {
 			String tmp = sourceId;
 			sourceId = targetId;
 			targetId = tmp;
 		}
+		int source = store.indexOf(sourceId);
+		int target = source != -1 ? store.indexOf(targetId) : -1;
+		return target != -1 ? store.findEdge(source, target, name) : -1;
+	}
 
-		return new Edge(sourceId, targetId, name);
+
+	@Override
+	public int nodeBound() {
+		return store.nodeBound();
 	}
 
-	/**
-	 *
-	 * @param map map
-	 * @param k k
-	 */
-	private void decrementOrRemoveEntry(Map<String, Integer> map, String k){
-		if(map.containsKey(k)){
-			Integer count = map.get(k);
-			--count;
-			if(count == 0)
-				map.remove(k);
-			else
-				map.replace(k, count);
-		}
+	@Override
+	public boolean containsIndex(int index) {
+		return store.containsNode(index);
+	}
+
+	@Override
+	public int indexOf(String nodeId) {
+		return store.indexOf(nodeId);
+	}
+
+	@Override
+	public String nodeIdAt(int index) {
+		return store.nodeId(index);
+	}
+
+	@Override
+	public int successorCount(int index) {
+		return store.successorCount(index);
+	}
+
+	@Override
+	public int successorAt(int index, int i) {
+		return store.linkTarget(store.successorLink(index, i));
+	}
+
+	@Override
+	public int predecessorCount(int index) {
+		return store.predecessorCount(index);
+	}
+
+	@Override
+	public int predecessorAt(int index, int i) {
+		return store.linkSource(store.predecessorLink(index, i));
 	}
 
 	/**
@@ -866,6 +1184,19 @@ public class Graph<N, E> implements Serializable {
 	 * @return This function returns an array of components.
 	 */
 	public List<List<String>> tarjan() {
+		if (scc != null) {
+			// same order as Tarjan's algorithm: reverse topological order of the condensed graph
+			int[] order = scc.toArray(new int[scc.componentCount()]);
+			List<List<String>> results = new ArrayList<>(order.length);
+			for (int i = order.length - 1; i >= 0; i--) {
+				int[] members = scc.members(order[i]);
+				List<String> component = new ArrayList<>(scc.size(order[i]));
+				for (int m = 0, size = scc.size(order[i]); m < size; m++)
+					component.add(store.nodeId(members[m]));
+				results.add(component);
+			}
+			return results;
+		}
 		return new Tarjan().tarjan(this);
 	}
 
@@ -875,6 +1206,13 @@ public class Graph<N, E> implements Serializable {
 	 * @return an array of nodes such that for each edge u -&gt; v, u appears before v in the array.
 	 */
 	public List<String> topsort() {
+		if (topoOrder != null) {
+			int[] order = topoOrder.toArray(new int[topoOrder.size()]);
+			List<String> results = new ArrayList<>(order.length);
+			for (int node : order)
+				results.add(store.nodeId(node));
+			return results;
+		}
 		return new Topsort().topsort(this);
 	}
 
@@ -883,6 +1221,8 @@ public class Graph<N, E> implements Serializable {
 	 * @return is acyclic
 	 */
 	public boolean isAcyclic() {
+		if (topoOrder != null)
+			return true;
 		return new IsAcyclic().isAcyclic(this);
 	}
 
@@ -894,4 +1234,267 @@ public class Graph<N, E> implements Serializable {
 	public List<List<String>> findCycles() {
 		return new FindCycles().findCycles(this);
 	}
+
+	/**
+	 * Iterator of a view, fails fast once nodes or edges are added or removed other than through it.
+	 */
+	private abstract class ViewIterator<T> implements Iterator<T> {
+		private final int expectedModCount = store.modCount();
+
+		final void checkModCount() {
+			if (store.modCount() != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	/**
+	 * Node ids in insertion order, backed by the graph.
+	 */
+	private class NodeIds extends AbstractCollection<String> {
+
+		@Override
+		public Iterator<String> iterator() {
+			return new ViewIterator<String>() {
+				private int next = store.firstNode();
+
+				@Override
+				public boolean hasNext() {
+					return next != -1;
+				}
+
+				@Override
+				public String next() {
+					checkModCount();
+					if (next == -1)
+						throw new NoSuchElementException();
+					String nodeId = store.nodeId(next);
+					next = store.nextNode(next);
+					return nodeId;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof String && hasNode((String) o);
+		}
+
+		@Override
+		public int size() {
+			return store.nodeCount();
+		}
+	}
+
+	/**
+	 * All edges of the graph, backed by the graph.
+	 */
+	private class Edges extends AbstractCollection<Edge> {
+
+		@Override
+		public Iterator<Edge> iterator() {
+			return new ViewIterator<Edge>() {
+				private int next = seek(0);
+
+				private int seek(int edge) {
+					int bound = store.edgeBound();
+					while (edge < bound && !store.containsEdge(edge))
+						edge++;
+					return edge < bound ? edge : -1;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return next != -1;
+				}
+
+				@Override
+				public Edge next() {
+					checkModCount();
+					if (next == -1)
+						throw new NoSuchElementException();
+					Edge edge = store.edgeObj(next);
+					next = seek(next + 1);
+					return edge;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Edge))
+				return false;
+			// stored edges are already oriented, so look them up as directed
+			Edge edge = (Edge) o;
+			return edgeArgsToIndex(true, edge.getSource(), edge.getTarget(), edge.getName()) != -1;
+		}
+
+		@Override
+		public int size() {
+			return store.edgeCount();
+		}
+	}
+
+	/**
+	 * Predecessors, successors or both of one node, backed by the graph.
+	 */
+	private class NeighborIds extends AbstractCollection<String> {
+
+		private final String nodeId;
+		private final boolean predecessors;
+		private final boolean successors;
+
+		private NeighborIds(String nodeId, boolean predecessors, boolean successors) {
+			this.nodeId = nodeId;
+			this.predecessors = predecessors;
+			this.successors = successors;
+		}
+
+		/**
+		 * @param node node index
+		 * @param successor successor node index
+		 * @return true if successor is not reported as predecessor already
+		 */
+		private boolean unseen(int node, int successor) {
+			return !predecessors || store.findLink(successor, node) == -1;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			int node = store.indexOf(nodeId);
+			if (node == -1)
+				return Collections.emptyIterator();
+
+			return new ViewIterator<String>() {
+				private int predPos = predecessors ? 0 : store.predecessorCount(node);
+				private int succPos = successors ? seek(0) : store.successorCount(node);
+
+				private int seek(int pos) {
+					int count = store.successorCount(node);
+					while (pos < count && !unseen(node, store.linkTarget(store.successorLink(node, pos))))
+						pos++;
+					return pos;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return predPos < store.predecessorCount(node) || succPos < store.successorCount(node);
+				}
+
+				@Override
+				public String next() {
+					checkModCount();
+					if (predPos < store.predecessorCount(node))
+						return store.nodeId(store.linkSource(store.predecessorLink(node, predPos++)));
+					if (succPos < store.successorCount(node)) {
+						String id = store.nodeId(store.linkTarget(store.successorLink(node, succPos)));
+						succPos = seek(succPos + 1);
+						return id;
+					}
+					throw new NoSuchElementException();
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			int node = store.indexOf(nodeId);
+			int other = o instanceof String ? store.indexOf((String) o) : -1;
+			if (node == -1 || other == -1)
+				return false;
+			return (predecessors && store.findLink(other, node) != -1)
+					|| (successors && store.findLink(node, other) != -1);
+		}
+
+		@Override
+		public int size() {
+			int node = store.indexOf(nodeId);
+			if (node == -1)
+				return 0;
+			int size = predecessors ? store.predecessorCount(node) : 0;
+			if (successors && !predecessors) {
+				size += store.successorCount(node);
+			} else if (successors) {
+				for (int i = 0, count = store.successorCount(node); i < count; i++) {
+					if (unseen(node, store.linkTarget(store.successorLink(node, i))))
+						size++;
+				}
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * Out or in edges of one node, backed by the graph.
+	 */
+	private class NodeEdges extends AbstractCollection<Edge> {
+
+		private final int node;
+		private final int version;
+		private final boolean out;
+
+		private NodeEdges(int node, boolean out) {
+			this.node = node;
+			this.version = store.nodeVersion(node);
+			this.out = out;
+		}
+
+		/**
+		 * @return false once the node is removed, its index may be in use by another node by then
+		 */
+		private boolean live() {
+			return store.nodeVersion(node) == version;
+		}
+
+		private int linkCount() {
+			return out ? store.successorCount(node) : store.predecessorCount(node);
+		}
+
+		private int link(int i) {
+			return out ? store.successorLink(node, i) : store.predecessorLink(node, i);
+		}
+
+		@Override
+		public Iterator<Edge> iterator() {
+			if (!live())
+				return Collections.emptyIterator();
+
+			return new ViewIterator<Edge>() {
+				private int linkPos = 0;
+				private int next = linkCount() > 0 ? store.firstEdge(link(0)) : -1;
+
+				@Override
+				public boolean hasNext() {
+					return next != -1;
+				}
+
+				@Override
+				public Edge next() {
+					checkModCount();
+					if (next == -1)
+						throw new NoSuchElementException();
+					Edge edge = store.edgeObj(next);
+					next = store.nextEdge(next);
+					if (next == -1 && ++linkPos < linkCount())
+						next = store.firstEdge(link(linkPos));
+					return edge;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Edge) || !live())
+				return false;
+			Edge edge = (Edge) o;
+			int index = edgeArgsToIndex(true, edge.getSource(), edge.getTarget(), edge.getName());
+			return index != -1 && node == (out ? store.edgeSource(index) : store.edgeTarget(index));
+		}
+
+		@Override
+		public int size() {
+			if (!live())
+				return 0;
+			return out ? store.outDegree(node) : store.inDegree(node);
+		}
+	}
 }
@@ -0,0 +1,256 @@
+package io.github.openlg.graphlib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Changes collected by {@link Graph#batch(java.util.function.Consumer)}. The methods only record the change,
+ * the graph applies all of them in order once the consumer returns.
+ *
+ * The same structure serves as undo log of an atomic batch: every applied change records the changes that
+ * revert it, and a rollback applies them in reverse order.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class GraphBatch<N, E> {
+
+	private static final byte SET_NODE = 0;
+	private static final byte SET_NODE_VALUE = 1;
+	private static final byte REMOVE_NODE = 2;
+	private static final byte SET_EDGE = 3;
+	private static final byte REMOVE_EDGE = 4;
+	private static final byte SET_PARENT = 5;
+
+	private byte[] ops = new byte[16];
+
+	/**
+	 * node id or edge source
+	 */
+	private String[] first = new String[16];
+
+	/**
+	 * edge target or parent id
+	 */
+	private String[] second = new String[16];
+	private String[] names = new String[16];
+	private Object[] values = new Object[16];
+	private int size = 0;
+	private int edgeAdds = 0;
+
+	GraphBatch() {
+	}
+
+	/**
+	 * @return number of collected changes
+	 */
+	public int size() {
+		return size;
+	}
+
+	public GraphBatch<N, E> setNode(String id) {
+		return add(SET_NODE, id, null, null, null);
+	}
+
+	public GraphBatch<N, E> setNode(String id, N n) {
+		return add(SET_NODE_VALUE, id, null, null, n);
+	}
+
+	public GraphBatch<N, E> removeNode(String id) {
+		return add(REMOVE_NODE, id, null, null, null);
+	}
+
+	public GraphBatch<N, E> setEdge(String sourceId, String targetId) {
+		return setEdge(sourceId, targetId, null, null);
+	}
+
+	public GraphBatch<N, E> setEdge(String sourceId, String targetId, E e) {
+		return setEdge(sourceId, targetId, e, null);
+	}
+
+	public GraphBatch<N, E> setEdge(Edge edge) {
+		return setEdge(edge.getSource(), edge.getTarget(), null, edge.getName());
+	}
+
+	public GraphBatch<N, E> setEdge(Edge edge, E e) {
+		return setEdge(edge.getSource(), edge.getTarget(), e, edge.getName());
+	}
+
+	public GraphBatch<N, E> setEdge(String sourceId, String targetId, E e, String name) {
+		edgeAdds++;
+		return add(SET_EDGE, sourceId, targetId, name, e);
+	}
+
+	public GraphBatch<N, E> removeEdge(Edge edge) {
+		return removeEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public GraphBatch<N, E> removeEdge(String sourceId, String targetId) {
+		return removeEdge(sourceId, targetId, null);
+	}
+
+	public GraphBatch<N, E> removeEdge(String sourceId, String targetId, String name) {
+		return add(REMOVE_EDGE, sourceId, targetId, name, null);
+	}
+
+	public GraphBatch<N, E> setParent(String nodeId, String parentId) {
+		return add(SET_PARENT, nodeId, parentId, null, null);
+	}
+
+	/**
+	 * @return upper bound of the edges the batch adds
+	 */
+	int edgeAdds() {
+		return edgeAdds;
+	}
+
+	/**
+	 * Applies the changes in order.
+	 *
+	 * @param graph graph to change
+	 * @param undo receives the changes that revert the applied ones, may be null
+	 */
+	void apply(Graph<N, E> graph, GraphBatch<N, E> undo) {
+		for (int i = 0; i < size; i++) {
+			int mark = undo != null ? undo.size : 0;
+			try {
+				apply(graph, i, undo);
+			} catch (RuntimeException e) {
+				// the failed change left the graph as it was, drop what it recorded
+				if (undo != null)
+					undo.truncate(mark);
+				throw e;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void apply(Graph<N, E> graph, int i, GraphBatch<N, E> undo) {
+		String id = first[i];
+		switch (ops[i]) {
+			case SET_NODE:
+				if (undo != null && !graph.hasNode(id))
+					undo.removeNode(id);
+				graph.setNode(id);
+				break;
+			case SET_NODE_VALUE:
+				if (undo != null) {
+					if (graph.hasNode(id))
+						undo.setNode(id, graph.getNode(id));
+					else
+						undo.removeNode(id);
+				}
+				graph.setNode(id, (N) values[i]);
+				break;
+			case REMOVE_NODE:
+				if (undo != null && graph.hasNode(id))
+					recordRemoveNode(graph, id, undo);
+				graph.removeNode(id);
+				break;
+			case SET_EDGE:
+				if (undo != null) {
+					recordNewNode(graph, id, undo);
+					recordNewNode(graph, second[i], undo);
+					if (graph.hasEdge(id, second[i], names[i]))
+						undo.setEdge(id, second[i], graph.getEdge(id, second[i], names[i]), names[i]);
+					else
+						undo.removeEdge(id, second[i], names[i]);
+				}
+				graph.setEdge(id, second[i], (E) values[i], names[i]);
+				break;
+			case REMOVE_EDGE:
+				if (undo != null && graph.hasEdge(id, second[i], names[i]))
+					undo.setEdge(id, second[i], graph.getEdge(id, second[i], names[i]), names[i]);
+				graph.removeEdge(id, second[i], names[i]);
+				break;
+			case SET_PARENT:
+				if (undo != null) {
+					recordNewNode(graph, id, undo);
+					if (second[i] != null)
+						recordNewNode(graph, second[i], undo);
+					if (graph.hasNode(id))
+						undo.setParent(id, graph.getParent(id));
+				}
+				graph.setParent(id, second[i]);
+				break;
+			default:
+				throw new IllegalStateException("Unknown change " + ops[i]);
+		}
+	}
+
+	/**
+	 * Applies the changes of an undo log in reverse order.
+	 *
+	 * @param graph graph to revert
+	 */
+	void rollback(Graph<N, E> graph) {
+		reverse();
+		apply(graph, null);
+	}
+
+	private static <N, E> void recordNewNode(Graph<N, E> graph, String id, GraphBatch<N, E> undo) {
+		if (!graph.hasNode(id))
+			undo.removeNode(id);
+	}
+
+	/**
+	 * Records the node with its value, parent, children and edges; the rollback applies them in reverse,
+	 * so the node value comes first.
+	 */
+	private static <N, E> void recordRemoveNode(Graph<N, E> graph, String id, GraphBatch<N, E> undo) {
+		for (Edge edge : graph.nodeEdges(id))
+			undo.setEdge(edge, graph.getEdge(edge));
+		if (graph.isCompound()) {
+			List<String> children = new ArrayList<>(graph.getChildren(id));
+			for (String child : children)
+				undo.setParent(child, id);
+			undo.setParent(id, graph.getParent(id));
+		}
+		undo.setNode(id, graph.getNode(id));
+	}
+
+	private GraphBatch<N, E> add(byte op, String id, String otherId, String name, Object value) {
+		if (size == ops.length) {
+			int length = size + (size >> 1);
+			ops = Arrays.copyOf(ops, length);
+			first = Arrays.copyOf(first, length);
+			second = Arrays.copyOf(second, length);
+			names = Arrays.copyOf(names, length);
+			values = Arrays.copyOf(values, length);
+		}
+		ops[size] = op;
+		first[size] = id;
+		second[size] = otherId;
+		names[size] = name;
+		values[size] = value;
+		size++;
+		return this;
+	}
+
+	private void truncate(int length) {
+		Arrays.fill(first, length, size, null);
+		Arrays.fill(second, length, size, null);
+		Arrays.fill(names, length, size, null);
+		Arrays.fill(values, length, size, null);
+		size = length;
+	}
+
+	private void reverse() {
+		for (int i = 0, j = size - 1; i < j; i++, j--) {
+			byte op = ops[i];
+			ops[i] = ops[j];
+			ops[j] = op;
+			swap(first, i, j);
+			swap(second, i, j);
+			swap(names, i, j);
+			swap(values, i, j);
+		}
+	}
+
+	private static void swap(Object[] array, int i, int j) {
+		Object tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+}
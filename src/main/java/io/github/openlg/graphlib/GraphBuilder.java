@@ -0,0 +1,247 @@
+package io.github.openlg.graphlib;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Loads many nodes and edges into a new {@link Graph} faster than calling setEdge for each of them.
+ *
+ * Node ids are interned once when an edge is added, the edge itself is only staged as a pair of node indices.
+ * {@link #build()} then counts the links of every node, sizes the node, link and edge tables and every
+ * adjacency list to their final size and inserts all edges in one pass, so nothing is rehashed or moved
+ * while loading. Capacity hints size the staging arrays and the node table up front.
+ *
+ * The result is the same as calling setNode and setEdge in the same order on a new graph: nodes are
+ * created in order of appearance and adding an existing edge replaces its value.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class GraphBuilder<N, E> {
+
+	private final boolean directed;
+	private final boolean multiGraph;
+
+	private Graph<N, E> graph;
+	private final GraphStore store;
+
+	private int[] sources;
+	private int[] targets;
+
+	/**
+	 * created with the first named edge or edge value
+	 */
+	private String[] names;
+	private Object[] labels;
+	private int edgeCount = 0;
+
+	public GraphBuilder() {
+		this(true, false, 16, 16);
+	}
+
+	public GraphBuilder(int expectedNodes, int expectedEdges) {
+		this(true, false, expectedNodes, expectedEdges);
+	}
+
+	/**
+	 * @param directed set to false to get an undirected graph
+	 * @param multigraph set to true to allow named edges
+	 * @param expectedNodes number of nodes the graph will have
+	 * @param expectedEdges number of edges that will be added
+	 */
+	public GraphBuilder(boolean directed, boolean multigraph, int expectedNodes, int expectedEdges) {
+		this.directed = directed;
+		this.multiGraph = multigraph;
+		graph = new Graph<>(directed, multigraph, false);
+		store = graph.store();
+		store.ensureCapacity(Math.max(16, expectedNodes), 16);
+		sources = new int[Math.max(16, expectedEdges)];
+		targets = new int[sources.length];
+	}
+
+	public GraphBuilder<N, E> addNode(String id) {
+		intern(id);
+		return this;
+	}
+
+	/**
+	 * Creates or updates the value for the node.
+	 *
+	 * @param id node id
+	 * @param n node data
+	 * @return current builder
+	 */
+	public GraphBuilder<N, E> addNode(String id, N n) {
+		store.setNodeLabel(intern(id), n);
+		return this;
+	}
+
+	public GraphBuilder<N, E> addEdge(String sourceId, String targetId) {
+		return addEdge(sourceId, targetId, null, null);
+	}
+
+	public GraphBuilder<N, E> addEdge(String sourceId, String targetId, E e) {
+		return addEdge(sourceId, targetId, e, null);
+	}
+
+	/**
+	 * Stages an edge, missing nodes are created right away.
+	 *
+	 * @param sourceId source node id
+	 * @param targetId target node id
+	 * @param e edge data
+	 * @param name edge name
+	 * @return current builder
+	 */
+	public GraphBuilder<N, E> addEdge(String sourceId, String targetId, E e, String name) {
+		if (!Utils.isEmpty(name) && !multiGraph)
+			throw new IllegalOperationException("Cannot set a named getEdge when multiGraph = false");
+		return stage(intern(sourceId), intern(targetId), e, name);
+	}
+
+	/**
+	 * Returns the index of the node, creating it if it is missing. Nodes are numbered from 0 in order
+	 * of creation, so a loader that already knows the order can stage edges without looking ids up again.
+	 *
+	 * @param id node id
+	 * @return node index
+	 */
+	public int node(String id) {
+		return intern(id);
+	}
+
+	/**
+	 * Stages an edge between two nodes returned by {@link #node(String)}.
+	 *
+	 * @param source source node index
+	 * @param target target node index
+	 * @param e edge data
+	 * @param name edge name
+	 * @return current builder
+	 */
+	public GraphBuilder<N, E> addEdge(int source, int target, E e, String name) {
+		if (graph == null)
+			throw new IllegalOperationException("Graph is already built");
+		if (!Utils.isEmpty(name) && !multiGraph)
+			throw new IllegalOperationException("Cannot set a named getEdge when multiGraph = false");
+		if (Math.max(source, target) >= store.nodeBound() || Math.min(source, target) < 0)
+			throw new IllegalArgumentException("Unknown node index " + source + " -> " + target);
+		return stage(source, target, e, name);
+	}
+
+	private GraphBuilder<N, E> stage(int source, int target, E e, String name) {
+		if (!directed && store.nodeId(source).compareTo(store.nodeId(target)) > 0) {
+			int tmp = source;
+			source = target;
+			target = tmp;
+		}
+
+		if (edgeCount == sources.length)
+			ensureEdges(edgeCount + (edgeCount >> 1));
+		if (name != null && names == null)
+			names = new String[sources.length];
+		if (e != null && labels == null)
+			labels = new Object[sources.length];
+
+		sources[edgeCount] = source;
+		targets[edgeCount] = target;
+		if (names != null)
+			names[edgeCount] = name;
+		if (labels != null)
+			labels[edgeCount] = e;
+		edgeCount++;
+		return this;
+	}
+
+	/**
+	 * Stages the edges sourceIds[i] -&gt; targetIds[i] with value values[i].
+	 *
+	 * @param sourceIds source node ids
+	 * @param targetIds target node ids, same length as sourceIds
+	 * @param values edge values, same length as sourceIds, may be null
+	 * @return current builder
+	 */
+	public GraphBuilder<N, E> addEdges(String[] sourceIds, String[] targetIds, E[] values) {
+		if (targetIds.length != sourceIds.length || (values != null && values.length != sourceIds.length))
+			throw new IllegalArgumentException("sourceIds, targetIds and values must have the same length");
+		ensureEdges(edgeCount + sourceIds.length);
+		for (int i = 0; i < sourceIds.length; i++)
+			addEdge(sourceIds[i], targetIds[i], values != null ? values[i] : null, null);
+		return this;
+	}
+
+	/**
+	 * Stages one edge per element of the stream.
+	 *
+	 * @param tuples elements to read the edges from
+	 * @param source source node id of an element
+	 * @param target target node id of an element
+	 * @param value edge value of an element
+	 * @param <T> element type
+	 * @return current builder
+	 */
+	public <T> GraphBuilder<N, E> addEdges(Stream<T> tuples, Function<T, String> source, Function<T, String> target,
+										   Function<T, E> value) {
+		tuples.forEachOrdered(tuple -> addEdge(source.apply(tuple), target.apply(tuple), value.apply(tuple), null));
+		return this;
+	}
+
+	/**
+	 * Inserts the staged edges, the builder can not be used afterwards.
+	 *
+	 * @return new graph
+	 */
+	public Graph<N, E> build() {
+		if (graph == null)
+			throw new IllegalOperationException("Graph is already built");
+
+		// size every adjacency list for its staged edges, a duplicate or multi edge only wastes a cell
+		int bound = store.nodeBound();
+		int[] outCount = new int[bound];
+		int[] inCount = new int[bound];
+		for (int i = 0; i < edgeCount; i++) {
+			outCount[sources[i]]++;
+			inCount[targets[i]]++;
+		}
+		store.ensureCapacity(bound, edgeCount);
+		store.ensureLinkCapacity(edgeCount);
+		for (int node = 0; node < bound; node++)
+			store.reserveLinks(node, outCount[node], inCount[node]);
+
+		for (int i = 0; i < edgeCount; i++) {
+			String name = names != null ? names[i] : null;
+			Object label = labels != null ? labels[i] : null;
+			int edge = store.findEdge(sources[i], targets[i], name);
+			if (edge != -1)
+				store.setEdgeLabel(edge, label);
+			else
+				store.addEdge(sources[i], targets[i], name, label, null);
+		}
+
+		Graph<N, E> result = graph;
+		graph = null;
+		sources = targets = null;
+		names = null;
+		labels = null;
+		return result;
+	}
+
+	private int intern(String id) {
+		if (graph == null)
+			throw new IllegalOperationException("Graph is already built");
+		int node = store.indexOf(id);
+		return node != -1 ? node : store.addNode(id, null);
+	}
+
+	private void ensureEdges(int capacity) {
+		if (capacity > sources.length) {
+			sources = Arrays.copyOf(sources, capacity);
+			targets = Arrays.copyOf(targets, capacity);
+			if (names != null)
+				names = Arrays.copyOf(names, capacity);
+			if (labels != null)
+				labels = Arrays.copyOf(labels, capacity);
+		}
+	}
+}
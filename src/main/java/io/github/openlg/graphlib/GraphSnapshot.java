@@ -0,0 +1,586 @@
+package io.github.openlg.graphlib;
+
+import io.github.openlg.graphlib.algorithms.IsAcyclic;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import io.github.openlg.graphlib.algorithms.Topsort;
+
+import java.util.*;
+
+/**
+ * One immutable version of a {@link VersionedGraph}, returned by {@link VersionedGraph#snapshot()}.
+ *
+ * The version is built from persistent tries: node id -&gt; index, index -&gt; node record and link -&gt; edges.
+ * A node record holds its successor and predecessor indices in two persistent vectors and every link knows
+ * its position in both, so a change copies only the trie paths it touches and the next version shares all
+ * other nodes with this one. Taking a snapshot does not copy anything, and it stays valid and unchanged
+ * however the graph is modified later.
+ *
+ * Indices of removed nodes are reused by later versions. The read methods follow {@link Graph}, returned
+ * collections are copies.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class GraphSnapshot<N, E> implements IndexedGraph {
+
+	private final boolean directed;
+	private final boolean multiGraph;
+	private final long version;
+
+	private final PersistentMap<String, Integer> ids;
+
+	/**
+	 * node index -&gt; node, null for unused indices
+	 */
+	private final PersistentVector<NodeRecord> nodes;
+
+	/**
+	 * source index &lt;&lt; 32 | target index -&gt; edges between the two nodes
+	 */
+	private final PersistentMap<Long, LinkRecord> links;
+
+	/**
+	 * unused node indices below nodes.size()
+	 */
+	private final FreeIndex free;
+
+	private final int nodeCount;
+	private final int edgeCount;
+
+	private static final class NodeRecord {
+		private final String id;
+		private final Object label;
+		private final PersistentVector<Integer> successors;
+		private final PersistentVector<Integer> predecessors;
+
+		private NodeRecord(String id, Object label, PersistentVector<Integer> successors, PersistentVector<Integer> predecessors) {
+			this.id = id;
+			this.label = label;
+			this.successors = successors;
+			this.predecessors = predecessors;
+		}
+	}
+
+	/**
+	 * the named edges of one link, with the positions of the link in the successors of the source
+	 * and the predecessors of the target
+	 */
+	private static final class LinkRecord {
+		private final int successorPos;
+		private final int predecessorPos;
+		private final String[] names;
+		private final Object[] labels;
+
+		private LinkRecord(int successorPos, int predecessorPos, String[] names, Object[] labels) {
+			this.successorPos = successorPos;
+			this.predecessorPos = predecessorPos;
+			this.names = names;
+			this.labels = labels;
+		}
+
+		private int indexOf(String name) {
+			for (int i = 0; i < names.length; i++) {
+				if (Objects.equals(names[i], name))
+					return i;
+			}
+			return -1;
+		}
+	}
+
+	private static final class FreeIndex {
+		private final int index;
+		private final FreeIndex next;
+
+		private FreeIndex(int index, FreeIndex next) {
+			this.index = index;
+			this.next = next;
+		}
+	}
+
+	GraphSnapshot(boolean directed, boolean multiGraph) {
+		this(directed, multiGraph, 0, PersistentMap.empty(), PersistentVector.empty(), PersistentMap.empty(), null, 0, 0);
+	}
+
+	private GraphSnapshot(boolean directed, boolean multiGraph, long version, PersistentMap<String, Integer> ids,
+						  PersistentVector<NodeRecord> nodes, PersistentMap<Long, LinkRecord> links, FreeIndex free,
+						  int nodeCount, int edgeCount) {
+		this.directed = directed;
+		this.multiGraph = multiGraph;
+		this.version = version;
+		this.ids = ids;
+		this.nodes = nodes;
+		this.links = links;
+		this.free = free;
+		this.nodeCount = nodeCount;
+		this.edgeCount = edgeCount;
+	}
+
+	public boolean isDirected() {
+		return directed;
+	}
+
+	public boolean isMultiGraph() {
+		return multiGraph;
+	}
+
+	/**
+	 * @return number of changes that led to this version
+	 */
+	public long version() {
+		return version;
+	}
+
+	@Override
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return node ids in index order
+	 */
+	public List<String> getNodes() {
+		List<String> result = new ArrayList<>(nodeCount);
+		for (int i = 0; i < nodes.size(); i++) {
+			NodeRecord node = nodes.get(i);
+			if (node != null)
+				result.add(node.id);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	public N getNode(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? (N) nodes.get(node).label : null;
+	}
+
+	public boolean hasNode(String nodeId) {
+		return indexOf(nodeId) != -1;
+	}
+
+	public Set<String> getSources() {
+		Set<String> sources = new HashSet<>();
+		for (int i = 0; i < nodes.size(); i++) {
+			NodeRecord node = nodes.get(i);
+			if (node != null && node.predecessors.size() == 0)
+				sources.add(node.id);
+		}
+		return sources;
+	}
+
+	public Set<String> getSinks() {
+		Set<String> sinks = new HashSet<>();
+		for (int i = 0; i < nodes.size(); i++) {
+			NodeRecord node = nodes.get(i);
+			if (node != null && node.successors.size() == 0)
+				sinks.add(node.id);
+		}
+		return sinks;
+	}
+
+	public int edgeCount() {
+		return edgeCount;
+	}
+
+	public List<Edge> getEdges() {
+		List<Edge> edges = new ArrayList<>(edgeCount);
+		for (int i = 0; i < nodes.size(); i++) {
+			if (nodes.get(i) != null)
+				addOutEdges(i, edges);
+		}
+		return edges;
+	}
+
+	public E getEdge(Edge edge) {
+		return getEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public E getEdge(String sourceId, String targetId) {
+		return getEdge(sourceId, targetId, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public E getEdge(String sourceId, String targetId, String name) {
+		LinkRecord link = findLink(sourceId, targetId);
+		int i = link != null ? link.indexOf(name) : -1;
+		return i != -1 ? (E) link.labels[i] : null;
+	}
+
+	public boolean hasEdge(Edge edge) {
+		return hasEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public boolean hasEdge(String sourceId, String targetId) {
+		return hasEdge(sourceId, targetId, null);
+	}
+
+	public boolean hasEdge(String sourceId, String targetId, String name) {
+		LinkRecord link = findLink(sourceId, targetId);
+		return link != null && link.indexOf(name) != -1;
+	}
+
+	public List<Edge> inEdges(String nodeId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		List<Edge> edges = new ArrayList<>();
+		PersistentVector<Integer> predecessors = nodes.get(node).predecessors;
+		for (int i = 0; i < predecessors.size(); i++)
+			addEdges(predecessors.get(i), node, edges);
+		return edges;
+	}
+
+	public List<Edge> inEdges(String nodeId, String sourceId) {
+		return outEdges(sourceId, nodeId);
+	}
+
+	public List<Edge> outEdges(String nodeId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		List<Edge> edges = new ArrayList<>();
+		addOutEdges(node, edges);
+		return edges;
+	}
+
+	public List<Edge> outEdges(String nodeId, String targetId) {
+		int source = indexOf(nodeId);
+		int target = indexOf(targetId);
+		if (source == -1 || target == -1)
+			return Collections.emptyList();
+		List<Edge> edges = new ArrayList<>();
+		addEdges(source, target, edges);
+		return edges;
+	}
+
+	public List<String> predecessors(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? idList(nodes.get(node).predecessors) : Collections.emptyList();
+	}
+
+	public List<String> successors(String nodeId) {
+		int node = indexOf(nodeId);
+		return node != -1 ? idList(nodes.get(node).successors) : Collections.emptyList();
+	}
+
+	/**
+	 * @param nodeId node id
+	 * @return predecessors followed by the successors that are not predecessors
+	 */
+	public List<String> neighbors(String nodeId) {
+		int node = indexOf(nodeId);
+		if (node == -1)
+			return Collections.emptyList();
+		Set<String> neighbors = new LinkedHashSet<>(predecessors(nodeId));
+		neighbors.addAll(successors(nodeId));
+		return new ArrayList<>(neighbors);
+	}
+
+	/**
+	 * @return an array of nodes such that for each edge u -&gt; v, u appears before v in the array.
+	 * @throws Topsort.CycleException if the graph has a cycle
+	 */
+	public List<String> topsort() {
+		return new Topsort().topsort(this, Topsort.Order.FIFO);
+	}
+
+	public List<List<String>> tarjan() {
+		return new Tarjan().tarjan(this);
+	}
+
+	public boolean isAcyclic() {
+		return new IsAcyclic().isAcyclic(this);
+	}
+
+	public List<List<String>> findCycles() {
+		List<List<String>> cycles = new ArrayList<>();
+		for (List<String> component : tarjan()) {
+			if (component.size() > 1 || hasEdge(component.get(0), component.get(0)))
+				cycles.add(component);
+		}
+		return cycles;
+	}
+
+	@Override
+	public int nodeBound() {
+		return nodes.size();
+	}
+
+	@Override
+	public boolean containsIndex(int index) {
+		return index >= 0 && index < nodes.size() && nodes.get(index) != null;
+	}
+
+	@Override
+	public int indexOf(String nodeId) {
+		if (nodeId == null)
+			return -1;
+		Integer index = ids.get(nodeId);
+		return index != null ? index : -1;
+	}
+
+	@Override
+	public String nodeIdAt(int index) {
+		return nodes.get(index).id;
+	}
+
+	@Override
+	public int successorCount(int index) {
+		return nodes.get(index).successors.size();
+	}
+
+	@Override
+	public int successorAt(int index, int i) {
+		return nodes.get(index).successors.get(i);
+	}
+
+	@Override
+	public int predecessorCount(int index) {
+		return nodes.get(index).predecessors.size();
+	}
+
+	@Override
+	public int predecessorAt(int index, int i) {
+		return nodes.get(index).predecessors.get(i);
+	}
+
+	/*
+	 * Changes, every method returns a new version and leaves this one untouched.
+	 */
+
+	GraphSnapshot<N, E> setNode(String id, Object label, boolean replaceValue) {
+		Integer index = ids.get(id);
+		if (index != null && !replaceValue)
+			return this;
+		Editor editor = new Editor();
+		if (index == null) {
+			editor.addNode(id, label);
+		} else {
+			NodeRecord node = nodes.get(index);
+			editor.nodes = nodes.set(index, new NodeRecord(id, label, node.successors, node.predecessors));
+		}
+		return editor.commit();
+	}
+
+	GraphSnapshot<N, E> removeNode(String id) {
+		Integer index = ids.get(id);
+		if (index == null)
+			return this;
+		Editor editor = new Editor();
+		editor.removeNode(index);
+		return editor.commit();
+	}
+
+	GraphSnapshot<N, E> setEdge(String sourceId, String targetId, Object label, String name) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+		LinkRecord link = findLink(sourceId, targetId);
+		int i = link != null ? link.indexOf(name) : -1;
+		if (i == -1 && !Utils.isEmpty(name) && !multiGraph)
+			throw new IllegalOperationException("Cannot set a named getEdge when multiGraph = false");
+		if (i != -1 && link.labels[i] == label)
+			return this;
+
+		Editor editor = new Editor();
+		editor.setEdge(editor.node(sourceId), editor.node(targetId), name, label);
+		return editor.commit();
+	}
+
+	GraphSnapshot<N, E> removeEdge(String sourceId, String targetId, String name) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+		LinkRecord link = findLink(sourceId, targetId);
+		int i = link != null ? link.indexOf(name) : -1;
+		if (i == -1)
+			return this;
+
+		Editor editor = new Editor();
+		editor.removeEdge(indexOf(sourceId), indexOf(targetId), link, i);
+		return editor.commit();
+	}
+
+	private LinkRecord findLink(String sourceId, String targetId) {
+		if (!directed && sourceId.compareTo(targetId) > 0) {
+			String tmp = sourceId;
+			sourceId = targetId;
+			targetId = tmp;
+		}
+		int source = indexOf(sourceId);
+		int target = indexOf(targetId);
+		return source != -1 && target != -1 ? links.get(linkKey(source, target)) : null;
+	}
+
+	private void addOutEdges(int node, List<Edge> edges) {
+		PersistentVector<Integer> successors = nodes.get(node).successors;
+		for (int i = 0; i < successors.size(); i++)
+			addEdges(node, successors.get(i), edges);
+	}
+
+	private void addEdges(int source, int target, List<Edge> edges) {
+		LinkRecord link = links.get(linkKey(source, target));
+		if (link == null)
+			return;
+		String sourceId = nodes.get(source).id;
+		String targetId = nodes.get(target).id;
+		for (String name : link.names)
+			edges.add(new Edge(sourceId, targetId, name));
+	}
+
+	private List<String> idList(PersistentVector<Integer> indices) {
+		List<String> result = new ArrayList<>(indices.size());
+		for (int i = 0; i < indices.size(); i++)
+			result.add(nodes.get(indices.get(i)).id);
+		return result;
+	}
+
+	private static long linkKey(int source, int target) {
+		return ((long) source << 32) | (target & 0xffffffffL);
+	}
+
+	/**
+	 * Collects the changed tries of one change, {@link #commit()} creates the next version from them.
+	 */
+	private final class Editor {
+		private PersistentMap<String, Integer> ids = GraphSnapshot.this.ids;
+		private PersistentVector<NodeRecord> nodes = GraphSnapshot.this.nodes;
+		private PersistentMap<Long, LinkRecord> links = GraphSnapshot.this.links;
+		private FreeIndex free = GraphSnapshot.this.free;
+		private int nodeCount = GraphSnapshot.this.nodeCount;
+		private int edgeCount = GraphSnapshot.this.edgeCount;
+
+		private GraphSnapshot<N, E> commit() {
+			return new GraphSnapshot<>(directed, multiGraph, version + 1, ids, nodes, links, free, nodeCount, edgeCount);
+		}
+
+		/**
+		 * @return index of the node, created without label if missing
+		 */
+		private int node(String id) {
+			Integer index = ids.get(id);
+			return index != null ? index : addNode(id, null);
+		}
+
+		private int addNode(String id, Object label) {
+			NodeRecord node = new NodeRecord(id, label, PersistentVector.empty(), PersistentVector.empty());
+			int index;
+			if (free != null) {
+				index = free.index;
+				free = free.next;
+				nodes = nodes.set(index, node);
+			} else {
+				index = nodes.size();
+				nodes = nodes.append(node);
+			}
+			ids = ids.put(id, index);
+			nodeCount++;
+			return index;
+		}
+
+		private void removeNode(int index) {
+			// removing the last link of a vector never moves another link
+			NodeRecord node = nodes.get(index);
+			while (node.successors.size() > 0) {
+				int target = node.successors.get(node.successors.size() - 1);
+				LinkRecord link = links.get(linkKey(index, target));
+				edgeCount -= link.names.length;
+				removeLink(index, target, link);
+				node = nodes.get(index);
+			}
+			while (node.predecessors.size() > 0) {
+				int source = node.predecessors.get(node.predecessors.size() - 1);
+				LinkRecord link = links.get(linkKey(source, index));
+				edgeCount -= link.names.length;
+				removeLink(source, index, link);
+				node = nodes.get(index);
+			}
+			ids = ids.remove(node.id);
+			nodes = nodes.set(index, null);
+			free = new FreeIndex(index, free);
+			nodeCount--;
+		}
+
+		private void setEdge(int source, int target, String name, Object label) {
+			long key = linkKey(source, target);
+			LinkRecord link = links.get(key);
+			if (link == null) {
+				NodeRecord sourceNode = nodes.get(source);
+				int successorPos = sourceNode.successors.size();
+				nodes = nodes.set(source, new NodeRecord(sourceNode.id, sourceNode.label,
+						sourceNode.successors.append(target), sourceNode.predecessors));
+				NodeRecord targetNode = nodes.get(target);
+				int predecessorPos = targetNode.predecessors.size();
+				nodes = nodes.set(target, new NodeRecord(targetNode.id, targetNode.label,
+						targetNode.successors, targetNode.predecessors.append(source)));
+				links = links.put(key, new LinkRecord(successorPos, predecessorPos, new String[]{name}, new Object[]{label}));
+				edgeCount++;
+				return;
+			}
+			int i = link.indexOf(name);
+			String[] names = link.names;
+			Object[] labels;
+			if (i != -1) {
+				labels = link.labels.clone();
+				labels[i] = label;
+			} else {
+				names = Arrays.copyOf(names, names.length + 1);
+				names[names.length - 1] = name;
+				labels = Arrays.copyOf(link.labels, names.length);
+				labels[names.length - 1] = label;
+				edgeCount++;
+			}
+			links = links.put(key, new LinkRecord(link.successorPos, link.predecessorPos, names, labels));
+		}
+
+		private void removeEdge(int source, int target, LinkRecord link, int i) {
+			edgeCount--;
+			if (link.names.length == 1) {
+				removeLink(source, target, link);
+				return;
+			}
+			String[] names = new String[link.names.length - 1];
+			Object[] labels = new Object[names.length];
+			System.arraycopy(link.names, 0, names, 0, i);
+			System.arraycopy(link.names, i + 1, names, i, names.length - i);
+			System.arraycopy(link.labels, 0, labels, 0, i);
+			System.arraycopy(link.labels, i + 1, labels, i, names.length - i);
+			links = links.put(linkKey(source, target), new LinkRecord(link.successorPos, link.predecessorPos, names, labels));
+		}
+
+		/**
+		 * Removes the link from both vectors by moving the last link of each into its position.
+		 */
+		private void removeLink(int source, int target, LinkRecord link) {
+			links = links.remove(linkKey(source, target));
+
+			NodeRecord sourceNode = nodes.get(source);
+			PersistentVector<Integer> successors = sourceNode.successors;
+			int last = successors.size() - 1;
+			if (link.successorPos != last) {
+				int moved = successors.get(last);
+				successors = successors.set(link.successorPos, moved);
+				long movedKey = linkKey(source, moved);
+				LinkRecord movedLink = links.get(movedKey);
+				links = links.put(movedKey, new LinkRecord(link.successorPos, movedLink.predecessorPos, movedLink.names, movedLink.labels));
+			}
+			nodes = nodes.set(source, new NodeRecord(sourceNode.id, sourceNode.label, successors.pop(), sourceNode.predecessors));
+
+			NodeRecord targetNode = nodes.get(target);
+			PersistentVector<Integer> predecessors = targetNode.predecessors;
+			last = predecessors.size() - 1;
+			if (link.predecessorPos != last) {
+				int moved = predecessors.get(last);
+				predecessors = predecessors.set(link.predecessorPos, moved);
+				long movedKey = linkKey(moved, target);
+				LinkRecord movedLink = links.get(movedKey);
+				links = links.put(movedKey, new LinkRecord(movedLink.successorPos, link.predecessorPos, movedLink.names, movedLink.labels));
+			}
+			nodes = nodes.set(target, new NodeRecord(targetNode.id, targetNode.label, targetNode.successors, predecessors.pop()));
+		}
+	}
+}
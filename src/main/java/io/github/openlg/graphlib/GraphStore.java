@@ -0,0 +1,339 @@
+package io.github.openlg.graphlib;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Int indexed storage behind {@link Graph}.
+ * Node ids are interned to dense indices, adjacency is kept as packed int lists of links
+ * (distinct node pairs) and edge data lives in parallel arrays, so an edge costs a handful of
+ * array cells instead of entries in seven hash maps.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class GraphStore implements Serializable {
+
+	private final boolean offHeap;
+
+	private final NodeTable nodes = new NodeTable();
+	private final LinkTable links;
+	private final EdgeTable edges;
+
+	/**
+	 * node index -&gt; links leaving the node
+	 */
+	private final IntListPool succ;
+
+	/**
+	 * node index -&gt; links entering the node
+	 */
+	private final IntListPool pred;
+
+	/**
+	 * node index -&gt; number of out / in edges
+	 */
+	private int[] outDegree = new int[16];
+	private int[] inDegree = new int[16];
+
+	/**
+	 * node index -&gt; number of times a node at the index was removed, so views can tell a reused index
+	 */
+	private int[] nodeVersion = new int[16];
+
+	/**
+	 * number of nodes and edges added or removed, views of the graph fail fast when it changes
+	 */
+	private transient int modCount;
+
+	/**
+	 * @param offHeap keep links, edges and adjacency outside the Java heap, see {@link Graph#isOffHeap()}
+	 */
+	GraphStore(boolean offHeap) {
+		this.offHeap = offHeap;
+		links = new LinkTable(offHeap);
+		edges = new EdgeTable(links, offHeap);
+		succ = new IntListPool(offHeap);
+		pred = new IntListPool(offHeap);
+	}
+
+	boolean isOffHeap() {
+		return offHeap;
+	}
+
+	int modCount() {
+		return modCount;
+	}
+
+	int nodeVersion(int node) {
+		return nodeVersion[node];
+	}
+
+	int nodeCount() {
+		return nodes.size();
+	}
+
+	int nodeBound() {
+		return nodes.bound();
+	}
+
+	boolean containsNode(int node) {
+		return nodes.contains(node);
+	}
+
+	int indexOf(String nodeId) {
+		return nodeId == null ? -1 : nodes.indexOf(nodeId);
+	}
+
+	String nodeId(int node) {
+		return nodes.id(node);
+	}
+
+	Object nodeLabel(int node) {
+		return nodes.label(node);
+	}
+
+	void setNodeLabel(int node, Object label) {
+		nodes.setLabel(node, label);
+	}
+
+	int firstNode() {
+		return nodes.first();
+	}
+
+	int nextNode(int node) {
+		return nodes.next(node);
+	}
+
+	int addNode(String nodeId, Object label) {
+		int node = nodes.add(nodeId, label);
+		if (node >= outDegree.length) {
+			int length = Math.max(node + 1, outDegree.length << 1);
+			outDegree = Arrays.copyOf(outDegree, length);
+			inDegree = Arrays.copyOf(inDegree, length);
+			nodeVersion = Arrays.copyOf(nodeVersion, length);
+		}
+		modCount++;
+		outDegree[node] = 0;
+		inDegree[node] = 0;
+		succ.ensureLists(node + 1);
+		pred.ensureLists(node + 1);
+		return node;
+	}
+
+	/**
+	 * Size the tables for the given number of nodes and edges, so that loading them does not resize anything.
+	 * @param nodes expected number of nodes
+	 * @param edges expected number of edges
+	 */
+	void ensureCapacity(int nodes, int edges) {
+		this.nodes.ensureCapacity(nodes);
+		if (nodes > outDegree.length) {
+			outDegree = Arrays.copyOf(outDegree, nodes);
+			inDegree = Arrays.copyOf(inDegree, nodes);
+			nodeVersion = Arrays.copyOf(nodeVersion, nodes);
+		}
+		succ.ensureLists(nodes);
+		pred.ensureLists(nodes);
+		links.ensureCapacity(edges);
+		this.edges.ensureCapacity(edges);
+	}
+
+	/**
+	 * Reserve room for links of a node, so that adding them never moves its adjacency lists.
+	 * @param node node index
+	 * @param successors number of links leaving the node
+	 * @param predecessors number of links entering the node
+	 */
+	void reserveLinks(int node, int successors, int predecessors) {
+		succ.reserve(node, successors);
+		pred.reserve(node, predecessors);
+	}
+
+	/**
+	 * Make room for links in the adjacency pools before they are reserved node by node.
+	 * @param links number of links
+	 */
+	void ensureLinkCapacity(int links) {
+		succ.ensureCapacity(links);
+		pred.ensureCapacity(links);
+	}
+
+	/**
+	 * Remove the node and all edges incident on it.
+	 * @param node node index
+	 */
+	void removeNode(int node) {
+		for (int size = pred.size(node); size > 0; size = pred.size(node))
+			removeLink(pred.get(node, size - 1));
+		for (int size = succ.size(node); size > 0; size = succ.size(node))
+			removeLink(succ.get(node, size - 1));
+		succ.clear(node);
+		pred.clear(node);
+		nodes.remove(node);
+		nodeVersion[node]++;
+		modCount++;
+	}
+
+	int outDegree(int node) {
+		return outDegree[node];
+	}
+
+	int inDegree(int node) {
+		return inDegree[node];
+	}
+
+	int successorCount(int node) {
+		return succ.size(node);
+	}
+
+	int successorLink(int node, int i) {
+		return succ.get(node, i);
+	}
+
+	int predecessorCount(int node) {
+		return pred.size(node);
+	}
+
+	int predecessorLink(int node, int i) {
+		return pred.get(node, i);
+	}
+
+	int findLink(int source, int target) {
+		return links.find(source, target);
+	}
+
+	int linkSource(int link) {
+		return links.source(link);
+	}
+
+	int linkTarget(int link) {
+		return links.target(link);
+	}
+
+	int firstEdge(int link) {
+		return links.firstEdge(link);
+	}
+
+	int nextEdge(int edge) {
+		return edges.next(edge);
+	}
+
+	int edgeCount() {
+		return edges.size();
+	}
+
+	int edgeBound() {
+		return edges.bound();
+	}
+
+	boolean containsEdge(int edge) {
+		return edges.contains(edge);
+	}
+
+	int edgeSource(int edge) {
+		return links.source(edges.link(edge));
+	}
+
+	int edgeTarget(int edge) {
+		return links.target(edges.link(edge));
+	}
+
+	String edgeName(int edge) {
+		return edges.name(edge);
+	}
+
+	Object edgeLabel(int edge) {
+		return edges.label(edge);
+	}
+
+	void setEdgeLabel(int edge, Object label) {
+		edges.setLabel(edge, label);
+	}
+
+	Edge edgeObj(int edge) {
+		Edge edgeObj = edges.edge(edge);
+		return edgeObj != null ? edgeObj : new Edge(nodes.id(edgeSource(edge)), nodes.id(edgeTarget(edge)), edges.name(edge));
+	}
+
+	/**
+	 * @param source source node index
+	 * @param target target node index
+	 * @param name edge name
+	 * @return edge index or -1
+	 */
+	int findEdge(int source, int target, String name) {
+		return edges.find(source, target, name);
+	}
+
+	/**
+	 * Add an edge that is not in the graph yet, both nodes must exist.
+	 * @param source source node index
+	 * @param target target node index
+	 * @param name edge name
+	 * @param label edge data
+	 * @param edgeObj Edge instance to keep for the edge if it names exactly this edge, may be null
+	 * @return edge index
+	 */
+	int addEdge(int source, int target, String name, Object label, Edge edgeObj) {
+		int link = links.find(source, target);
+		if (link == -1) {
+			link = links.add(source, target);
+			links.setSuccPos(link, succ.add(source, link));
+			links.setPredPos(link, pred.add(target, link));
+		}
+
+		// Edge is immutable, share the caller's instance when it refers to the interned ids
+		if (offHeap)
+			edgeObj = null;
+		else if (edgeObj == null || edgeObj.getSource() != nodes.id(source) || edgeObj.getTarget() != nodes.id(target)
+				|| !Objects.equals(edgeObj.getName(), name))
+			edgeObj = new Edge(nodes.id(source), nodes.id(target), name);
+		int edge = edges.add(link, name, label, edgeObj);
+		edges.setNext(edge, links.firstEdge(link));
+		links.setFirstEdge(link, edge);
+		links.increment(link);
+
+		++outDegree[source];
+		++inDegree[target];
+		modCount++;
+		return edge;
+	}
+
+	void removeEdge(int edge) {
+		int link = edges.link(edge);
+		int source = links.source(link);
+		int target = links.target(link);
+
+		int previous = -1;
+		for (int e = links.firstEdge(link); e != edge; e = edges.next(e))
+			previous = e;
+		if (previous == -1)
+			links.setFirstEdge(link, edges.next(edge));
+		else
+			edges.setNext(previous, edges.next(edge));
+		edges.remove(edge);
+
+		--outDegree[source];
+		--inDegree[target];
+		modCount++;
+
+		if (links.decrement(link) == 0) {
+			int moved = succ.removeAt(source, links.succPos(link));
+			if (moved != -1)
+				links.setSuccPos(moved, links.succPos(link));
+			moved = pred.removeAt(target, links.predPos(link));
+			if (moved != -1)
+				links.setPredPos(moved, links.predPos(link));
+			links.remove(link);
+		}
+	}
+
+	private void removeLink(int link) {
+		for (int edge = links.firstEdge(link), next; edge != -1; edge = next) {
+			next = edges.next(edge);
+			removeEdge(edge);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package io.github.openlg.graphlib;
+
+import java.io.Serializable;
+
+/**
+ * Open addressing (linear probing) hash index over the slots of a table.
+ * The index stores nothing but slot numbers, keys are read back from the owning table,
+ * so an indexed entry costs two ints on average and lookups allocate nothing.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+abstract class HashedSlots implements Serializable {
+
+	static final int EMPTY = -1;
+
+	private IntColumn buckets;
+	private int mask = 15;
+	private int indexed = 0;
+
+	HashedSlots() {
+		this(false);
+	}
+
+	/**
+	 * @param offHeap keep the buckets outside the Java heap
+	 */
+	HashedSlots(boolean offHeap) {
+		buckets = new IntColumn(16, offHeap);
+		buckets.fill(EMPTY);
+	}
+
+	/**
+	 * @param slot an indexed slot
+	 * @return hash of the key stored in slot
+	 */
+	protected abstract int hashOf(int slot);
+
+	/**
+	 * @param hash raw key hash
+	 * @return first bucket to probe for hash
+	 */
+	final int home(int hash) {
+		hash *= 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	final int slotAt(int bucket) {
+		return buckets.get(bucket);
+	}
+
+	final int nextBucket(int bucket) {
+		return (bucket + 1) & mask;
+	}
+
+	/**
+	 * Grow the index up front so that expected keys can be added without rehashing.
+	 * @param expected number of keys
+	 */
+	final void presize(int expected) {
+		int capacity = buckets.length();
+		while (capacity < expected * 2)
+			capacity <<= 1;
+		if (capacity != buckets.length())
+			rehash(capacity);
+	}
+
+	/**
+	 * Add slot to the index, the key of slot must already be readable through {@link #hashOf(int)}.
+	 * @param slot slot
+	 */
+	final void index(int slot) {
+		if ((indexed + 1) * 2 > buckets.length())
+			rehash(buckets.length() << 1);
+		int bucket = home(hashOf(slot));
+		while (buckets.get(bucket) != EMPTY)
+			bucket = nextBucket(bucket);
+		buckets.set(bucket, slot);
+		++indexed;
+	}
+
+	/**
+	 * Remove slot from the index, the key of slot must still be readable.
+	 * Uses backward shift deletion so probe chains never contain tombstones.
+	 * @param slot slot
+	 */
+	final void unindex(int slot) {
+		int gap = home(hashOf(slot));
+		while (buckets.get(gap) != slot) {
+			if (buckets.get(gap) == EMPTY)
+				return;
+			gap = nextBucket(gap);
+		}
+		for (int bucket = nextBucket(gap); buckets.get(bucket) != EMPTY; bucket = nextBucket(bucket)) {
+			int home = home(hashOf(buckets.get(bucket)));
+			if (((bucket - home) & mask) >= ((bucket - gap) & mask)) {
+				buckets.set(gap, buckets.get(bucket));
+				gap = bucket;
+			}
+		}
+		buckets.set(gap, EMPTY);
+		--indexed;
+	}
+
+	private void rehash(int capacity) {
+		IntColumn old = buckets;
+		buckets = old.create(capacity);
+		buckets.fill(EMPTY);
+		mask = capacity - 1;
+		for (int i = 0, length = old.length(); i < length; i++) {
+			int slot = old.get(i);
+			if (slot != EMPTY) {
+				int bucket = home(hashOf(slot));
+				while (buckets.get(bucket) != EMPTY)
+					bucket = nextBucket(bucket);
+				buckets.set(bucket, slot);
+			}
+		}
+	}
+}
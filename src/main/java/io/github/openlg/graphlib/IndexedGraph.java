@@ -0,0 +1,69 @@
+package io.github.openlg.graphlib;
+
+/**
+ * Read-only, int indexed view of the topology of a graph, used by the algorithms to traverse
+ * graphs with primitive arrays instead of maps keyed by node id.
+ *
+ * Every node has an index in 0 .. {@link #nodeBound()} - 1, indices of removed nodes may be unused
+ * (see {@link #containsIndex(int)}) and may be reused by later nodes, so indices are only stable while
+ * the graph is not modified.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public interface IndexedGraph {
+
+	/**
+	 * @return number of nodes in the graph
+	 */
+	int nodeCount();
+
+	/**
+	 * @return exclusive upper bound of the node indices
+	 */
+	int nodeBound();
+
+	/**
+	 * @param index node index
+	 * @return true if a node has the index
+	 */
+	boolean containsIndex(int index);
+
+	/**
+	 * @param nodeId node id
+	 * @return index of the node or -1 if the node is not in the graph
+	 */
+	int indexOf(String nodeId);
+
+	/**
+	 * @param index node index
+	 * @return id of the node
+	 */
+	String nodeIdAt(int index);
+
+	/**
+	 * @param index node index
+	 * @return number of distinct successors of the node
+	 */
+	int successorCount(int index);
+
+	/**
+	 * @param index node index
+	 * @param i position in 0 .. successorCount(index) - 1
+	 * @return index of the successor at position i
+	 */
+	int successorAt(int index, int i);
+
+	/**
+	 * @param index node index
+	 * @return number of distinct predecessors of the node
+	 */
+	int predecessorCount(int index);
+
+	/**
+	 * @param index node index
+	 * @param i position in 0 .. predecessorCount(index) - 1
+	 * @return index of the predecessor at position i
+	 */
+	int predecessorAt(int index, int i);
+}
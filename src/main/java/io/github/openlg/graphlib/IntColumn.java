@@ -0,0 +1,157 @@
+package io.github.openlg.graphlib;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Growable int array of the tables behind {@link GraphStore}, either a plain int[] or direct ByteBuffer
+ * segments outside the Java heap.
+ *
+ * Off heap the values live in buffers of 2^20 ints. A column shorter than that is one buffer of its own
+ * length, longer columns grow by appending buffers and never copy. The memory is freed when the column is
+ * garbage collected and counts against -XX:MaxDirectMemorySize.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class IntColumn implements Serializable {
+
+	private static final int SEGMENT_SHIFT = 20;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	/**
+	 * values on heap, null off heap
+	 */
+	private int[] values;
+
+	private transient ByteBuffer[] segments;
+	private transient int length;
+
+	IntColumn(int length, boolean offHeap) {
+		if (offHeap) {
+			segments = new ByteBuffer[0];
+			resize(length);
+		} else {
+			values = new int[length];
+		}
+	}
+
+	int get(int i) {
+		int[] values = this.values;
+		return values != null ? values[i] : segments[i >>> SEGMENT_SHIFT].getInt((i & SEGMENT_MASK) << 2);
+	}
+
+	void set(int i, int value) {
+		int[] values = this.values;
+		if (values != null)
+			values[i] = value;
+		else
+			segments[i >>> SEGMENT_SHIFT].putInt((i & SEGMENT_MASK) << 2, value);
+	}
+
+	int length() {
+		return values != null ? values.length : length;
+	}
+
+	/**
+	 * @return an empty column of the same kind
+	 */
+	IntColumn create(int length) {
+		return new IntColumn(length, values == null);
+	}
+
+	/**
+	 * Grow to at least length, keeping the values.
+	 * @param length new length
+	 */
+	void resize(int length) {
+		if (values != null) {
+			if (length > values.length)
+				values = Arrays.copyOf(values, length);
+			return;
+		}
+		if (length <= this.length)
+			return;
+		if (length <= SEGMENT_SIZE) {
+			// a single short segment is replaced, like an array
+			ByteBuffer segment = newSegment(length);
+			if (segments.length > 0)
+				segment.put(segments[0].duplicate().clear());
+			segments = new ByteBuffer[]{segment};
+			this.length = length;
+			return;
+		}
+		if (segments.length == 1 && this.length < SEGMENT_SIZE) {
+			ByteBuffer segment = newSegment(SEGMENT_SIZE);
+			segment.put(segments[0].duplicate().clear());
+			segments[0] = segment;
+		}
+		int count = (int) (((long) length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+		int old = segments.length;
+		segments = Arrays.copyOf(segments, count);
+		for (int i = old; i < count; i++)
+			segments[i] = newSegment(SEGMENT_SIZE);
+		this.length = (int) Math.min((long) count << SEGMENT_SHIFT, Integer.MAX_VALUE);
+	}
+
+	void fill(int value) {
+		if (values != null) {
+			Arrays.fill(values, value);
+		} else {
+			for (int i = 0; i < length; i++)
+				set(i, value);
+		}
+	}
+
+	/**
+	 * Copy values inside the column like System.arraycopy.
+	 */
+	void copy(int from, int to, int count) {
+		copyTo(from, this, to, count);
+	}
+
+	/**
+	 * Copy values into a column, which may be this one, like System.arraycopy.
+	 */
+	void copyTo(int from, IntColumn target, int to, int count) {
+		if (values != null && target.values != null) {
+			System.arraycopy(values, from, target.values, to, count);
+		} else if (target == this && from < to) {
+			for (int i = count - 1; i >= 0; i--)
+				set(to + i, get(from + i));
+		} else {
+			for (int i = 0; i < count; i++)
+				target.set(to + i, get(from + i));
+		}
+	}
+
+	private static ByteBuffer newSegment(int ints) {
+		return ByteBuffer.allocateDirect(ints << 2).order(ByteOrder.nativeOrder());
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		if (values == null) {
+			out.writeInt(length);
+			for (int i = 0; i < length; i++)
+				out.writeInt(get(i));
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (values == null) {
+			segments = new ByteBuffer[0];
+			int n = in.readInt();
+			resize(n);
+			for (int i = 0; i < n; i++)
+				set(i, in.readInt());
+		}
+	}
+}
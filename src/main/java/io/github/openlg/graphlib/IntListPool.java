@@ -0,0 +1,154 @@
+package io.github.openlg.graphlib;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Many growable int lists, one per node index, packed into a single int array.
+ * A list that outgrows its region is moved to the end of the pool, the pool is compacted
+ * once more than half of it is abandoned regions.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class IntListPool implements Serializable {
+
+	private IntColumn data;
+	private int top = 0;
+	private int garbage = 0;
+
+	private int[] start = new int[16];
+	private int[] size = new int[16];
+	private int[] capacity = new int[16];
+
+	/**
+	 * @param offHeap keep the values outside the Java heap, the per list bookkeeping stays on it
+	 */
+	IntListPool(boolean offHeap) {
+		data = new IntColumn(64, offHeap);
+	}
+
+	/**
+	 * Make room for the lists 0 .. lists - 1.
+	 * @param lists number of lists
+	 */
+	void ensureLists(int lists) {
+		if (lists > start.length) {
+			int length = Math.max(lists, start.length << 1);
+			start = Arrays.copyOf(start, length);
+			size = Arrays.copyOf(size, length);
+			capacity = Arrays.copyOf(capacity, length);
+		}
+	}
+
+	int size(int list) {
+		return size[list];
+	}
+
+	int get(int list, int i) {
+		return data.get(start[list] + i);
+	}
+
+	/**
+	 * @param list list
+	 * @param value value to append
+	 * @return position of value in the list
+	 */
+	int add(int list, int value) {
+		int pos = size[list];
+		if (pos == capacity[list])
+			grow(list);
+		data.set(start[list] + pos, value);
+		size[list] = pos + 1;
+		return pos;
+	}
+
+	/**
+	 * Remove the value at pos by moving the last value of the list into its place.
+	 * @param list list
+	 * @param pos position to remove
+	 * @return the value that moved into pos, or -1 if pos was the last position
+	 */
+	int removeAt(int list, int pos) {
+		int last = --size[list];
+		if (pos == last)
+			return -1;
+		int base = start[list];
+		int moved = data.get(base + last);
+		data.set(base + pos, moved);
+		return moved;
+	}
+
+	void clear(int list) {
+		if (start[list] + capacity[list] == top)
+			top = start[list];
+		else
+			garbage += capacity[list];
+		start[list] = 0;
+		size[list] = 0;
+		capacity[list] = 0;
+	}
+
+	/**
+	 * Make room for that many more values across all lists, so that reserved regions are carved from
+	 * the pool without copying it.
+	 * @param values number of values
+	 */
+	void ensureCapacity(int values) {
+		ensureData(top + values);
+	}
+
+	/**
+	 * Grow the region of list so that it holds at least minCapacity values without moving.
+	 * @param list list
+	 * @param minCapacity number of values
+	 */
+	void reserve(int list, int minCapacity) {
+		if (minCapacity > capacity[list])
+			grow(list, minCapacity);
+	}
+
+	private void grow(int list) {
+		int oldCapacity = capacity[list];
+		grow(list, oldCapacity < 2 ? 2 : oldCapacity + (oldCapacity >> 1));
+	}
+
+	private void grow(int list, int newCapacity) {
+		int oldCapacity = capacity[list];
+
+		if (oldCapacity > 0 && start[list] + oldCapacity == top) {
+			// last region in the pool, extend in place
+			ensureData(top + newCapacity - oldCapacity);
+			top += newCapacity - oldCapacity;
+		} else {
+			if (garbage > 1024 && garbage > top >> 1)
+				compact();
+			ensureData(top + newCapacity);
+			data.copy(start[list], top, size[list]);
+			garbage += oldCapacity;
+			start[list] = top;
+			top += newCapacity;
+		}
+		capacity[list] = newCapacity;
+	}
+
+	private void ensureData(int length) {
+		if (length > data.length())
+			data.resize(Math.max(length, data.length() + (data.length() >> 1)));
+	}
+
+	private void compact() {
+		IntColumn packed = data.create(Math.max(64, top - garbage + ((top - garbage) >> 1)));
+		int pos = 0;
+		for (int list = 0; list < start.length; list++) {
+			if (capacity[list] > 0) {
+				data.copyTo(start[list], packed, pos, size[list]);
+				start[list] = pos;
+				pos += capacity[list];
+			}
+		}
+		data = packed;
+		top = pos;
+		garbage = 0;
+	}
+}
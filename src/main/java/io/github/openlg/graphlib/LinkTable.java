@@ -0,0 +1,154 @@
+package io.github.openlg.graphlib;
+
+/**
+ * Distinct (source, target) node pairs of the graph. A link exists as long as at least one edge
+ * connects the pair, it takes the role of the old pred/sucs link counters and heads the chain of
+ * edges between the pair.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class LinkTable extends HashedSlots {
+
+	private final IntColumn source;
+	private final IntColumn target;
+	private final IntColumn count;
+	private final IntColumn firstEdge;
+
+	/**
+	 * position of the link in the successor list of source and the predecessor list of target
+	 */
+	private final IntColumn succPos;
+	private final IntColumn predPos;
+
+	private int free = -1;
+	private int bound = 0;
+
+	/**
+	 * @param offHeap keep the columns outside the Java heap
+	 */
+	LinkTable(boolean offHeap) {
+		super(offHeap);
+		source = new IntColumn(16, offHeap);
+		target = new IntColumn(16, offHeap);
+		count = new IntColumn(16, offHeap);
+		firstEdge = new IntColumn(16, offHeap);
+		succPos = new IntColumn(16, offHeap);
+		predPos = new IntColumn(16, offHeap);
+	}
+
+	@Override
+	protected int hashOf(int slot) {
+		return hash(source.get(slot), target.get(slot));
+	}
+
+	static int hash(int source, int target) {
+		return source * 31 + target;
+	}
+
+	/**
+	 * @param source source node index
+	 * @param target target node index
+	 * @return link between source and target or -1
+	 */
+	int find(int source, int target) {
+		for (int bucket = home(hash(source, target)); ; bucket = nextBucket(bucket)) {
+			int slot = slotAt(bucket);
+			if (slot == EMPTY || (this.source.get(slot) == source && this.target.get(slot) == target))
+				return slot;
+		}
+	}
+
+	int add(int source, int target) {
+		int slot;
+		if (free != -1) {
+			slot = free;
+			free = firstEdge.get(slot);
+		} else {
+			if (bound == this.source.length())
+				grow(bound << 1);
+			slot = bound++;
+		}
+		this.source.set(slot, source);
+		this.target.set(slot, target);
+		count.set(slot, 0);
+		firstEdge.set(slot, -1);
+		index(slot);
+		return slot;
+	}
+
+	void remove(int slot) {
+		unindex(slot);
+		source.set(slot, -1);
+		target.set(slot, -1);
+		firstEdge.set(slot, free);
+		free = slot;
+	}
+
+	int source(int slot) {
+		return source.get(slot);
+	}
+
+	int target(int slot) {
+		return target.get(slot);
+	}
+
+	int count(int slot) {
+		return count.get(slot);
+	}
+
+	int increment(int slot) {
+		int n = count.get(slot) + 1;
+		count.set(slot, n);
+		return n;
+	}
+
+	int decrement(int slot) {
+		int n = count.get(slot) - 1;
+		count.set(slot, n);
+		return n;
+	}
+
+	int firstEdge(int slot) {
+		return firstEdge.get(slot);
+	}
+
+	void setFirstEdge(int slot, int edge) {
+		firstEdge.set(slot, edge);
+	}
+
+	int succPos(int slot) {
+		return succPos.get(slot);
+	}
+
+	void setSuccPos(int slot, int pos) {
+		succPos.set(slot, pos);
+	}
+
+	int predPos(int slot) {
+		return predPos.get(slot);
+	}
+
+	void setPredPos(int slot, int pos) {
+		predPos.set(slot, pos);
+	}
+
+	/**
+	 * Grow the arrays and the hash index up front so that capacity entries can be added without resizing.
+	 * @param capacity expected number of entries
+	 */
+	void ensureCapacity(int capacity) {
+		if (capacity > this.source.length())
+			grow(capacity);
+		presize(capacity);
+	}
+
+	private void grow(int capacity) {
+		source.resize(capacity);
+		target.resize(capacity);
+		count.resize(capacity);
+		firstEdge.resize(capacity);
+		succPos.resize(capacity);
+		predPos.resize(capacity);
+	}
+}
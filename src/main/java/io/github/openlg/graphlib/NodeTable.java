@@ -0,0 +1,158 @@
+package io.github.openlg.graphlib;
+
+import java.util.Arrays;
+
+/**
+ * Interns node ids to dense int indices and keeps node data in parallel arrays.
+ * Indices of removed nodes are reused, insertion order is kept by an int linked list.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class NodeTable extends HashedSlots {
+
+	private String[] ids = new String[16];
+	private Object[] labels = new Object[16];
+
+	/**
+	 * insertion order links, next also chains the free slots
+	 */
+	private int[] next = new int[16];
+	private int[] prev = new int[16];
+
+	private int first = -1;
+	private int last = -1;
+	private int free = -1;
+	private int bound = 0;
+	private int size = 0;
+
+	@Override
+	protected int hashOf(int slot) {
+		return ids[slot].hashCode();
+	}
+
+	/**
+	 * @param id node id
+	 * @return index of the node or -1
+	 */
+	int indexOf(String id) {
+		for (int bucket = home(id.hashCode()); ; bucket = nextBucket(bucket)) {
+			int slot = slotAt(bucket);
+			if (slot == EMPTY || id.equals(ids[slot]))
+				return slot;
+		}
+	}
+
+	/**
+	 * Add a node that is not in the table yet.
+	 * @param id node id
+	 * @param label node data
+	 * @return index of the new node
+	 */
+	int add(String id, Object label) {
+		int slot;
+		if (free != -1) {
+			slot = free;
+			free = next[slot];
+		} else {
+			if (bound == ids.length)
+				grow(bound << 1);
+			slot = bound++;
+		}
+		ids[slot] = id;
+		labels[slot] = label;
+
+		next[slot] = -1;
+		prev[slot] = last;
+		if (last != -1)
+			next[last] = slot;
+		else
+			first = slot;
+		last = slot;
+
+		index(slot);
+		++size;
+		return slot;
+	}
+
+	void remove(int slot) {
+		unindex(slot);
+
+		int p = prev[slot];
+		int n = next[slot];
+		if (p != -1)
+			next[p] = n;
+		else
+			first = n;
+		if (n != -1)
+			prev[n] = p;
+		else
+			last = p;
+
+		ids[slot] = null;
+		labels[slot] = null;
+		prev[slot] = -1;
+		next[slot] = free;
+		free = slot;
+		--size;
+	}
+
+	boolean contains(int slot) {
+		return slot >= 0 && slot < bound && ids[slot] != null;
+	}
+
+	String id(int slot) {
+		return ids[slot];
+	}
+
+	Object label(int slot) {
+		return labels[slot];
+	}
+
+	void setLabel(int slot, Object label) {
+		labels[slot] = label;
+	}
+
+	/**
+	 * @return first node in insertion order or -1
+	 */
+	int first() {
+		return first;
+	}
+
+	/**
+	 * @param slot node index
+	 * @return node inserted after slot or -1
+	 */
+	int next(int slot) {
+		return next[slot];
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return exclusive upper bound of the node indices in use
+	 */
+	int bound() {
+		return bound;
+	}
+
+	/**
+	 * Grow the arrays and the hash index up front so that capacity entries can be added without resizing.
+	 * @param capacity expected number of entries
+	 */
+	void ensureCapacity(int capacity) {
+		if (capacity > ids.length)
+			grow(capacity);
+		presize(capacity);
+	}
+
+	private void grow(int capacity) {
+		ids = Arrays.copyOf(ids, capacity);
+		labels = Arrays.copyOf(labels, capacity);
+		next = Arrays.copyOf(next, capacity);
+		prev = Arrays.copyOf(prev, capacity);
+	}
+}
@@ -0,0 +1,261 @@
+package io.github.openlg.graphlib;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash array mapped trie. {@link #put} and {@link #remove} return a new map that shares all
+ * untouched nodes with this one, only the path from the root to the changed entry is copied.
+ *
+ * Every trie node consumes 5 bits of the hash and keeps its children in an array compacted by a 32 bit
+ * bitmap, a slot holds either a key and its value or null and a child node. Keys with equal hashes end up
+ * in a collision node. Keys and values must not be null.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class PersistentMap<K, V> {
+
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <K, V> PersistentMap<K, V> empty() {
+		return (PersistentMap<K, V>) EMPTY;
+	}
+
+	int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(K key) {
+		return root != null ? (V) root.find(key, hash(key), 0) : null;
+	}
+
+	PersistentMap<K, V> put(K key, V value) {
+		boolean[] added = new boolean[1];
+		Node node = (root != null ? root : BitmapNode.EMPTY).put(key, hash(key), 0, value, added);
+		if (node == root)
+			return this;
+		return new PersistentMap<>(node, added[0] ? size + 1 : size);
+	}
+
+	PersistentMap<K, V> remove(K key) {
+		if (root == null)
+			return this;
+		Node node = root.remove(key, hash(key), 0);
+		if (node == root)
+			return this;
+		return new PersistentMap<>(node, size - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	void forEach(BiConsumer<? super K, ? super V> action) {
+		if (root != null)
+			root.forEach((BiConsumer<Object, Object>) action);
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & 31);
+	}
+
+	private static Object[] insert(Object[] array, int at, Object key, Object value) {
+		Object[] copy = new Object[array.length + 2];
+		System.arraycopy(array, 0, copy, 0, at);
+		copy[at] = key;
+		copy[at + 1] = value;
+		System.arraycopy(array, at, copy, at + 2, array.length - at);
+		return copy;
+	}
+
+	private static Object[] delete(Object[] array, int at) {
+		Object[] copy = new Object[array.length - 2];
+		System.arraycopy(array, 0, copy, 0, at);
+		System.arraycopy(array, at + 2, copy, at, array.length - at - 2);
+		return copy;
+	}
+
+	private static Object[] replace(Object[] array, int at, Object value) {
+		Object[] copy = array.clone();
+		copy[at] = value;
+		return copy;
+	}
+
+	private abstract static class Node {
+
+		abstract Object find(Object key, int hash, int shift);
+
+		/**
+		 * @return this if nothing changed
+		 */
+		abstract Node put(Object key, int hash, int shift, Object value, boolean[] added);
+
+		/**
+		 * @return this if the key is not in the node, null if the node became empty
+		 */
+		abstract Node remove(Object key, int hash, int shift);
+
+		abstract void forEach(BiConsumer<Object, Object> action);
+	}
+
+	private static final class BitmapNode extends Node {
+
+		private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		private final int bitmap;
+		private final Object[] array;
+
+		private BitmapNode(int bitmap, Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1)) << 1;
+		}
+
+		@Override
+		Object find(Object key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0)
+				return null;
+			int i = index(bit);
+			Object k = array[i];
+			if (k == null)
+				return ((Node) array[i + 1]).find(key, hash, shift + 5);
+			return key.equals(k) ? array[i + 1] : null;
+		}
+
+		@Override
+		Node put(Object key, int hash, int shift, Object value, boolean[] added) {
+			int bit = bit(hash, shift);
+			int i = index(bit);
+			if ((bitmap & bit) == 0) {
+				added[0] = true;
+				return new BitmapNode(bitmap | bit, insert(array, i, key, value));
+			}
+			Object k = array[i];
+			Object v = array[i + 1];
+			if (k == null) {
+				Node child = ((Node) v).put(key, hash, shift + 5, value, added);
+				return child == v ? this : new BitmapNode(bitmap, replace(array, i + 1, child));
+			}
+			if (key.equals(k))
+				return v == value ? this : new BitmapNode(bitmap, replace(array, i + 1, value));
+
+			// two keys share the slot, push both one level down
+			added[0] = true;
+			Node child = pair(shift + 5, k, v, key, hash, value);
+			Object[] copy = array.clone();
+			copy[i] = null;
+			copy[i + 1] = child;
+			return new BitmapNode(bitmap, copy);
+		}
+
+		private static Node pair(int shift, Object k1, Object v1, Object k2, int h2, Object v2) {
+			int h1 = hash(k1);
+			if (h1 == h2)
+				return new CollisionNode(h1, new Object[]{k1, v1, k2, v2});
+			boolean[] ignored = new boolean[1];
+			return EMPTY.put(k1, h1, shift, v1, ignored).put(k2, h2, shift, v2, ignored);
+		}
+
+		@Override
+		Node remove(Object key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0)
+				return this;
+			int i = index(bit);
+			Object k = array[i];
+			if (k == null) {
+				Node child = ((Node) array[i + 1]).remove(key, hash, shift + 5);
+				if (child == array[i + 1])
+					return this;
+				if (child != null)
+					return new BitmapNode(bitmap, replace(array, i + 1, child));
+			} else if (!key.equals(k)) {
+				return this;
+			}
+			return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, delete(array, i));
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (array[i] == null)
+					((Node) array[i + 1]).forEach(action);
+				else
+					action.accept(array[i], array[i + 1]);
+			}
+		}
+	}
+
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+		private final Object[] array;
+
+		private CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i]))
+					return i;
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(Object key, int hash, int shift) {
+			int i = hash == this.hash ? indexOf(key) : -1;
+			return i != -1 ? array[i + 1] : null;
+		}
+
+		@Override
+		Node put(Object key, int hash, int shift, Object value, boolean[] added) {
+			if (hash != this.hash) {
+				// the new key differs at this level, nest the collision node below a bitmap node
+				return new BitmapNode(bit(this.hash, shift), new Object[]{null, this})
+						.put(key, hash, shift, value, added);
+			}
+			int i = indexOf(key);
+			if (i != -1)
+				return array[i + 1] == value ? this : new CollisionNode(hash, replace(array, i + 1, value));
+			added[0] = true;
+			Object[] copy = Arrays.copyOf(array, array.length + 2);
+			copy[array.length] = key;
+			copy[array.length + 1] = value;
+			return new CollisionNode(hash, copy);
+		}
+
+		@Override
+		Node remove(Object key, int hash, int shift) {
+			int i = hash == this.hash ? indexOf(key) : -1;
+			if (i == -1)
+				return this;
+			return array.length == 2 ? null : new CollisionNode(hash, delete(array, i));
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (int i = 0; i < array.length; i += 2)
+				action.accept(array[i], array[i + 1]);
+		}
+	}
+}
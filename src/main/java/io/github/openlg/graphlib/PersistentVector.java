@@ -0,0 +1,84 @@
+package io.github.openlg.graphlib;
+
+import java.util.Arrays;
+
+/**
+ * Immutable array mapped trie indexed by int. {@link #set}, {@link #append} and {@link #pop} copy the
+ * path from the root to the changed slot and share everything else with this vector.
+ *
+ * Every level holds up to 32 slots, arrays are only as long as their highest used slot so that
+ * short vectors stay small.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class PersistentVector<T> {
+
+	private static final Object[] NO_SLOTS = new Object[0];
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(NO_SLOTS, 0, 0);
+
+	private final Object[] root;
+	private final int shift;
+	private final int size;
+
+	private PersistentVector(Object[] root, int shift, int size) {
+		this.root = root;
+		this.shift = shift;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>) EMPTY;
+	}
+
+	int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	T get(int index) {
+		Object[] node = root;
+		for (int level = shift; level > 0; level -= 5)
+			node = (Object[]) node[(index >>> level) & 31];
+		return (T) node[index & 31];
+	}
+
+	/**
+	 * @param index position in 0 .. size() - 1
+	 */
+	PersistentVector<T> set(int index, T value) {
+		return new PersistentVector<>(set(root, shift, index, value), shift, size);
+	}
+
+	PersistentVector<T> append(T value) {
+		Object[] node = root;
+		int level = shift;
+		if (size == 1 << (shift + 5)) {
+			node = new Object[]{root};
+			level += 5;
+		}
+		return new PersistentVector<>(set(node, level, size, value), level, size + 1);
+	}
+
+	/**
+	 * @return vector without the last element
+	 */
+	PersistentVector<T> pop() {
+		if (size == 1)
+			return empty();
+		return new PersistentVector<>(set(root, shift, size - 1, null), shift, size - 1);
+	}
+
+	private static Object[] set(Object[] node, int level, int index, Object value) {
+		int slot = (index >>> level) & 31;
+		Object[] copy = Arrays.copyOf(node, Math.max(node.length, slot + 1));
+		if (level == 0) {
+			copy[slot] = value;
+		} else {
+			Object[] child = (Object[]) copy[slot];
+			copy[slot] = set(child != null ? child : NO_SLOTS, level - 5, index, value);
+		}
+		return copy;
+	}
+}
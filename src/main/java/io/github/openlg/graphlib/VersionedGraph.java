@@ -0,0 +1,143 @@
+package io.github.openlg.graphlib;
+
+/**
+ * A graph whose every change produces a new immutable {@link GraphSnapshot} that shares its structure
+ * with the previous one.
+ *
+ * {@link #snapshot()} returns the current version in O(1) without locking or copying. Readers can run
+ * long algorithms such as topsort or tarjan on a snapshot while writers continue, the snapshot never
+ * changes. Changes are serialized among writers and each costs O(log n) new trie nodes plus the
+ * changed records, readers never wait for them.
+ *
+ * Compound graphs are not supported.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class VersionedGraph<N, E> {
+
+	private volatile GraphSnapshot<N, E> current;
+
+	public VersionedGraph() {
+		this(true, false);
+	}
+
+	public VersionedGraph(boolean directed, boolean multigraph) {
+		current = new GraphSnapshot<>(directed, multigraph);
+	}
+
+	/**
+	 * @return the current version, unaffected by later changes
+	 */
+	public GraphSnapshot<N, E> snapshot() {
+		return current;
+	}
+
+	public boolean isDirected() {
+		return current.isDirected();
+	}
+
+	public boolean isMultiGraph() {
+		return current.isMultiGraph();
+	}
+
+	public long version() {
+		return current.version();
+	}
+
+	public int nodeCount() {
+		return current.nodeCount();
+	}
+
+	public int edgeCount() {
+		return current.edgeCount();
+	}
+
+	public N getNode(String nodeId) {
+		return current.getNode(nodeId);
+	}
+
+	public boolean hasNode(String nodeId) {
+		return current.hasNode(nodeId);
+	}
+
+	public E getEdge(String sourceId, String targetId) {
+		return current.getEdge(sourceId, targetId);
+	}
+
+	public E getEdge(String sourceId, String targetId, String name) {
+		return current.getEdge(sourceId, targetId, name);
+	}
+
+	public boolean hasEdge(String sourceId, String targetId) {
+		return current.hasEdge(sourceId, targetId);
+	}
+
+	public boolean hasEdge(String sourceId, String targetId, String name) {
+		return current.hasEdge(sourceId, targetId, name);
+	}
+
+	public synchronized VersionedGraph<N, E> setNode(String id) {
+		current = current.setNode(id, null, false);
+		return this;
+	}
+
+	public synchronized VersionedGraph<N, E> setNode(String id, N n) {
+		current = current.setNode(id, n, true);
+		return this;
+	}
+
+	public synchronized VersionedGraph<N, E> removeNode(String id) {
+		current = current.removeNode(id);
+		return this;
+	}
+
+	public VersionedGraph<N, E> setEdge(String sourceId, String targetId) {
+		return setEdge(sourceId, targetId, null, null);
+	}
+
+	public VersionedGraph<N, E> setEdge(String sourceId, String targetId, E e) {
+		return setEdge(sourceId, targetId, e, null);
+	}
+
+	public VersionedGraph<N, E> setEdge(Edge edge) {
+		return setEdge(edge.getSource(), edge.getTarget(), null, edge.getName());
+	}
+
+	public VersionedGraph<N, E> setEdge(Edge edge, E e) {
+		return setEdge(edge.getSource(), edge.getTarget(), e, edge.getName());
+	}
+
+	/**
+	 * Creates the edge and missing nodes, or updates the value of an existing edge.
+	 *
+	 * @param sourceId source node id
+	 * @param targetId target node id
+	 * @param e edge data
+	 * @param name edge name
+	 * @return current graph
+	 */
+	public synchronized VersionedGraph<N, E> setEdge(String sourceId, String targetId, E e, String name) {
+		current = current.setEdge(sourceId, targetId, e, name);
+		return this;
+	}
+
+	public VersionedGraph<N, E> setPath(String... nodeIds) {
+		for (int i = 1; i < nodeIds.length; i++)
+			setEdge(nodeIds[i - 1], nodeIds[i]);
+		return this;
+	}
+
+	public VersionedGraph<N, E> removeEdge(Edge edge) {
+		return removeEdge(edge.getSource(), edge.getTarget(), edge.getName());
+	}
+
+	public VersionedGraph<N, E> removeEdge(String sourceId, String targetId) {
+		return removeEdge(sourceId, targetId, null);
+	}
+
+	public synchronized VersionedGraph<N, E> removeEdge(String sourceId, String targetId, String name) {
+		current = current.removeEdge(sourceId, targetId, name);
+		return this;
+	}
+}
@@ -1,11 +1,15 @@
 package io.github.openlg.graphlib.algorithms;
 
+import io.github.openlg.graphlib.Edge;
 import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Finds all connected components in a graph and returns an array of these components.
@@ -19,42 +23,167 @@ public class Components {
     /**
      * Finds all connected components in a graph and returns an array of these components. Each component is itself an array that contains the ids of nodes in the component.
      *
-     * This function takes O(|V|) time.
+     * Every component is copied into a new graph, use {@link #componentSets(IndexedGraph)} or
+     * {@link #componentLabels(IndexedGraph)} when only the membership is needed.
+     *
+     * This function takes O(|V| + |E|) time.
      * @param graph graph
      * @param <N>   node data type
      * @param <E>   edge data type
      * @return all connected components
      */
     public <N, E> List<Graph<N, E>> getComponents(Graph<N, E> graph) {
+        List<Set<String>> components = componentSets(graph);
+        List<Graph<N, E>> graphs = new ArrayList<>(components.size());
+        for (Set<String> component : components) {
+            graphs.add(subgraph(graph, component));
+        }
+        return graphs;
+    }
 
-        Map<String, Boolean> visited = new HashMap<>();
-        List<Graph<N, E>> graphs = new ArrayList<>();
+    /**
+     * Node ids of every connected component, edge directions are ignored.
+     * Components are ordered by their first node, nodes within a component keep the graph order.
+     *
+     * @param graph graph
+     * @return all connected components
+     */
+    public List<Set<String>> componentSets(IndexedGraph graph) {
+        return componentSets(graph, componentLabels(graph));
+    }
 
-        graph.getNodes().forEach(nodeId -> {
-            Graph<N, E> component = new Graph<>();
-            findComponent(visited, graph, nodeId, component);
-            if (component.nodeCount() > 0) {
-                graphs.add(component);
+    static List<Set<String>> componentSets(IndexedGraph graph, int[] labels) {
+        List<Set<String>> components = new ArrayList<>();
+        for (int node : nodeOrder(graph)) {
+            int label = labels[node];
+            if (label == components.size()) {
+                components.add(new LinkedHashSet<>());
             }
-        });
-        return graphs;
+            components.get(label).add(graph.nodeIdAt(node));
+        }
+        return components;
+    }
+
+    /**
+     * Labels every node with the number of its connected component, using a disjoint-set forest with
+     * path compression and union by rank. Components are numbered by their first node in graph order.
+     * Takes O(|V| + |E| α(|V|)) time and two ints per node index.
+     *
+     * @param graph graph
+     * @return component number by node index, -1 for unused indices
+     */
+    public int[] componentLabels(IndexedGraph graph) {
+        int bound = graph.nodeBound();
+        int[] parent = new int[bound];
+        int[] rank = new int[bound];
+        for (int node = 0; node < bound; node++) {
+            parent[node] = node;
+        }
+
+        for (int node = 0; node < bound; node++) {
+            if (!graph.containsIndex(node)) {
+                continue;
+            }
+            for (int i = 0, successors = graph.successorCount(node); i < successors; i++) {
+                int a = find(parent, node);
+                int b = find(parent, graph.successorAt(node, i));
+                if (a == b) {
+                    continue;
+                }
+                if (rank[a] < rank[b]) {
+                    parent[a] = b;
+                } else if (rank[a] > rank[b]) {
+                    parent[b] = a;
+                } else {
+                    parent[b] = a;
+                    rank[a]++;
+                }
+            }
+        }
+
+        for (int node = 0; node < bound; node++) {
+            parent[node] = find(parent, node);
+        }
+        return label(graph, parent);
     }
 
-    private <N, E> void findComponent(Map<String, Boolean> visited, Graph<N, E> graph, String nodeId, Graph<N, E> component) {
-        if (visited.containsKey(nodeId))
-            return;
-        visited.put(nodeId, true);
+    /**
+     * Turns a fully compressed forest (every node points at its root) into component numbers ordered by
+     * the first node of each component in graph order.
+     */
+    static int[] label(IndexedGraph graph, int[] roots) {
+        int[] labels = new int[roots.length];
+        int[] rootLabel = new int[roots.length];
+        Arrays.fill(labels, -1);
+        Arrays.fill(rootLabel, -1);
+        int components = 0;
+        for (int node : nodeOrder(graph)) {
+            int root = roots[node];
+            if (rootLabel[root] == -1) {
+                rootLabel[root] = components++;
+            }
+            labels[node] = rootLabel[root];
+        }
+        return labels;
+    }
 
-        component.setNode(nodeId, graph.getNode(nodeId));
+    /**
+     * Copies the given nodes of a graph with their labels and every edge between them, including named
+     * multigraph edges. The copy has the same directed and multigraph flags as the graph.
+     *
+     * @param graph graph
+     * @param nodeIds nodes to copy, usually one of {@link #componentSets(IndexedGraph)}
+     * @param <N>   node data type
+     * @param <E>   edge data type
+     * @return new graph with the nodes
+     */
+    public <N, E> Graph<N, E> subgraph(Graph<N, E> graph, Collection<String> nodeIds) {
+        Graph<N, E> subgraph = new Graph<>(graph.isDirected(), graph.isMultiGraph(), false);
+        for (String nodeId : nodeIds) {
+            subgraph.setNode(nodeId, graph.getNode(nodeId));
+        }
+        for (String nodeId : nodeIds) {
+            for (Edge edge : graph.outEdges(nodeId)) {
+                if (subgraph.hasNode(edge.getTarget())) {
+                    subgraph.setEdge(edge, graph.getEdge(edge));
+                }
+            }
+        }
+        return subgraph;
+    }
+
+    private static int find(int[] parent, int node) {
+        int root = node;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[node] != root) {
+            int next = parent[node];
+            parent[node] = root;
+            node = next;
+        }
+        return root;
+    }
 
-        graph.successors(nodeId).forEach(successor -> {
-            findComponent(visited, graph, successor, component);
-            component.setEdge(nodeId, successor, graph.getEdge(nodeId, successor));
-        });
-        graph.predecessors(nodeId).forEach(predecessor -> {
-            findComponent(visited, graph, predecessor, component);
-            component.setEdge(predecessor, nodeId, graph.getEdge(predecessor, nodeId));
-        });
+    /**
+     * Node indices in insertion order for a {@link Graph}, whose indices of removed nodes are reused,
+     * and in index order otherwise.
+     */
+    static int[] nodeOrder(IndexedGraph graph) {
+        int[] order = new int[graph.nodeCount()];
+        int count = 0;
+        if (graph instanceof Graph) {
+            for (String nodeId : ((Graph<?, ?>) graph).getNodes()) {
+                order[count++] = graph.indexOf(nodeId);
+            }
+        } else {
+            for (int node = 0, bound = graph.nodeBound(); node < bound; node++) {
+                if (graph.containsIndex(node)) {
+                    order[count++] = node;
+                }
+            }
+        }
+        return order;
     }
 
 }
@@ -0,0 +1,220 @@
+package io.github.openlg.graphlib.algorithms;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IllegalOperationException;
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shortest and longest weighted paths in a directed acyclic graph in O(|V| + |E|) time.
+ *
+ * Nodes are visited once in the order of {@link Topsort#sort(IndexedGraph, Topsort.Order)} and relax their out
+ * edges, so every node is final before its successors are visited. Weights may be negative, parallel edges of
+ * a multigraph count with their smallest weight for shortest and their largest weight for longest paths.
+ * A graph with a cycle throws {@link Topsort.CycleException}.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class DagPaths {
+
+    /**
+     * Shortest paths from source.
+     *
+     * @param graph directed acyclic graph
+     * @param source source node id
+     * @param weight weight of an edge value
+     * @param <E> edge value type
+     * @return distances and predecessors, Double.POSITIVE_INFINITY for nodes not reachable from source
+     */
+    public <E> Paths shortest(Graph<?, E> graph, String source, ToDoubleFunction<? super E> weight) {
+        return run(graph, source, weight, false);
+    }
+
+    /**
+     * Longest paths from source.
+     *
+     * @param graph directed acyclic graph
+     * @param source source node id
+     * @param weight weight of an edge value
+     * @param <E> edge value type
+     * @return distances and predecessors, Double.NEGATIVE_INFINITY for nodes not reachable from source
+     */
+    public <E> Paths longest(Graph<?, E> graph, String source, ToDoubleFunction<? super E> weight) {
+        return run(graph, source, weight, true);
+    }
+
+    /**
+     * Longest paths from any source, nodes without predecessors start at 0. With edge weights as durations
+     * this is the earliest start time of every node.
+     *
+     * @param graph directed acyclic graph
+     * @param weight weight of an edge value
+     * @param <E> edge value type
+     * @return distances and predecessors
+     */
+    public <E> Paths longest(Graph<?, E> graph, ToDoubleFunction<? super E> weight) {
+        return run(graph, null, weight, true);
+    }
+
+    /**
+     * A longest path of the graph, ending at the node with the largest earliest start time.
+     *
+     * @param graph directed acyclic graph
+     * @param weight weight of an edge value
+     * @param <E> edge value type
+     * @return node ids along the path, empty for an empty graph
+     */
+    public <E> List<String> criticalPath(Graph<?, E> graph, ToDoubleFunction<? super E> weight) {
+        Paths paths = longest(graph, weight);
+        int end = -1;
+        for (int node = 0; node < paths.distance.length; node++) {
+            if (graph.containsIndex(node) && (end == -1 || paths.distance[node] > paths.distance[end])) {
+                end = node;
+            }
+        }
+        return end == -1 ? Collections.emptyList() : paths.path(end);
+    }
+
+    private <E> Paths run(Graph<?, E> graph, String source, ToDoubleFunction<? super E> weight, boolean longest) {
+        if (!graph.isDirected()) {
+            throw new IllegalOperationException("DAG paths need a directed graph");
+        }
+        int start = -1;
+        if (source != null) {
+            start = graph.indexOf(source);
+            if (start == -1) {
+                throw new IllegalArgumentException("Node " + source + " is not in the graph");
+            }
+        }
+        int[] order = new Topsort().sort(graph, Topsort.Order.FIFO);
+
+        int bound = graph.nodeBound();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] distance = new double[bound];
+        int[] predecessor = new int[bound];
+        Arrays.fill(distance, unreached);
+        Arrays.fill(predecessor, -1);
+        if (start != -1) {
+            distance[start] = 0;
+        } else {
+            for (int node : order) {
+                if (graph.predecessorCount(node) == 0) {
+                    distance[node] = 0;
+                }
+            }
+        }
+
+        Relax<E> relax = new Relax<>(graph, weight, longest, distance, predecessor);
+        for (int node : order) {
+            if (distance[node] != unreached) {
+                relax.node = node;
+                graph.forEachOutEdge(node, relax);
+            }
+        }
+        return new Paths(graph, distance, predecessor);
+    }
+
+    /**
+     * Relaxes the out edges of one node, reused for all nodes.
+     */
+    private static final class Relax<E> implements ObjIntConsumer<E> {
+        private final IndexedGraph graph;
+        private final ToDoubleFunction<? super E> weight;
+        private final boolean longest;
+        private final double[] distance;
+        private final int[] predecessor;
+        private int node;
+
+        private Relax(IndexedGraph graph, ToDoubleFunction<? super E> weight, boolean longest, double[] distance,
+                      int[] predecessor) {
+            this.graph = graph;
+            this.weight = weight;
+            this.longest = longest;
+            this.distance = distance;
+            this.predecessor = predecessor;
+        }
+
+        @Override
+        public void accept(E value, int i) {
+            int next = graph.successorAt(node, i);
+            double candidate = distance[node] + weight.applyAsDouble(value);
+            if (longest ? candidate > distance[next] : candidate < distance[next]) {
+                distance[next] = candidate;
+                predecessor[next] = node;
+            }
+        }
+    }
+
+    /**
+     * Result of a DAG path search in arrays by node index.
+     */
+    public static final class Paths {
+        private final IndexedGraph graph;
+        private final double[] distance;
+        private final int[] predecessor;
+
+        private Paths(IndexedGraph graph, double[] distance, int[] predecessor) {
+            this.graph = graph;
+            this.distance = distance;
+            this.predecessor = predecessor;
+        }
+
+        /**
+         * @return path length by node index, infinite for nodes not reached and unused indices, not copied
+         */
+        public double[] distances() {
+            return distance;
+        }
+
+        /**
+         * @return predecessor on the path by node index, -1 for start nodes, nodes not reached and unused
+         * indices, not copied
+         */
+        public int[] predecessors() {
+            return predecessor;
+        }
+
+        /**
+         * @param nodeId node id
+         * @return path length to the node
+         */
+        public double distance(String nodeId) {
+            return distance[index(nodeId)];
+        }
+
+        /**
+         * @param target target node id
+         * @return node ids from the start of the path to target, empty if target was not reached
+         */
+        public List<String> path(String target) {
+            return path(index(target));
+        }
+
+        private List<String> path(int target) {
+            if (Double.isInfinite(distance[target])) {
+                return Collections.emptyList();
+            }
+            List<String> path = new ArrayList<>();
+            for (int node = target; node != -1; node = predecessor[node]) {
+                path.add(graph.nodeIdAt(node));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        private int index(String nodeId) {
+            int index = graph.indexOf(nodeId);
+            if (index == -1) {
+                throw new IllegalArgumentException("Node " + nodeId + " is not in the graph");
+            }
+            return index;
+        }
+    }
+}
@@ -23,7 +23,8 @@ public class FindCycles {
      * @return returns all nodes that are part of a cycle
      */
     public <N, E> List<List<String>> findCycles(Graph<N, E> graph) {
-        return new Tarjan().tarjan(graph)
+        // graph.tarjan() reads the maintained components when the graph tracks them
+        return graph.tarjan()
                 .stream()
                 .filter(list -> list.size() > 1 || (list.size() == 1 && graph.hasEdge(list.get(0), list.get(0))))
                 .collect(Collectors.toList());
@@ -1,6 +1,9 @@
 package io.github.openlg.graphlib.algorithms;
 
 import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.util.Arrays;
 
 /**
  * @author lg&lt;lirufei0808@gmail.com&gt;
@@ -8,6 +11,10 @@ import io.github.openlg.graphlib.Graph;
  */
 public class IsAcyclic {
 
+    private static final byte WHITE = 0;
+    private static final byte GRAY = 1;
+    private static final byte BLACK = 2;
+
     /**
      * Given a Graph, g, this function returns true if the
      * graph has no cycles and returns false if it does.
@@ -19,10 +26,57 @@ public class IsAcyclic {
      * @return is acyclic
      */
     public <N, E> boolean isAcyclic(Graph<N, E> graph) {
-        try {
-            new Topsort().topsort(graph);
-        } catch (Topsort.CycleException e) {
-            return false;
+        return isAcyclic((IndexedGraph) graph);
+    }
+
+    /**
+     * Iterative three-color depth first search: a successor that is still on the search path (gray) closes
+     * a cycle and the search stops there. Needs a byte per node index, a stack of at most |V| + |E| ints,
+     * and never throws.
+     *
+     * @param graph directed graph
+     * @return is acyclic
+     */
+    public boolean isAcyclic(IndexedGraph graph) {
+        int bound = graph.nodeBound();
+        byte[] color = new byte[bound];
+        int[] stack = new int[Math.max(16, bound)];
+
+        for (int root = 0; root < bound; root++) {
+            if (color[root] != WHITE || !graph.containsIndex(root)) {
+                continue;
+            }
+
+            // the successors of a node are scanned in one go and pushed above its marker (~node),
+            // so gray nodes are exactly the nodes whose marker is still on the stack
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int node = stack[--top];
+                if (node < 0) {
+                    color[~node] = BLACK;
+                    continue;
+                }
+                if (color[node] != WHITE) {
+                    continue;
+                }
+
+                color[node] = GRAY;
+                int successors = graph.successorCount(node);
+                if (top + successors + 1 > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + successors + 1));
+                }
+                stack[top++] = ~node;
+                for (int i = 0; i < successors; i++) {
+                    int successor = graph.successorAt(node, i);
+                    if (color[successor] == GRAY) {
+                        return false;
+                    }
+                    if (color[successor] == WHITE) {
+                        stack[top++] = successor;
+                    }
+                }
+            }
         }
         return true;
     }
@@ -0,0 +1,202 @@
+package io.github.openlg.graphlib.algorithms;
+
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Multi-threaded connected components for large graphs, following the Afforest algorithm
+ * (Sutton, Ben-Nun, Barak 2018) on a lock-free union-find.
+ *
+ * Every node starts as its own tree in an {@link AtomicIntegerArray}, trees are linked with CAS so that the
+ * larger root always points at the smaller one. The first two successors of every node are linked first,
+ * which usually joins most of the graph into one component; that component is then found by sampling and
+ * its nodes skip the remaining edges. Edge directions are ignored.
+ *
+ * The result is the same as {@link Components#componentLabels(IndexedGraph)}.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class ParallelComponents {
+
+    /**
+     * Node index ranges smaller than this are processed by one task.
+     */
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Successors linked by every node before the largest component is sampled.
+     */
+    private static final int NEIGHBOR_ROUNDS = 2;
+
+    private static final int SAMPLES = 1024;
+
+    /**
+     * Same as {@link #componentLabels(IndexedGraph, ForkJoinPool)} on the common ForkJoinPool.
+     *
+     * @param graph graph, must not be modified during the call
+     * @return component number by node index, -1 for unused indices
+     */
+    public int[] componentLabels(IndexedGraph graph) {
+        return componentLabels(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Labels every node with the number of its connected component, components are numbered by their
+     * first node in graph order. The parallelism is the parallelism of the pool.
+     *
+     * @param graph graph, must not be modified during the call
+     * @param pool pool that runs the linking
+     * @return component number by node index, -1 for unused indices
+     */
+    public int[] componentLabels(IndexedGraph graph, ForkJoinPool pool) {
+        int bound = graph.nodeBound();
+        AtomicIntegerArray parent = new AtomicIntegerArray(bound);
+        for (int node = 0; node < bound; node++) {
+            parent.set(node, node);
+        }
+
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            pool.invoke(new RangeAction(0, bound, node -> {
+                if (graph.containsIndex(node) && graph.successorCount(node) > r) {
+                    link(parent, node, graph.successorAt(node, r));
+                }
+            }));
+            pool.invoke(new RangeAction(0, bound, node -> compress(parent, node)));
+        }
+
+        int largest = sampleLargest(graph, parent);
+        pool.invoke(new RangeAction(0, bound, node -> {
+            if (!graph.containsIndex(node) || parent.get(node) == largest) {
+                return;
+            }
+            // nodes of the largest component skip their edges, so edges into them are linked from here
+            for (int i = NEIGHBOR_ROUNDS, successors = graph.successorCount(node); i < successors; i++) {
+                link(parent, node, graph.successorAt(node, i));
+            }
+            for (int i = 0, predecessors = graph.predecessorCount(node); i < predecessors; i++) {
+                link(parent, node, graph.predecessorAt(node, i));
+            }
+        }));
+        pool.invoke(new RangeAction(0, bound, node -> compress(parent, node)));
+
+        int[] roots = new int[bound];
+        for (int node = 0; node < bound; node++) {
+            roots[node] = parent.get(node);
+        }
+        return Components.label(graph, roots);
+    }
+
+    /**
+     * Node ids of every connected component, ordered like {@link Components#componentSets(IndexedGraph)}.
+     *
+     * @param graph graph, must not be modified during the call
+     * @param pool pool that runs the linking
+     * @return all connected components
+     */
+    public List<Set<String>> componentSets(IndexedGraph graph, ForkJoinPool pool) {
+        return Components.componentSets(graph, componentLabels(graph, pool));
+    }
+
+    private static void link(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            int high = Math.max(a, b);
+            int low = Math.min(a, b);
+            // only a root may be relinked; if another thread got there first, retry from the new roots
+            if (parent.compareAndSet(high, high, low)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Find with path halving, a lost CAS only leaves a longer path behind.
+     */
+    private static int find(AtomicIntegerArray parent, int node) {
+        while (true) {
+            int p = parent.get(node);
+            if (p == node) {
+                return node;
+            }
+            int grandparent = parent.get(p);
+            if (p == grandparent) {
+                return p;
+            }
+            parent.weakCompareAndSetPlain(node, p, grandparent);
+            node = grandparent;
+        }
+    }
+
+    private static void compress(AtomicIntegerArray parent, int node) {
+        int root = find(parent, node);
+        if (parent.get(node) != root) {
+            parent.set(node, root);
+        }
+    }
+
+    private static int sampleLargest(IndexedGraph graph, AtomicIntegerArray parent) {
+        int bound = graph.nodeBound();
+        if (bound == 0) {
+            return -1;
+        }
+        Random random = new Random(bound);
+        Map<Integer, Integer> counts = new HashMap<>();
+        int largest = -1;
+        int largestCount = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int node = random.nextInt(bound);
+            if (!graph.containsIndex(node)) {
+                continue;
+            }
+            int root = parent.get(node);
+            int count = counts.merge(root, 1, Integer::sum);
+            if (count > largestCount) {
+                largest = root;
+                largestCount = count;
+            }
+        }
+        return largest;
+    }
+
+    private interface NodeAction {
+        void apply(int node);
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final NodeAction action;
+
+        private RangeAction(int from, int to, NodeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeAction(from, middle, action), new RangeAction(middle, to, action));
+                return;
+            }
+            for (int node = from; node < to; node++) {
+                action.apply(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.openlg.graphlib.algorithms;
+
+import io.github.openlg.graphlib.CsrGraph;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Point to point reachability with a bidirectional breadth first search: forward from the source over
+ * successors and backward from the target over predecessors, one level at a time on the side with the smaller
+ * frontier, until the two searches meet. On graphs where most nodes reach each other this visits roughly the
+ * square root of the nodes a one sided search would.
+ *
+ * The visited sets are bitsets and the frontiers are int arrays kept by the instance, grown to the largest
+ * graph seen and cleared through the visited nodes only, so a query allocates nothing. An instance must not be
+ * used by several threads at once. Edges of an undirected {@link Graph} or {@link CsrGraph} are followed both
+ * ways, any other {@link IndexedGraph} is taken as directed.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class Reachability {
+
+    private long[] forwardSeen = new long[0];
+    private long[] backwardSeen = new long[0];
+    private int[] forwardQueue = new int[0];
+    private int[] backwardQueue = new int[0];
+
+    /**
+     * @param graph graph, must not be modified during the call
+     * @param from source node id
+     * @param to target node id
+     * @return true if there is a path from source to target, a node always reaches itself
+     */
+    public boolean canReach(IndexedGraph graph, String from, String to) {
+        return canReach(graph, from, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param graph graph, must not be modified during the call
+     * @param from source node id
+     * @param to target node id
+     * @param maxDepth largest number of edges on the path
+     * @return true if there is a path from source to target with at most maxDepth edges
+     */
+    public boolean canReach(IndexedGraph graph, String from, String to, int maxDepth) {
+        return canReach(graph, index(graph, from), index(graph, to), maxDepth);
+    }
+
+    /**
+     * Same as {@link #canReach(IndexedGraph, String, String, int)} on node indices.
+     *
+     * @param graph graph, must not be modified during the call
+     * @param from source node index
+     * @param to target node index
+     * @param maxDepth largest number of edges on the path
+     * @return true if there is a path from source to target with at most maxDepth edges
+     */
+    public boolean canReach(IndexedGraph graph, int from, int to, int maxDepth) {
+        if (from == to) {
+            return true;
+        }
+        boolean undirected = isUndirected(graph);
+        ensureCapacity(graph.nodeBound());
+        long[] forwardSeen = this.forwardSeen;
+        long[] backwardSeen = this.backwardSeen;
+        int[] forwardQueue = this.forwardQueue;
+        int[] backwardQueue = this.backwardQueue;
+
+        // each queue holds all nodes its side has seen, the current level is [head, tail)
+        forwardQueue[0] = from;
+        set(forwardSeen, from);
+        backwardQueue[0] = to;
+        set(backwardSeen, to);
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+        try {
+            for (long depth = 0; depth < maxDepth; depth++) {
+                if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                    int end = forwardTail;
+                    for (; forwardHead < end; forwardHead++) {
+                        int node = forwardQueue[forwardHead];
+                        for (int i = 0, count = graph.successorCount(node); i < count; i++) {
+                            int next = graph.successorAt(node, i);
+                            if (get(backwardSeen, next)) {
+                                return true;
+                            }
+                            if (!get(forwardSeen, next)) {
+                                set(forwardSeen, next);
+                                forwardQueue[forwardTail++] = next;
+                            }
+                        }
+                        if (undirected) {
+                            for (int i = 0, count = graph.predecessorCount(node); i < count; i++) {
+                                int next = graph.predecessorAt(node, i);
+                                if (get(backwardSeen, next)) {
+                                    return true;
+                                }
+                                if (!get(forwardSeen, next)) {
+                                    set(forwardSeen, next);
+                                    forwardQueue[forwardTail++] = next;
+                                }
+                            }
+                        }
+                    }
+                    if (forwardHead == forwardTail) {
+                        return false;
+                    }
+                } else {
+                    int end = backwardTail;
+                    for (; backwardHead < end; backwardHead++) {
+                        int node = backwardQueue[backwardHead];
+                        for (int i = 0, count = graph.predecessorCount(node); i < count; i++) {
+                            int next = graph.predecessorAt(node, i);
+                            if (get(forwardSeen, next)) {
+                                return true;
+                            }
+                            if (!get(backwardSeen, next)) {
+                                set(backwardSeen, next);
+                                backwardQueue[backwardTail++] = next;
+                            }
+                        }
+                        if (undirected) {
+                            for (int i = 0, count = graph.successorCount(node); i < count; i++) {
+                                int next = graph.successorAt(node, i);
+                                if (get(forwardSeen, next)) {
+                                    return true;
+                                }
+                                if (!get(backwardSeen, next)) {
+                                    set(backwardSeen, next);
+                                    backwardQueue[backwardTail++] = next;
+                                }
+                            }
+                        }
+                    }
+                    if (backwardHead == backwardTail) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            for (int i = 0; i < forwardTail; i++) {
+                clear(forwardSeen, forwardQueue[i]);
+            }
+            for (int i = 0; i < backwardTail; i++) {
+                clear(backwardSeen, backwardQueue[i]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int bound) {
+        if (forwardQueue.length < bound) {
+            forwardQueue = new int[bound];
+            backwardQueue = new int[bound];
+            forwardSeen = Arrays.copyOf(forwardSeen, (bound + 63) >>> 6);
+            backwardSeen = Arrays.copyOf(backwardSeen, forwardSeen.length);
+        }
+    }
+
+    private static boolean isUndirected(IndexedGraph graph) {
+        if (graph instanceof Graph) {
+            return !((Graph<?, ?>) graph).isDirected();
+        }
+        if (graph instanceof CsrGraph) {
+            return !((CsrGraph<?, ?>) graph).isDirected();
+        }
+        return false;
+    }
+
+    private static int index(IndexedGraph graph, String nodeId) {
+        int index = graph.indexOf(nodeId);
+        if (index == -1) {
+            throw new IllegalArgumentException("Node " + nodeId + " is not in the graph");
+        }
+        return index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
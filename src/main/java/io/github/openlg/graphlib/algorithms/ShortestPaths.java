@@ -0,0 +1,341 @@
+package io.github.openlg.graphlib.algorithms;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single source shortest paths with Dijkstra's algorithm and point to point queries with A*, on non negative
+ * edge weights.
+ *
+ * The constructor copies the topology and the weights into arrays in compressed sparse row form, parallel edges
+ * of a multigraph keep their smallest weight and undirected graphs get both directions. Queries run on a
+ * d-ary heap of node indices that is keyed by a primitive array and updates the position of a node in place
+ * when its distance decreases, so no entry is boxed or inserted twice. Point to point queries stop as soon as
+ * the target is settled and only reset the nodes they reached, which keeps repeated queries on large graphs
+ * proportional to the searched area.
+ *
+ * An instance reuses its work arrays and must not be queried from several threads at once. Later changes to
+ * the graph are not seen.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class ShortestPaths {
+
+    /**
+     * Children per heap node, 4 keeps siblings in one cache line and halves the depth of a binary heap.
+     */
+    private static final int ARITY = 4;
+
+    private final IndexedGraph graph;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private final double[] distance;
+    private final int[] parent;
+    /**
+     * query number that last reached a node, distance and parent of a node are only valid for the same query
+     */
+    private final int[] reached;
+    private int query = 0;
+
+    private final Heap heap;
+
+    /**
+     * @param graph graph
+     * @param weight weight of an edge value, must not be negative
+     * @param <E> edge value type
+     * @throws IllegalArgumentException if a weight is negative or NaN
+     */
+    public <E> ShortestPaths(Graph<?, E> graph, ToDoubleFunction<? super E> weight) {
+        this.graph = graph;
+        boolean undirected = !graph.isDirected();
+        int bound = graph.nodeBound();
+        offsets = new int[bound + 1];
+        for (int node = 0; node < bound; node++) {
+            int degree = 0;
+            if (graph.containsIndex(node)) {
+                degree = graph.successorCount(node) + (undirected ? graph.predecessorCount(node) : 0);
+            }
+            offsets[node + 1] = offsets[node] + degree;
+        }
+        targets = new int[offsets[bound]];
+        weights = new double[targets.length];
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
+        for (int node = 0; node < bound; node++) {
+            if (!graph.containsIndex(node)) {
+                continue;
+            }
+            int first = offsets[node];
+            int successors = graph.successorCount(node);
+            for (int i = 0; i < successors; i++) {
+                targets[first + i] = graph.successorAt(node, i);
+            }
+            graph.forEachOutEdge(node, (value, i) -> setWeight(first + i, weight.applyAsDouble(value)));
+            if (undirected) {
+                int start = first + successors;
+                for (int i = 0, predecessors = graph.predecessorCount(node); i < predecessors; i++) {
+                    targets[start + i] = graph.predecessorAt(node, i);
+                }
+                graph.forEachInEdge(node, (value, i) -> setWeight(start + i, weight.applyAsDouble(value)));
+            }
+        }
+        distance = new double[bound];
+        parent = new int[bound];
+        reached = new int[bound];
+        heap = new Heap(bound, distance);
+    }
+
+    private void setWeight(int link, double w) {
+        if (!(w >= 0)) {
+            throw new IllegalArgumentException("Edge weight must not be negative or NaN, got " + w);
+        }
+        weights[link] = Math.min(weights[link], w);
+    }
+
+    /**
+     * Distances from source to every node.
+     * Takes O((|V| + |E|) log |V|) time.
+     *
+     * @param source source node id
+     * @return distance by node index, Double.POSITIVE_INFINITY for unreachable nodes and unused indices
+     */
+    public double[] distances(String source) {
+        search(index(source), -1, null);
+        double[] result = new double[distance.length];
+        for (int node = 0; node < result.length; node++) {
+            result[node] = reached[node] == query ? distance[node] : Double.POSITIVE_INFINITY;
+        }
+        return result;
+    }
+
+    /**
+     * Predecessors on the shortest paths of the last query, complete after {@link #distances(String)}.
+     *
+     * @return predecessor index by node index, -1 for the source, nodes not reached and unused indices
+     */
+    public int[] predecessors() {
+        int[] result = new int[parent.length];
+        for (int node = 0; node < result.length; node++) {
+            result[node] = reached[node] == query ? parent[node] : -1;
+        }
+        return result;
+    }
+
+    /**
+     * Length of a shortest path, the search stops when the target is reached.
+     *
+     * @param source source node id
+     * @param target target node id
+     * @return length of the shortest path, Double.POSITIVE_INFINITY if there is none
+     */
+    public double distance(String source, String target) {
+        return distance(source, target, null);
+    }
+
+    /**
+     * A* search for the length of a shortest path.
+     *
+     * @param source source node id
+     * @param target target node id
+     * @param heuristic lower bound of the distance from a node index to the target, never overestimating it
+     * @return length of the shortest path, Double.POSITIVE_INFINITY if there is none
+     */
+    public double distance(String source, String target, IntToDoubleFunction heuristic) {
+        int to = index(target);
+        search(index(source), to, heuristic);
+        return reached[to] == query ? distance[to] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * A shortest path, the search stops when the target is reached.
+     *
+     * @param source source node id
+     * @param target target node id
+     * @return node ids from source to target, empty if there is no path
+     */
+    public List<String> path(String source, String target) {
+        return path(source, target, null);
+    }
+
+    /**
+     * A* search for a shortest path.
+     *
+     * @param source source node id
+     * @param target target node id
+     * @param heuristic lower bound of the distance from a node index to the target, never overestimating it
+     * @return node ids from source to target, empty if there is no path
+     */
+    public List<String> path(String source, String target, IntToDoubleFunction heuristic) {
+        int to = index(target);
+        search(index(source), to, heuristic);
+        if (reached[to] != query) {
+            return Collections.emptyList();
+        }
+        List<String> path = new ArrayList<>();
+        for (int node = to; node != -1; node = parent[node]) {
+            path.add(graph.nodeIdAt(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int index(String nodeId) {
+        int index = graph.indexOf(nodeId);
+        if (index == -1) {
+            throw new IllegalArgumentException("Node " + nodeId + " is not in the graph");
+        }
+        return index;
+    }
+
+    /**
+     * Dijkstra from source, or A* if heuristic is not null. Stops when target is settled unless it is -1.
+     */
+    private void search(int source, int target, IntToDoubleFunction heuristic) {
+        if (++query == 0) {
+            // the counter wrapped, forget every earlier query
+            Arrays.fill(reached, 0);
+            query = 1;
+        }
+        heap.clear();
+        if (heuristic != null) {
+            heap.useKeys();
+        }
+        reach(source, 0, -1, heuristic);
+
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            if (node == target) {
+                return;
+            }
+            double d = distance[node];
+            for (int i = offsets[node], end = offsets[node + 1]; i < end; i++) {
+                int next = targets[i];
+                double candidate = d + weights[i];
+                if (reached[next] != query || candidate < distance[next]) {
+                    reach(next, candidate, node, heuristic);
+                }
+            }
+        }
+    }
+
+    private void reach(int node, double d, int from, IntToDoubleFunction heuristic) {
+        reached[node] = query;
+        distance[node] = d;
+        parent[node] = from;
+        // with a heuristic the heap orders by distance + estimate, a settled node is queued again if it improves
+        heap.offer(node, heuristic != null ? d + heuristic.applyAsDouble(node) : d);
+    }
+
+    /**
+     * Min heap of node indices in an int array with the heap position of every node, keyed by the distance
+     * array for Dijkstra or by an array of its own for A*.
+     */
+    private static final class Heap {
+        private final int[] nodes;
+        private final int[] positions;
+        private final double[] distance;
+        private double[] keys;
+        private int size = 0;
+
+        private Heap(int bound, double[] distance) {
+            nodes = new int[bound];
+            positions = new int[bound];
+            Arrays.fill(positions, -1);
+            this.distance = distance;
+            keys = distance;
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                positions[nodes[i]] = -1;
+            }
+            size = 0;
+            keys = distance;
+        }
+
+        private void useKeys() {
+            if (keys == distance) {
+                keys = new double[nodes.length];
+            }
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Adds the node or moves it up to its smaller key.
+         */
+        private void offer(int node, double key) {
+            if (keys != distance) {
+                keys[node] = key;
+            }
+            int position = positions[node];
+            if (position == -1) {
+                position = size++;
+            }
+            siftUp(node, key, position);
+        }
+
+        private int poll() {
+            int top = nodes[0];
+            positions[top] = -1;
+            int last = nodes[--size];
+            if (size > 0) {
+                siftDown(last, keys[last], 0);
+            }
+            return top;
+        }
+
+        private void siftUp(int node, double key, int position) {
+            while (position > 0) {
+                int up = (position - 1) / ARITY;
+                int above = nodes[up];
+                if (keys[above] <= key) {
+                    break;
+                }
+                nodes[position] = above;
+                positions[above] = position;
+                position = up;
+            }
+            nodes[position] = node;
+            positions[node] = position;
+        }
+
+        private void siftDown(int node, double key, int position) {
+            while (true) {
+                int first = position * ARITY + 1;
+                if (first >= size) {
+                    break;
+                }
+                int best = first;
+                double bestKey = keys[nodes[first]];
+                for (int child = first + 1, end = Math.min(first + ARITY, size); child < end; child++) {
+                    double childKey = keys[nodes[child]];
+                    if (childKey < bestKey) {
+                        best = child;
+                        bestKey = childKey;
+                    }
+                }
+                if (bestKey >= key) {
+                    break;
+                }
+                nodes[position] = nodes[best];
+                positions[nodes[best]] = position;
+                position = best;
+            }
+            nodes[position] = node;
+            positions[node] = position;
+        }
+    }
+}
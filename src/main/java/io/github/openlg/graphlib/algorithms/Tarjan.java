@@ -1,11 +1,10 @@
 package io.github.openlg.graphlib.algorithms;
 
 import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author lg&lt;lirufei0808 @ gmail.com&gt;
@@ -14,11 +13,6 @@ import java.util.Map;
  */
 public class Tarjan {
 
-    private int index = 0;
-    private List<String> stack = new ArrayList<>();
-    private Map<String, Entry> visited = new HashMap<>();
-    private List<List<String>> result = new ArrayList<>();
-
     /**
      * This function is an implementation of Tarjan's algorithm which finds all strongly connected components in the directed graph g. Each strongly connected component is composed of nodes that can reach all other nodes in the component via directed edges. A strongly connected component can consist of a single node if that node cannot both reach and be reached by any other specific node in the graph. Components of more than one node are guaranteed to have at least one cycle.
      * @param graph directed graph
@@ -27,61 +21,113 @@ public class Tarjan {
      * @return This function returns an array of components. Each component is itself an array that contains the ids of all nodes in the component.
      */
     public <N, E> List<List<String>> tarjan(Graph<N, E> graph) {
+        return tarjan((IndexedGraph) graph);
+    }
 
-        index = 0;
-        stack = new ArrayList<>();
-        visited = new HashMap<>();
-        result = new ArrayList<>();
+    /**
+     * Same as {@link #tarjan(Graph)} for any indexed graph.
+     * @param graph directed graph
+     * @return strongly connected components, each component is a list of node ids
+     */
+    public List<List<String>> tarjan(IndexedGraph graph) {
+        int[] componentIds = componentIds(graph);
+
+        int components = 0;
+        for (int component : componentIds) {
+            components = Math.max(components, component + 1);
+        }
 
-        graph.getNodes().forEach(nodeId -> {
-            if (!visited.containsKey(nodeId)){
-                recursion(graph, nodeId);
+        List<List<String>> result = new ArrayList<>(components);
+        for (int i = 0; i < components; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (int node = 0; node < componentIds.length; node++) {
+            if (componentIds[node] != -1) {
+                result.get(componentIds[node]).add(graph.nodeIdAt(node));
             }
-        });
+        }
         return result;
     }
 
-    private <E, N> void recursion(Graph<N, E> graph, String nodeId) {
-        Entry entry;
-        if(visited.containsKey(nodeId)) {
-            entry = visited.get(nodeId);
-        } else {
-            entry = new Entry();
-            visited.put(nodeId, entry);
-        }
-        entry.onStack = true;
-        entry.lowLink = index;
-        entry.index = index++;
-        stack.add(nodeId);
-        graph.successors(nodeId).forEach( successor -> {
-            if(!visited.containsKey(successor)) {
-                recursion(graph, successor);
-                entry.lowLink = Math.min(entry.lowLink, visited.get(successor).lowLink);
-            } else if (visited.get(successor).onStack) {
-                entry.lowLink = Math.min(entry.lowLink, visited.get(successor).index);
+    /**
+     * Labels every node with the number of its strongly connected component.
+     * Components are numbered in the order they are completed, which is a reverse topological order of the
+     * condensed graph: if an edge leads from component a to component b then a &gt; b.
+     *
+     * The search keeps its own stack, so the depth of the graph is not limited by the thread stack, and needs
+     * six ints per node index.
+     *
+     * @param graph directed graph
+     * @return component number by node index, -1 for unused indices
+     */
+    public int[] componentIds(IndexedGraph graph) {
+        int bound = graph.nodeBound();
+
+        // index[v] == 0 means not visited, component[v] == -1 means still on the component stack
+        int[] index = new int[bound];
+        int[] lowLink = new int[bound];
+        int[] component = new int[bound];
+        int[] stack = new int[bound];
+        int[] callNode = new int[bound];
+        int[] callPos = new int[bound];
+
+        int counter = 0;
+        int components = 0;
+        int top = 0;
+
+        for (int root = 0; root < bound; root++) {
+            if (!graph.containsIndex(root)) {
+                component[root] = -1;
+                continue;
+            }
+            if (index[root] != 0) {
+                continue;
             }
-        });
-
-        if (entry.lowLink == entry.index) {
-            List<String> comp = new ArrayList<>();
-            String w;
-            do {
-                if (stack.size() > 0) {
-                    w = stack.remove(stack.size() - 1);
-                    visited.get(w).onStack = false;
-                    comp.add(w);
-                } else {
-                    w = null;
+
+            int depth = 0;
+            index[root] = lowLink[root] = ++counter;
+            component[root] = -1;
+            stack[top++] = root;
+            callNode[depth] = root;
+            callPos[depth++] = 0;
+
+            while (depth > 0) {
+                int node = callNode[depth - 1];
+                int pos = callPos[depth - 1];
+
+                if (pos < graph.successorCount(node)) {
+                    callPos[depth - 1] = pos + 1;
+                    int successor = graph.successorAt(node, pos);
+                    if (index[successor] == 0) {
+                        index[successor] = lowLink[successor] = ++counter;
+                        component[successor] = -1;
+                        stack[top++] = successor;
+                        callNode[depth] = successor;
+                        callPos[depth++] = 0;
+                    } else if (component[successor] == -1 && index[successor] < lowLink[node]) {
+                        lowLink[node] = index[successor];
+                    }
+                    continue;
                 }
-            } while (w != null && !w.equals(nodeId));
-            result.add(comp);
-        }
-    }
 
-    private class Entry {
-        boolean onStack = true;
-        int lowLink = 0;
-        int index = 0;
+                depth--;
+                if (lowLink[node] == index[node]) {
+                    int w;
+                    do {
+                        w = stack[--top];
+                        component[w] = components;
+                    } while (w != node);
+                    components++;
+                }
+                if (depth > 0) {
+                    int parent = callNode[depth - 1];
+                    if (lowLink[node] < lowLink[parent]) {
+                        lowLink[parent] = lowLink[node];
+                    }
+                }
+            }
+        }
+        return component;
     }
 
 }
@@ -1,11 +1,15 @@
 package io.github.openlg.graphlib.algorithms;
 
 import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IndexedGraph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * @author lg&lt;lirufei0808@gmail.com&gt;
@@ -14,6 +18,29 @@ import java.util.Map;
  */
 public class Topsort {
 
+    /**
+     * Frontier slices smaller than this are expanded without forking.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * How to choose between nodes that are ready at the same time.
+     */
+    public enum Order {
+        /**
+         * Ready nodes are emitted first in first out, sources in node order. Fastest.
+         */
+        FIFO,
+        /**
+         * The ready node that was added to the graph first is emitted first.
+         */
+        INSERTION,
+        /**
+         * The ready node with the lexicographically smallest id is emitted first.
+         */
+        LEXICOGRAPHIC
+    }
+
     /**
      *
      * Given a Graph g this function returns an array of nodes such that for each edge u -&gt; v, u appears before v in the array. If the graph has a cycle it is impossible to generate such a list and CycleException is thrown.
@@ -25,36 +52,334 @@ public class Topsort {
      * @return result
      */
     public <N, E> List<String> topsort(Graph<N, E> graph) {
-        Map<String, Boolean> visited = new HashMap<>();
-        Map<String, Boolean> stack = new HashMap<>();
-        List<String> results = new ArrayList<>();
+        return topsort(graph, Order.FIFO);
+    }
+
+    /**
+     * Same as {@link #topsort(Graph)} with the given tie-breaking between ready nodes.
+     *
+     * @param graph the graph instance
+     * @param order tie-breaking between ready nodes
+     * @return node ids in topological order
+     */
+    public List<String> topsort(IndexedGraph graph, Order order) {
+        int[] sorted = sort(graph, order);
+        List<String> results = new ArrayList<>(sorted.length);
+        for (int node : sorted) {
+            results.add(graph.nodeIdAt(node));
+        }
+        return results;
+    }
+
+    /**
+     * Kahn's algorithm over distinct predecessor counts.
+     * Takes O(|V| + |E|) time with FIFO order and O(|V| log |V| + |E|) otherwise.
+     *
+     * @param graph the graph instance
+     * @param order tie-breaking between ready nodes
+     * @return node indices in topological order
+     * @throws CycleException if the graph has a cycle, the exception reports one of the cycles
+     */
+    public int[] sort(IndexedGraph graph, Order order) {
+        int bound = graph.nodeBound();
+        int[] inDegree = new int[bound];
+        int[] sorted = new int[graph.nodeCount()];
+        int[] rank = order == Order.FIFO ? null : rank(graph, order);
 
-        graph.getSinks().forEach(sinkId -> {
-            visit(graph, stack, visited, results, sinkId);
-        });
+        // FIFO uses sorted itself as the queue, the other orders a binary heap on rank
+        int[] heap = rank != null ? new int[sorted.length] : null;
+        int heapSize = 0;
+        int count = 0;
 
-        if (visited.size() != graph.nodeCount()) {
-            throw new CycleException();
+        for (int node = 0; node < bound; node++) {
+            if (!graph.containsIndex(node)) {
+                continue;
+            }
+            inDegree[node] = graph.predecessorCount(node);
+            if (inDegree[node] == 0) {
+                if (heap != null) {
+                    heapSize = push(heap, heapSize, node, rank);
+                } else {
+                    sorted[count++] = node;
+                }
+            }
+        }
+
+        int head = 0;
+        while (heap != null ? heapSize > 0 : head < count) {
+            int node;
+            if (heap != null) {
+                node = heap[0];
+                heapSize = pop(heap, heapSize, rank);
+                sorted[count++] = node;
+            } else {
+                node = sorted[head++];
+            }
+            for (int i = 0, successors = graph.successorCount(node); i < successors; i++) {
+                int successor = graph.successorAt(node, i);
+                if (--inDegree[successor] == 0) {
+                    if (heap != null) {
+                        heapSize = push(heap, heapSize, successor, rank);
+                    } else {
+                        sorted[count++] = successor;
+                    }
+                }
+            }
+        }
+
+        if (count != sorted.length) {
+            throw new CycleException(findCycle(graph, inDegree));
+        }
+        return sorted;
+    }
+
+    /**
+     * Splits the graph into execution waves: the first level holds the sources, every later level holds the
+     * nodes whose predecessors are all in earlier levels. The number of levels is the length of the longest
+     * path (critical path depth) in nodes. Uses the common ForkJoinPool.
+     *
+     * @param graph the graph instance, must not be modified during the call
+     * @return node ids by level, each level in node index order
+     * @throws CycleException if the graph has a cycle
+     */
+    public List<List<String>> levels(IndexedGraph graph) {
+        return levels(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #levels(IndexedGraph)} running the frontier expansion on the given pool.
+     *
+     * @param graph the graph instance, must not be modified during the call
+     * @param pool pool that expands large frontiers in parallel
+     * @return node ids by level, each level in node index order
+     * @throws CycleException if the graph has a cycle
+     */
+    public List<List<String>> levels(IndexedGraph graph, ForkJoinPool pool) {
+        List<int[]> levels = levelIndices(graph, pool);
+        List<List<String>> results = new ArrayList<>(levels.size());
+        for (int[] level : levels) {
+            List<String> ids = new ArrayList<>(level.length);
+            for (int node : level) {
+                ids.add(graph.nodeIdAt(node));
+            }
+            results.add(ids);
         }
         return results;
     }
 
-    private <N, E> void visit(Graph<N, E> graph, Map<String, Boolean> stack, Map<String, Boolean> visited, List<String> results, String nodeId) {
-        if (stack.containsKey(nodeId)) {
-            throw new CycleException();
+    /**
+     * Level synchronous Kahn's algorithm. In-degrees are atomic counters, each frontier is split across the
+     * pool and every task collects the successors it brought down to zero, which form the next frontier.
+     *
+     * @param graph the graph instance, must not be modified during the call
+     * @param pool pool that expands large frontiers in parallel
+     * @return node indices by level, each level sorted
+     * @throws CycleException if the graph has a cycle
+     */
+    public List<int[]> levelIndices(IndexedGraph graph, ForkJoinPool pool) {
+        int bound = graph.nodeBound();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(bound);
+        int[] sources = new int[16];
+        int count = 0;
+        for (int node = 0; node < bound; node++) {
+            if (graph.containsIndex(node)) {
+                int degree = graph.predecessorCount(node);
+                inDegree.set(node, degree);
+                if (degree == 0) {
+                    sources = append(sources, count++, node);
+                }
+            }
         }
 
-        if (!visited.containsKey(nodeId)) {
-            stack.put(nodeId, true);
-            visited.put(nodeId, true);
-            graph.predecessors(nodeId).forEach( predecessor -> visit(graph, stack, visited, results, predecessor));
-            stack.remove(nodeId);
-            results.add(nodeId);
+        List<int[]> levels = new ArrayList<>();
+        int[] frontier = Arrays.copyOf(sources, count);
+        int emitted = 0;
+        while (frontier.length > 0) {
+            levels.add(frontier);
+            emitted += frontier.length;
+            ExpandTask task = new ExpandTask(graph, inDegree, frontier, 0, frontier.length);
+            frontier = frontier.length < PARALLEL_THRESHOLD ? task.compute() : pool.invoke(task);
+            Arrays.sort(frontier);
         }
+
+        if (emitted != graph.nodeCount()) {
+            int[] remaining = new int[bound];
+            for (int node = 0; node < bound; node++) {
+                remaining[node] = inDegree.get(node);
+            }
+            throw new CycleException(findCycle(graph, remaining));
+        }
+        return levels;
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static class ExpandTask extends RecursiveTask<int[]> {
+        private final IndexedGraph graph;
+        private final AtomicIntegerArray inDegree;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+
+        private ExpandTask(IndexedGraph graph, AtomicIntegerArray inDegree, int[] frontier, int from, int to) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                ExpandTask left = new ExpandTask(graph, inDegree, frontier, from, middle);
+                left.fork();
+                int[] right = new ExpandTask(graph, inDegree, frontier, middle, to).compute();
+                int[] joined = left.join();
+                int[] next = Arrays.copyOf(joined, joined.length + right.length);
+                System.arraycopy(right, 0, next, joined.length, right.length);
+                return next;
+            }
+
+            int[] next = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int node = frontier[i];
+                for (int j = 0, successors = graph.successorCount(node); j < successors; j++) {
+                    int successor = graph.successorAt(node, j);
+                    if (inDegree.decrementAndGet(successor) == 0) {
+                        next = append(next, count++, successor);
+                    }
+                }
+            }
+            return Arrays.copyOf(next, count);
+        }
+    }
+
+    /**
+     * Every node left with a positive in degree has a predecessor that is also left, so walking
+     * predecessors from any of them must run into a cycle.
+     */
+    private List<String> findCycle(IndexedGraph graph, int[] inDegree) {
+        int start = 0;
+        while (inDegree[start] <= 0) {
+            start++;
+        }
+
+        int[] step = new int[inDegree.length];
+        List<Integer> path = new ArrayList<>();
+        int node = start;
+        while (step[node] == 0) {
+            path.add(node);
+            step[node] = path.size();
+            for (int i = 0, predecessors = graph.predecessorCount(node); i < predecessors; i++) {
+                int predecessor = graph.predecessorAt(node, i);
+                if (inDegree[predecessor] > 0) {
+                    node = predecessor;
+                    break;
+                }
+            }
+        }
+
+        List<String> cycle = new ArrayList<>();
+        for (int i = path.size() - 1; i >= step[node] - 1; i--) {
+            cycle.add(graph.nodeIdAt(path.get(i)));
+        }
+        return cycle;
+    }
+
+    private int[] rank(IndexedGraph graph, Order order) {
+        int[] rank = new int[graph.nodeBound()];
+        if (order == Order.LEXICOGRAPHIC) {
+            Integer[] nodes = new Integer[graph.nodeCount()];
+            int count = 0;
+            for (int node = 0; node < rank.length; node++) {
+                if (graph.containsIndex(node)) {
+                    nodes[count++] = node;
+                }
+            }
+            Arrays.sort(nodes, (a, b) -> graph.nodeIdAt(a).compareTo(graph.nodeIdAt(b)));
+            for (int i = 0; i < nodes.length; i++) {
+                rank[nodes[i]] = i;
+            }
+        } else if (graph instanceof Graph) {
+            // indices of removed nodes are reused, so only the node list knows the insertion order
+            int i = 0;
+            for (String nodeId : ((Graph<?, ?>) graph).getNodes()) {
+                rank[graph.indexOf(nodeId)] = i++;
+            }
+        } else {
+            for (int node = 0; node < rank.length; node++) {
+                rank[node] = node;
+            }
+        }
+        return rank;
+    }
+
+    private static int push(int[] heap, int size, int node, int[] rank) {
+        int pos = size;
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (rank[heap[parent]] <= rank[node]) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = node;
+        return size + 1;
+    }
+
+    private static int pop(int[] heap, int size, int[] rank) {
+        int last = heap[--size];
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && rank[heap[child + 1]] < rank[heap[child]]) {
+                child++;
+            }
+            if (rank[last] <= rank[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = last;
+        return size;
     }
 
     public static class CycleException extends RuntimeException{
 
+        private final List<String> cycle;
+
+        public CycleException() {
+            this(Collections.emptyList());
+        }
+
+        /**
+         * @param cycle node ids along the cycle, the last node has an edge back to the first one
+         */
+        public CycleException(List<String> cycle) {
+            super(cycle.isEmpty() ? "Graph has a cycle" : "Graph has a cycle: " + String.join(" -> ", cycle) + " -> " + cycle.get(0));
+            this.cycle = Collections.unmodifiableList(cycle);
+        }
+
+        /**
+         * @return node ids along the cycle, empty if unknown
+         */
+        public List<String> getCycle() {
+            return cycle;
+        }
     }
 
 }
@@ -0,0 +1,145 @@
+package io.github.openlg.graphlib.io;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * DataInput over its own read ahead buffer. Unlike DataInputStream on a buffered stream a single byte
+ * is read without a synchronized call, which is most of the work when loading a graph of small varints.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class ByteInput implements DataInput {
+
+	private final InputStream in;
+	private final byte[] buffer;
+	private int position = 0;
+	private int limit = 0;
+
+	ByteInput(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[bufferSize];
+	}
+
+	/**
+	 * @return false if the stream has ended
+	 */
+	private boolean fill() throws IOException {
+		position = 0;
+		limit = Math.max(0, in.read(buffer));
+		return limit > 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		if (position == limit && !fill())
+			throw new EOFException();
+		return buffer[position++];
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (position == limit && !fill())
+				throw new EOFException();
+			int n = Math.min(len, limit - position);
+			System.arraycopy(buffer, position, b, off, n);
+			position += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int skipped = 0;
+		while (skipped < n && (position < limit || fill())) {
+			int step = Math.min(n - skipped, limit - position);
+			position += step;
+			skipped += step;
+		}
+		return skipped;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return readByte() & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return (short) readUnsignedShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return (readUnsignedByte() << 8) | readUnsignedByte();
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return (char) readUnsignedShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return (readUnsignedByte() << 24) | (readUnsignedByte() << 16) | (readUnsignedByte() << 8) | readUnsignedByte();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(readLong());
+	}
+
+	/**
+	 * Reads bytes as Latin-1 chars up to "\n", "\r" or "\r\n", like {@link DataInputStream#readLine()}.
+	 *
+	 * @return the line without its terminator, null at the end of the stream
+	 */
+	@Override
+	public String readLine() throws IOException {
+		StringBuilder line = new StringBuilder();
+		while (true) {
+			if (position == limit && !fill())
+				return line.length() == 0 ? null : line.toString();
+			int c = buffer[position++] & 0xFF;
+			if (c == '\n')
+				return line.toString();
+			if (c == '\r') {
+				if ((position < limit || fill()) && buffer[position] == '\n')
+					position++;
+				return line.toString();
+			}
+			line.append((char) c);
+		}
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+}
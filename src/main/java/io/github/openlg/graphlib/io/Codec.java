@@ -0,0 +1,114 @@
+package io.github.openlg.graphlib.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads node or edge values for {@link GraphIO}. Values are never null, null values are
+ * marked by GraphIO itself.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public interface Codec<T> {
+
+	void write(DataOutput out, T value) throws IOException;
+
+	T read(DataInput in) throws IOException;
+
+	Codec<String> STRING = new Codec<String>() {
+		@Override
+		public void write(DataOutput out, String value) throws IOException {
+			GraphIO.writeString(out, value);
+		}
+
+		@Override
+		public String read(DataInput in) throws IOException {
+			return GraphIO.readString(in);
+		}
+	};
+
+	Codec<Integer> INTEGER = new Codec<Integer>() {
+		@Override
+		public void write(DataOutput out, Integer value) throws IOException {
+			out.writeInt(value);
+		}
+
+		@Override
+		public Integer read(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	};
+
+	Codec<Long> LONG = new Codec<Long>() {
+		@Override
+		public void write(DataOutput out, Long value) throws IOException {
+			out.writeLong(value);
+		}
+
+		@Override
+		public Long read(DataInput in) throws IOException {
+			return in.readLong();
+		}
+	};
+
+	Codec<Double> DOUBLE = new Codec<Double>() {
+		@Override
+		public void write(DataOutput out, Double value) throws IOException {
+			out.writeDouble(value);
+		}
+
+		@Override
+		public Double read(DataInput in) throws IOException {
+			return in.readDouble();
+		}
+	};
+
+	/**
+	 * Strings, Integers, Longs, Doubles and Booleans behind a one byte type tag, the default of {@link GraphIO}.
+	 * Other types are rejected with an IllegalArgumentException.
+	 */
+	Codec<Object> BASIC = new Codec<Object>() {
+		@Override
+		public void write(DataOutput out, Object value) throws IOException {
+			if (value instanceof String) {
+				out.writeByte(0);
+				STRING.write(out, (String) value);
+			} else if (value instanceof Integer) {
+				out.writeByte(1);
+				out.writeInt((Integer) value);
+			} else if (value instanceof Long) {
+				out.writeByte(2);
+				out.writeLong((Long) value);
+			} else if (value instanceof Double) {
+				out.writeByte(3);
+				out.writeDouble((Double) value);
+			} else if (value instanceof Boolean) {
+				out.writeByte(4);
+				out.writeBoolean((Boolean) value);
+			} else {
+				throw new IllegalArgumentException("No codec for " + value.getClass().getName() + ", pass a Codec to GraphIO");
+			}
+		}
+
+		@Override
+		public Object read(DataInput in) throws IOException {
+			byte type = in.readByte();
+			switch (type) {
+				case 0:
+					return STRING.read(in);
+				case 1:
+					return in.readInt();
+				case 2:
+					return in.readLong();
+				case 3:
+					return in.readDouble();
+				case 4:
+					return in.readBoolean();
+				default:
+					throw new IOException("Unknown value type " + type);
+			}
+		}
+	};
+}
@@ -0,0 +1,452 @@
+package io.github.openlg.graphlib.io;
+
+import io.github.openlg.graphlib.GraphBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Streams edge list files into a {@link GraphSink}: one edge per line as source, target and an optional
+ * value, further columns are ignored. Empty lines and lines starting with # or % are skipped, \r\n line ends
+ * are accepted.
+ *
+ * Lines are split in place in one read buffer that is refilled from the channel, so memory stays bounded
+ * by the longest line. Node ids go through a cache of recently seen ids and are only decoded the first time,
+ * only values are allocated per line. CSV fields may be quoted with " and contain "" for a quote, a quoted
+ * field can not span lines.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class EdgeListReader {
+
+	/**
+	 * delimiter for runs of spaces and tabs
+	 */
+	private static final int WHITESPACE = -1;
+
+	private final int delimiter;
+	private boolean header = false;
+	private int bufferSize = 1 << 16;
+
+	private static final long MIN_CHUNK = 1 << 20;
+	private static final long MAX_CHUNK = 1 << 26;
+
+	private final IdCache ids = new IdCache(1 << 12);
+
+	/**
+	 * start of the byte range read by this reader, for error messages
+	 */
+	private long origin = 0;
+
+	private byte[] buffer;
+
+	/**
+	 * bounds of the fields of the current line, unquoted fields point into buffer, quoted ones into scratch
+	 */
+	private final int[] fieldFrom = new int[3];
+	private final int[] fieldTo = new int[3];
+	private final boolean[] fieldQuoted = new boolean[3];
+	private byte[] scratch = new byte[256];
+	private int scratchSize;
+
+	private EdgeListReader(int delimiter) {
+		this.delimiter = delimiter;
+	}
+
+	/**
+	 * @return a reader with the options of reader, for one chunk of a parallel read
+	 */
+	private EdgeListReader(EdgeListReader reader) {
+		this(reader.delimiter);
+		header = reader.header;
+		bufferSize = reader.bufferSize;
+	}
+
+	/**
+	 * @return reader for tab separated lines
+	 */
+	public static EdgeListReader tsv() {
+		return new EdgeListReader('\t');
+	}
+
+	/**
+	 * @return reader for comma separated lines with optional quoting
+	 */
+	public static EdgeListReader csv() {
+		return new EdgeListReader(',');
+	}
+
+	/**
+	 * @return reader for lines separated by any run of spaces and tabs, like most published edge lists
+	 */
+	public static EdgeListReader whitespace() {
+		return new EdgeListReader(WHITESPACE);
+	}
+
+	/**
+	 * @param header set to true to skip the first line
+	 * @return current reader
+	 */
+	public EdgeListReader header(boolean header) {
+		this.header = header;
+		return this;
+	}
+
+	/**
+	 * @param bufferSize initial read buffer size in bytes, grown for longer lines
+	 * @return current reader
+	 */
+	public EdgeListReader bufferSize(int bufferSize) {
+		if (bufferSize < 16)
+			throw new IllegalArgumentException("bufferSize must be at least 16");
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	/**
+	 * @param file file
+	 * @param sink receives the edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or a line has less than two fields
+	 */
+	public long read(Path file, GraphSink sink) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(channel, sink);
+		}
+	}
+
+	/**
+	 * @param channel channel, read to its end but not closed
+	 * @param sink receives the edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or a line has less than two fields
+	 */
+	public long read(ReadableByteChannel channel, GraphSink sink) throws IOException {
+		return read(channel, sink, header, 0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Same as {@link #readParallel(Path, GraphBuilder, ForkJoinPool)} on the common ForkJoinPool.
+	 *
+	 * @param file file
+	 * @param builder receives the edges
+	 * @param <N> node value type
+	 * @param <E> edge value type, values are passed on as String
+	 * @return number of edges read
+	 * @throws IOException if reading fails or a line has less than two fields
+	 */
+	public <N, E> long readParallel(Path file, GraphBuilder<N, E> builder) throws IOException {
+		return readParallel(file, builder, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parses a file in parallel. The file is cut into byte ranges and every range is parsed by a task of the
+	 * pool into a chunk of its own: the distinct ids of the range in order of appearance and its edges as
+	 * pairs of chunk local indices. The calling thread merges the chunks in file order while later ranges
+	 * are still parsed, each id is looked up in the builder once per chunk instead of once per edge.
+	 * At most twice the parallelism of the pool chunks are parsed ahead of the merge. Files of one chunk
+	 * and pools of one thread are read sequentially, the chunks only pay off when they are parsed in parallel.
+	 *
+	 * The builder ends up as if the file was read by {@link #read(Path, GraphSink)}, call build and then
+	 * freeze on it for a snapshot.
+	 *
+	 * @param file file
+	 * @param builder receives the edges
+	 * @param pool pool that parses the chunks
+	 * @param <N> node value type
+	 * @param <E> edge value type, values are passed on as String
+	 * @return number of edges read
+	 * @throws IOException if reading fails or a line has less than two fields
+	 */
+	@SuppressWarnings("unchecked")
+	public <N, E> long readParallel(Path file, GraphBuilder<N, E> builder, ForkJoinPool pool) throws IOException {
+		long size = Files.size(file);
+		int parallelism = pool.getParallelism();
+		long chunkSize = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / (parallelism * 4L) + 1));
+		int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+		if (parallelism == 1 || chunks <= 1)
+			return read(file, GraphSink.of(builder));
+
+		Deque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>();
+		int submitted = 0;
+		long edges = 0;
+		try {
+			while (submitted < chunks || !pending.isEmpty()) {
+				while (submitted < chunks && pending.size() < parallelism * 2) {
+					long start = submitted * chunkSize;
+					long end = Math.min(size, start + chunkSize);
+					pending.add(pool.submit(() -> new EdgeListReader(this).readChunk(file, start, end)));
+					submitted++;
+				}
+				Chunk chunk = pending.poll().join();
+				int[] index = new int[chunk.idCount];
+				for (int i = 0; i < chunk.idCount; i++)
+					index[i] = builder.node(chunk.ids[i]);
+				for (int i = 0; i < chunk.edgeCount; i++) {
+					builder.addEdge(index[chunk.sources[i]], index[chunk.targets[i]],
+							chunk.values != null ? (E) chunk.values[i] : null, null);
+				}
+				edges += chunk.edgeCount;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			for (ForkJoinTask<Chunk> task : pending)
+				task.cancel(false);
+		}
+		return edges;
+	}
+
+	/**
+	 * Parses the lines that start in [start, end) of the file.
+	 */
+	private Chunk readChunk(Path file, long start, long end) {
+		Chunk chunk = new Chunk();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// a range after the first starts one byte early, so the line before it ends where the range starts
+			long from = start == 0 ? 0 : start - 1;
+			channel.position(from);
+			origin = start;
+			read(channel, chunk, start == 0 ? header : true, from, end);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return chunk;
+	}
+
+	/**
+	 * @param channel channel positioned at offset
+	 * @param skip skip the first line
+	 * @param offset file offset of the first byte of the channel
+	 * @param end only lines that start before this offset are read
+	 */
+	private long read(ReadableByteChannel channel, GraphSink sink, boolean skip, long offset, long end)
+			throws IOException {
+		buffer = new byte[bufferSize];
+		ByteBuffer window = ByteBuffer.wrap(buffer);
+		int pos = 0;
+		int limit = 0;
+		long line = 0;
+		long edges = 0;
+		boolean eof = false;
+
+		while (offset + pos < end) {
+			int newline = indexOf(buffer, (byte) '\n', pos, limit);
+			if (newline == -1 && !eof) {
+				// move the partial line to the front and refill behind it
+				System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+				offset += pos;
+				limit -= pos;
+				pos = 0;
+				if (limit == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length << 1);
+					window = ByteBuffer.wrap(buffer);
+				}
+				window.limit(buffer.length).position(limit);
+				eof = channel.read(window) == -1;
+				limit = window.position();
+				continue;
+			}
+			if (newline == -1 && pos == limit)
+				return edges;
+
+			int lineEnd = newline != -1 ? newline : limit;
+			line++;
+			if (skip) {
+				skip = false;
+			} else if (parse(pos, lineEnd, line)) {
+				sink.edge(id(0), id(1), null, fieldFrom[2] != -1 ? text(2) : null);
+				edges++;
+			}
+			pos = newline != -1 ? newline + 1 : limit;
+		}
+		return edges;
+	}
+
+	/**
+	 * Splits a line into the first three fields.
+	 * @return false for lines to skip
+	 */
+	private boolean parse(int from, int to, long line) throws IOException {
+		if (to > from && buffer[to - 1] == '\r')
+			to--;
+		if (delimiter == WHITESPACE) {
+			while (from < to && (buffer[from] == ' ' || buffer[from] == '\t'))
+				from++;
+		}
+		if (from == to || buffer[from] == '#' || buffer[from] == '%')
+			return false;
+
+		scratchSize = 0;
+		fieldFrom[2] = -1;
+		int pos = from;
+		for (int field = 0; field < 3 && pos <= to; field++) {
+			if (delimiter == ',' && pos < to && buffer[pos] == '"') {
+				pos = quoted(field, pos + 1, to, line);
+			} else {
+				int fieldEnd = pos;
+				while (fieldEnd < to && !isDelimiter(buffer[fieldEnd]))
+					fieldEnd++;
+				fieldFrom[field] = pos;
+				fieldTo[field] = fieldEnd;
+				fieldQuoted[field] = false;
+				pos = fieldEnd;
+			}
+			if (pos == to) {
+				if (field < 1)
+					throw new IOException(location(line) + " has less than two fields");
+				break;
+			}
+			pos = skipDelimiter(pos, to);
+			if (pos == to && delimiter == WHITESPACE) {
+				if (field < 1)
+					throw new IOException(location(line) + " has less than two fields");
+				break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies a quoted field without its quotes into scratch.
+	 * @return position after the closing quote
+	 */
+	private int quoted(int field, int pos, int to, long line) throws IOException {
+		int start = scratchSize;
+		while (true) {
+			if (pos == to)
+				throw new IOException(location(line) + " has an unterminated quote");
+			byte b = buffer[pos++];
+			if (b == '"') {
+				if (pos < to && buffer[pos] == '"')
+					pos++;
+				else
+					break;
+			}
+			if (scratchSize == scratch.length)
+				scratch = Arrays.copyOf(scratch, scratch.length << 1);
+			scratch[scratchSize++] = b;
+		}
+		fieldFrom[field] = start;
+		fieldTo[field] = scratchSize;
+		fieldQuoted[field] = true;
+		return pos;
+	}
+
+	private String location(long line) {
+		// the first line of a range after the first is the end of a line of the range before
+		return origin == 0 ? "Line " + line : "Line " + (line - 1) + " after byte " + origin;
+	}
+
+	private boolean isDelimiter(byte b) {
+		return delimiter == WHITESPACE ? b == ' ' || b == '\t' : b == delimiter;
+	}
+
+	private int skipDelimiter(int pos, int to) {
+		if (delimiter != WHITESPACE)
+			return pos + 1;
+		while (pos < to && (buffer[pos] == ' ' || buffer[pos] == '\t'))
+			pos++;
+		return pos;
+	}
+
+	private String id(int field) {
+		return ids.get(fieldQuoted[field] ? scratch : buffer, fieldFrom[field], fieldTo[field]);
+	}
+
+	private String text(int field) {
+		return new String(fieldQuoted[field] ? scratch : buffer, fieldFrom[field], fieldTo[field] - fieldFrom[field],
+				StandardCharsets.UTF_8);
+	}
+
+	private static int indexOf(byte[] buffer, byte b, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (buffer[i] == b)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Edges of one byte range with node ids interned per range.
+	 */
+	private static final class Chunk implements GraphSink {
+		private String[] ids = new String[1024];
+		private int idCount = 0;
+
+		/**
+		 * open addressing table of id index + 1, 0 for free slots
+		 */
+		private int[] table = new int[2048];
+
+		private int[] sources = new int[1024];
+		private int[] targets = new int[1024];
+		private Object[] values;
+		private int edgeCount = 0;
+
+		@Override
+		public void node(String id, Object value) {
+			intern(id);
+		}
+
+		@Override
+		public void edge(String source, String target, String name, Object value) {
+			if (edgeCount == sources.length) {
+				sources = Arrays.copyOf(sources, edgeCount << 1);
+				targets = Arrays.copyOf(targets, edgeCount << 1);
+				if (values != null)
+					values = Arrays.copyOf(values, edgeCount << 1);
+			}
+			if (value != null && values == null)
+				values = new Object[sources.length];
+			sources[edgeCount] = intern(source);
+			targets[edgeCount] = intern(target);
+			if (values != null)
+				values[edgeCount] = value;
+			edgeCount++;
+		}
+
+		private int intern(String id) {
+			int mask = table.length - 1;
+			int hash = id.hashCode();
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+				if (ids[entry - 1].equals(id))
+					return entry - 1;
+				slot = (slot + 1) & mask;
+			}
+			if (idCount == ids.length)
+				ids = Arrays.copyOf(ids, idCount << 1);
+			ids[idCount] = id;
+			table[slot] = ++idCount;
+			if (idCount * 2 > table.length)
+				rehash();
+			return idCount - 1;
+		}
+
+		private void rehash() {
+			table = new int[table.length << 1];
+			int mask = table.length - 1;
+			for (int i = 0; i < idCount; i++) {
+				int hash = ids[i].hashCode();
+				int slot = (hash ^ (hash >>> 16)) & mask;
+				while (table[slot] != 0)
+					slot = (slot + 1) & mask;
+				table[slot] = i + 1;
+			}
+		}
+	}
+}
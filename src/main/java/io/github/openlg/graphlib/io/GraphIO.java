@@ -0,0 +1,381 @@
+package io.github.openlg.graphlib.io;
+
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact binary format for {@link Graph}.
+ *
+ * <pre>
+ * int      magic "OLGG", byte version, byte flags
+ * varint   node count, edge count
+ * string   node ids in insertion order, a node is referenced by its position from here on
+ * value    node values                              (if any node has a value)
+ * string[] table of edge names                      (if any edge has a name)
+ * per node: varint number of successors, then per successor in ascending order
+ *           varint distance to the previous successor
+ *           varint number of edges                  (if any pair has more than one edge)
+ *           per edge: varint name + 1, 0 for none  (if any edge has a name)
+ *                     value                         (if any edge has a value)
+ * varint   parent position + 1, 0 for none, per node (compound graphs only)
+ * </pre>
+ *
+ * Strings are a varint byte length followed by UTF-8, a value is a presence byte followed by the output of
+ * a {@link Codec}. Reading loads the nodes and edges through {@link GraphBuilder}, so a non compound
+ * graph is built without intermediate resizing.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class GraphIO {
+
+	private static final int MAGIC = 0x4F4C4747;
+	private static final int VERSION = 1;
+
+	private static final int DIRECTED = 1;
+	private static final int MULTI_GRAPH = 1 << 1;
+	private static final int COMPOUND = 1 << 2;
+	private static final int NODE_VALUES = 1 << 3;
+	private static final int EDGE_VALUES = 1 << 4;
+	private static final int EDGE_NAMES = 1 << 5;
+	private static final int MULTI_EDGES = 1 << 6;
+
+	private GraphIO() {
+	}
+
+	/**
+	 * Writes the graph with {@link Codec#BASIC} for node and edge values.
+	 *
+	 * @param graph graph
+	 * @param out stream, flushed but not closed
+	 * @throws IOException if writing fails
+	 */
+	public static void write(Graph<?, ?> graph, OutputStream out) throws IOException {
+		write(graph, out, Codec.BASIC, Codec.BASIC);
+	}
+
+	/**
+	 * @param graph graph
+	 * @param out stream, flushed but not closed
+	 * @param nodeCodec writes node values
+	 * @param edgeCodec writes edge values
+	 * @param <N> node value type
+	 * @param <E> edge value type
+	 * @throws IOException if writing fails
+	 */
+	public static <N, E> void write(Graph<N, E> graph, OutputStream out, Codec<? super N> nodeCodec,
+									Codec<? super E> edgeCodec) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+
+		List<String> nodes = new ArrayList<>(graph.getNodes());
+		int[] position = new int[graph.nodeBound()];
+		int links = 0;
+		for (int i = 0; i < nodes.size(); i++) {
+			int node = graph.indexOf(nodes.get(i));
+			position[node] = i;
+			links += graph.successorCount(node);
+		}
+
+		int[] flagHolder = {(graph.isDirected() ? DIRECTED : 0) | (graph.isMultiGraph() ? MULTI_GRAPH : 0)
+				| (graph.isCompound() ? COMPOUND : 0) | (links != graph.edgeCount() ? MULTI_EDGES : 0)};
+		Map<String, Integer> names = new LinkedHashMap<>();
+		for (String id : nodes) {
+			if (graph.getNode(id) != null) {
+				flagHolder[0] |= NODE_VALUES;
+				break;
+			}
+		}
+		graph.forEachEdge((edge, value) -> {
+			if (edge.getName() != null)
+				names.putIfAbsent(edge.getName(), names.size());
+			if (value != null)
+				flagHolder[0] |= EDGE_VALUES;
+		});
+		int flags = flagHolder[0] | (names.isEmpty() ? 0 : EDGE_NAMES);
+
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeByte(flags);
+		writeVarInt(data, nodes.size());
+		writeVarInt(data, graph.edgeCount());
+		for (String id : nodes)
+			writeString(data, id);
+		if ((flags & NODE_VALUES) != 0) {
+			for (String id : nodes)
+				writeValue(data, nodeCodec, graph.getNode(id));
+		}
+		if ((flags & EDGE_NAMES) != 0) {
+			writeVarInt(data, names.size());
+			for (String name : names.keySet())
+				writeString(data, name);
+		}
+
+		if ((flags & (MULTI_EDGES | EDGE_NAMES | EDGE_VALUES)) == 0) {
+			writeSuccessors(data, graph, nodes, position);
+		} else {
+			writeOutEdges(data, graph, nodes, position, flags, names, edgeCodec);
+		}
+
+		if ((flags & COMPOUND) != 0) {
+			for (String id : nodes) {
+				String parent = graph.getParent(id);
+				writeVarInt(data, parent != null ? position[graph.indexOf(parent)] + 1 : 0);
+			}
+		}
+		data.flush();
+	}
+
+	/**
+	 * Adjacency of a graph with one plain edge per link, written from the links alone.
+	 */
+	private static void writeSuccessors(DataOutput data, Graph<?, ?> graph, List<String> nodes, int[] position)
+			throws IOException {
+		int[] row = new int[16];
+		for (String id : nodes) {
+			int node = graph.indexOf(id);
+			int count = graph.successorCount(node);
+			if (row.length < count)
+				row = new int[Math.max(count, row.length << 1)];
+			for (int i = 0; i < count; i++)
+				row[i] = position[graph.successorAt(node, i)];
+			Arrays.sort(row, 0, count);
+
+			writeVarInt(data, count);
+			int previous = 0;
+			for (int i = 0; i < count; i++) {
+				writeVarInt(data, row[i] - previous);
+				previous = row[i];
+			}
+		}
+	}
+
+	private static <E> void writeOutEdges(DataOutput data, Graph<?, E> graph, List<String> nodes, int[] position,
+										  int flags, Map<String, Integer> names, Codec<? super E> edgeCodec)
+			throws IOException {
+		OutEdges<E> row = new OutEdges<>(graph, position);
+		for (String id : nodes) {
+			row.load(id);
+			writeVarInt(data, graph.successorCount(row.node));
+			int previous = 0;
+			for (int i = 0; i < row.size; ) {
+				int target = (int) (row.keys[i] >>> 32);
+				int end = i + 1;
+				while (end < row.size && (int) (row.keys[end] >>> 32) == target)
+					end++;
+
+				writeVarInt(data, target - previous);
+				previous = target;
+				if ((flags & MULTI_EDGES) != 0)
+					writeVarInt(data, end - i);
+				for (; i < end; i++) {
+					int edge = (int) row.keys[i];
+					if ((flags & EDGE_NAMES) != 0) {
+						String name = row.edges[edge].getName();
+						writeVarInt(data, name != null ? names.get(name) + 1 : 0);
+					}
+					if ((flags & EDGE_VALUES) != 0)
+						writeValue(data, edgeCodec, row.value(edge));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a graph with {@link Codec#BASIC} for node and edge values.
+	 *
+	 * @param in stream, not closed; read ahead, so bytes after the graph may be consumed
+	 * @param <N> node value type
+	 * @param <E> edge value type
+	 * @return graph
+	 * @throws IOException if reading fails or the stream is not in this format
+	 */
+	@SuppressWarnings("unchecked")
+	public static <N, E> Graph<N, E> read(InputStream in) throws IOException {
+		return read(in, (Codec<N>) (Codec<?>) Codec.BASIC, (Codec<E>) (Codec<?>) Codec.BASIC);
+	}
+
+	/**
+	 * @param in stream, not closed; read ahead, so bytes after the graph may be consumed
+	 * @param nodeCodec reads node values
+	 * @param edgeCodec reads edge values
+	 * @param <N> node value type
+	 * @param <E> edge value type
+	 * @return graph
+	 * @throws IOException if reading fails or the stream is not in this format
+	 */
+	public static <N, E> Graph<N, E> read(InputStream in, Codec<? extends N> nodeCodec,
+										  Codec<? extends E> edgeCodec) throws IOException {
+		DataInput data = new ByteInput(in, 1 << 16);
+		if (data.readInt() != MAGIC)
+			throw new IOException("Not a graph stream");
+		int version = data.readByte();
+		if (version != VERSION)
+			throw new IOException("Unsupported graph format version " + version);
+		int flags = data.readByte();
+		boolean directed = (flags & DIRECTED) != 0;
+		boolean multiGraph = (flags & MULTI_GRAPH) != 0;
+		boolean compound = (flags & COMPOUND) != 0;
+
+		int nodeCount = readVarInt(data);
+		int edgeCount = readVarInt(data);
+		String[] ids = new String[nodeCount];
+		for (int i = 0; i < nodeCount; i++)
+			ids[i] = readString(data);
+
+		// a compound graph needs the parent bookkeeping of setNode, everything else goes through the builder
+		GraphBuilder<N, E> builder = compound ? null : new GraphBuilder<>(directed, multiGraph, nodeCount, edgeCount);
+		Graph<N, E> graph = compound ? new Graph<>(directed, multiGraph, true) : null;
+		int[] index = new int[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			N value = (flags & NODE_VALUES) != 0 ? readValue(data, nodeCodec) : null;
+			if (compound)
+				graph.setNode(ids[i], value);
+			else if (value != null)
+				index[i] = builder.addNode(ids[i], value).node(ids[i]);
+			else
+				index[i] = builder.node(ids[i]);
+		}
+
+		String[] names = new String[0];
+		if ((flags & EDGE_NAMES) != 0) {
+			names = new String[readVarInt(data)];
+			for (int i = 0; i < names.length; i++)
+				names[i] = readString(data);
+		}
+
+		for (int source = 0; source < nodeCount; source++) {
+			int target = 0;
+			for (int count = readVarInt(data); count > 0; count--) {
+				target += readVarInt(data);
+				if (target >= nodeCount)
+					throw new IOException("Malformed graph stream, unknown node " + target);
+				int edges = (flags & MULTI_EDGES) != 0 ? readVarInt(data) : 1;
+				for (int i = 0; i < edges; i++) {
+					int name = (flags & EDGE_NAMES) != 0 ? readVarInt(data) : 0;
+					E value = (flags & EDGE_VALUES) != 0 ? readValue(data, edgeCodec) : null;
+					if (compound)
+						graph.setEdge(ids[source], ids[target], value, name != 0 ? names[name - 1] : null);
+					else
+						builder.addEdge(index[source], index[target], value, name != 0 ? names[name - 1] : null);
+				}
+			}
+		}
+
+		if (!compound)
+			return builder.build();
+		for (int i = 0; i < nodeCount; i++) {
+			int parent = readVarInt(data);
+			if (parent > nodeCount)
+				throw new IOException("Malformed graph stream, unknown parent " + (parent - 1));
+			if (parent != 0)
+				graph.setParent(ids[i], ids[parent - 1]);
+		}
+		return graph;
+	}
+
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	static void writeString(DataOutput out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static <T> void writeValue(DataOutput out, Codec<? super T> codec, T value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null)
+			codec.write(out, value);
+	}
+
+	private static <T> T readValue(DataInput in, Codec<? extends T> codec) throws IOException {
+		return in.readBoolean() ? codec.read(in) : null;
+	}
+
+	/**
+	 * Out edges of one node sorted by the stream position of their target, stable for edges of one pair.
+	 */
+	private static final class OutEdges<E> implements BiConsumer<Edge, E> {
+
+		private final Graph<?, E> graph;
+		private final int[] position;
+
+		private int node;
+		private int link;
+		private int target;
+		private String targetId;
+
+		/**
+		 * target position in the high and edge number in the low 32 bits
+		 */
+		private long[] keys = new long[16];
+		private Edge[] edges = new Edge[16];
+		private Object[] values = new Object[16];
+		private int size;
+
+		private OutEdges(Graph<?, E> graph, int[] position) {
+			this.graph = graph;
+			this.position = position;
+		}
+
+		private void load(String id) {
+			node = graph.indexOf(id);
+			link = -1;
+			targetId = null;
+			size = 0;
+			graph.forEachOutEdge(id, this);
+			Arrays.sort(keys, 0, size);
+		}
+
+		@SuppressWarnings("unchecked")
+		private E value(int edge) {
+			return (E) values[edge];
+		}
+
+		@Override
+		public void accept(Edge edge, E value) {
+			// the edges of one link come together and in successor order
+			if (!edge.getTarget().equals(targetId) || link == -1) {
+				targetId = edge.getTarget();
+				target = position[graph.successorAt(node, ++link)];
+			}
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size << 1);
+				edges = Arrays.copyOf(edges, size << 1);
+				values = Arrays.copyOf(values, size << 1);
+			}
+			keys[size] = (long) target << 32 | size;
+			edges[size] = edge;
+			values[size] = value;
+			size++;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package io.github.openlg.graphlib.io;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams GraphML into a {@link GraphSink} with a StAX pull parser, so only the element being read is held.
+ *
+ * The value of a node or edge is its single data element, or a Map from attr.name to value when it has
+ * several. Values are converted by the attr.type of their key to Boolean, Long or Double and are Strings
+ * otherwise. A graph nested in a node makes that node the parent of its nodes. Hyperedges, ports and key
+ * defaults are ignored.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class GraphMLReader {
+
+	private static final class Key {
+		private final String name;
+		private final String type;
+
+		private Key(String name, String type) {
+			this.name = name;
+			this.type = type;
+		}
+	}
+
+	private boolean edgeIds = false;
+	private boolean directed = true;
+
+	/**
+	 * @param edgeIds set to true to pass edge ids on as edge names, for multigraph targets
+	 * @return current reader
+	 */
+	public GraphMLReader edgeIds(boolean edgeIds) {
+		this.edgeIds = edgeIds;
+		return this;
+	}
+
+	/**
+	 * @return edgedefault of the top graph of the last document, true if absent
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * @param file file
+	 * @param sink receives the nodes and edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or the document is malformed
+	 */
+	public long read(Path file, GraphSink sink) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(Channels.newInputStream(channel), sink);
+		}
+	}
+
+	/**
+	 * @param in input, not closed
+	 * @param sink receives the nodes and edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or the document is malformed
+	 */
+	public long read(InputStream in, GraphSink sink) throws IOException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		XMLStreamReader reader = null;
+		try {
+			reader = factory.createXMLStreamReader(in);
+			return read(reader, sink);
+		} catch (XMLStreamException e) {
+			throw new IOException(e.getMessage(), e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException ignored) {
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private long read(XMLStreamReader reader, GraphSink sink) throws XMLStreamException, IOException {
+		Map<String, Key> keys = new HashMap<>();
+		// parents of the open nested graphs
+		Deque<String> parents = new ArrayDeque<>();
+		int depth = 0;
+
+		// the node or edge being read, data elements elsewhere belong to graphs and are skipped
+		boolean inElement = false;
+		String node = null;
+		String source = null;
+		String target = null;
+		String name = null;
+		Object value = null;
+		String firstName = null;
+		int values = 0;
+		long edges = 0;
+		directed = true;
+
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				switch (reader.getLocalName()) {
+					case "key":
+						keys.put(required(reader, "id"), new Key(reader.getAttributeValue(null, "attr.name"),
+								reader.getAttributeValue(null, "attr.type")));
+						break;
+					case "graph":
+						if (depth++ == 0) {
+							directed = !"undirected".equals(reader.getAttributeValue(null, "edgedefault"));
+						} else if (node != null) {
+							emit(sink, node, value, parents);
+							parents.push(node);
+							node = null;
+							inElement = false;
+						} else {
+							throw new IOException("Nested graph outside a node at line "
+									+ reader.getLocation().getLineNumber());
+						}
+						break;
+					case "node":
+						node = required(reader, "id");
+						inElement = true;
+						value = null;
+						values = 0;
+						break;
+					case "edge":
+						source = required(reader, "source");
+						target = required(reader, "target");
+						name = edgeIds ? reader.getAttributeValue(null, "id") : null;
+						inElement = true;
+						value = null;
+						values = 0;
+						break;
+					case "data": {
+						if (!inElement)
+							break;
+						String keyId = reader.getAttributeValue(null, "key");
+						Key key = keys.get(keyId);
+						String keyName = key != null && key.name != null ? key.name : keyId;
+						Object data = convert(reader.getElementText(), key != null ? key.type : null);
+						if (values == 0) {
+							value = data;
+							firstName = keyName;
+						} else {
+							if (values == 1) {
+								Map<String, Object> map = new LinkedHashMap<>();
+								map.put(firstName, value);
+								value = map;
+							}
+							((Map<String, Object>) value).put(keyName, data);
+						}
+						values++;
+						break;
+					}
+					default:
+						break;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				switch (reader.getLocalName()) {
+					case "graph":
+						if (--depth > 0)
+							parents.pop();
+						break;
+					case "node":
+						if (node != null)
+							emit(sink, node, value, parents);
+						node = null;
+						inElement = false;
+						break;
+					case "edge":
+						sink.edge(source, target, name, value);
+						edges++;
+						inElement = false;
+						break;
+					default:
+						break;
+				}
+			}
+		}
+		return edges;
+	}
+
+	private static void emit(GraphSink sink, String node, Object value, Deque<String> parents) {
+		sink.node(node, value);
+		if (!parents.isEmpty())
+			sink.parent(node, parents.peek());
+	}
+
+	private static String required(XMLStreamReader reader, String attribute) throws IOException {
+		String value = reader.getAttributeValue(null, attribute);
+		if (value == null)
+			throw new IOException("<" + reader.getLocalName() + "> without " + attribute + " at line "
+					+ reader.getLocation().getLineNumber());
+		return value;
+	}
+
+	private static Object convert(String text, String type) throws IOException {
+		if (type == null)
+			return text;
+		try {
+			switch (type) {
+				case "boolean":
+					return Boolean.valueOf(text.trim());
+				case "int":
+				case "long":
+					return Long.valueOf(text.trim());
+				case "float":
+				case "double":
+					return Double.valueOf(text.trim());
+				default:
+					return text;
+			}
+		} catch (NumberFormatException e) {
+			throw new IOException("Malformed " + type + " value " + text, e);
+		}
+	}
+}
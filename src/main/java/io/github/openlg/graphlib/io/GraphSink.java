@@ -0,0 +1,69 @@
+package io.github.openlg.graphlib.io;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+import io.github.openlg.graphlib.IllegalOperationException;
+
+/**
+ * Receives the nodes and edges of a streaming reader such as {@link EdgeListReader}, {@link JsonGraphReader}
+ * or {@link GraphMLReader}. Missing nodes of an edge are created by the target.
+ *
+ * Values are whatever the format holds: Strings from edge lists, Strings, Longs, Doubles, Booleans and Maps
+ * from GraphML, and Lists as well from JSON. {@link #of(Graph)} and {@link #of(GraphBuilder)} pass them on
+ * unchecked, so the value types of the target must match.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public interface GraphSink {
+
+	void node(String id, Object value);
+
+	void edge(String source, String target, String name, Object value);
+
+	/**
+	 * @param id node id
+	 * @param parentId parent node id
+	 */
+	default void parent(String id, String parentId) {
+		throw new IllegalOperationException("Cannot set parent of " + id + ", the target is not compound");
+	}
+
+	@SuppressWarnings("unchecked")
+	static <N, E> GraphSink of(Graph<N, E> graph) {
+		return new GraphSink() {
+			@Override
+			public void node(String id, Object value) {
+				graph.setNode(id, (N) value);
+			}
+
+			@Override
+			public void edge(String source, String target, String name, Object value) {
+				graph.setEdge(source, target, (E) value, name);
+			}
+
+			@Override
+			public void parent(String id, String parentId) {
+				graph.setParent(id, parentId);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	static <N, E> GraphSink of(GraphBuilder<N, E> builder) {
+		return new GraphSink() {
+			@Override
+			public void node(String id, Object value) {
+				if (value != null)
+					builder.addNode(id, (N) value);
+				else
+					builder.addNode(id);
+			}
+
+			@Override
+			public void edge(String source, String target, String name, Object value) {
+				builder.addEdge(source, target, (E) value, name);
+			}
+		};
+	}
+}
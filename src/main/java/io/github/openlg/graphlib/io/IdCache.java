@@ -0,0 +1,64 @@
+package io.github.openlg.graphlib.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decodes node ids from UTF-8 bytes and hands out the same String for ids seen recently, so a reader
+ * allocates per distinct id instead of per field for the hub nodes that dominate real edge lists.
+ *
+ * The cache is direct mapped with a fixed number of slots: a new id replaces the one in its slot. A larger
+ * or growing table was measured slower than decoding, its lookups miss the CPU cache once it holds a few
+ * hundred thousand ids, while decoding only allocates a short lived String.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+final class IdCache {
+
+	private final String[] ids;
+	private final byte[][] bytes;
+	private final int[] hashes;
+
+	/**
+	 * @param slots number of slots, a power of 2
+	 */
+	IdCache(int slots) {
+		ids = new String[slots];
+		bytes = new byte[slots][];
+		hashes = new int[slots];
+	}
+
+	String get(byte[] buffer, int from, int to) {
+		int hash = 1;
+		boolean ascii = true;
+		for (int i = from; i < to; i++) {
+			hash = 31 * hash + buffer[i];
+			ascii &= buffer[i] >= 0;
+		}
+		int slot = (hash ^ (hash >>> 16)) & (ids.length - 1);
+		String id = ids[slot];
+		if (id != null && hashes[slot] == hash && matches(slot, id, buffer, from, to))
+			return id;
+
+		id = new String(buffer, from, to - from, StandardCharsets.UTF_8);
+		ids[slot] = id;
+		// ASCII ids are compared to their chars, the others keep their bytes
+		bytes[slot] = ascii ? null : Arrays.copyOfRange(buffer, from, to);
+		hashes[slot] = hash;
+		return id;
+	}
+
+	private boolean matches(int slot, String id, byte[] buffer, int from, int to) {
+		byte[] encoded = bytes[slot];
+		if (encoded != null)
+			return Arrays.equals(encoded, 0, encoded.length, buffer, from, to);
+		if (id.length() != to - from)
+			return false;
+		for (int i = from; i < to; i++) {
+			if (id.charAt(i - from) != buffer[i])
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,546 @@
+package io.github.openlg.graphlib.io;
+
+import io.github.openlg.graphlib.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the JSON document of graphlib's json.write into a {@link GraphSink}:
+ * <pre>
+ * {"options": {"directed": true, "multigraph": false, "compound": false},
+ *  "nodes": [{"v": "a", "value": ..., "parent": "p"}, ...],
+ *  "edges": [{"v": "a", "w": "b", "name": "n", "value": ...}, ...]}
+ * </pre>
+ * Each node and edge is passed on as soon as its object is closed, so only one element is held at a time.
+ * Values become Strings, Longs, Doubles, Booleans, Lists and Maps, unknown members are skipped.
+ *
+ * The parser works on the bytes of one read buffer refilled from the channel, node ids are decoded once
+ * and then served from a cache of recently seen ids.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class JsonGraphReader {
+
+	private static final byte[] OPTIONS = bytes("options");
+	private static final byte[] NODES = bytes("nodes");
+	private static final byte[] EDGES = bytes("edges");
+	private static final byte[] DIRECTED = bytes("directed");
+	private static final byte[] MULTIGRAPH = bytes("multigraph");
+	private static final byte[] COMPOUND = bytes("compound");
+	private static final byte[] V = bytes("v");
+	private static final byte[] W = bytes("w");
+	private static final byte[] NAME = bytes("name");
+	private static final byte[] VALUE = bytes("value");
+	private static final byte[] PARENT = bytes("parent");
+
+	private final IdCache ids = new IdCache(1 << 12);
+
+	private ReadableByteChannel channel;
+	private byte[] buffer;
+	private ByteBuffer window;
+	private int pos;
+	private int end;
+	private long offset;
+
+	/**
+	 * the last string, unescaped as UTF-8
+	 */
+	private byte[] scratch = new byte[256];
+	private int scratchSize;
+
+	private boolean directed = true;
+	private boolean multigraph = false;
+	private boolean compound = false;
+
+	/**
+	 * Read a document into a new graph with its options. The options must come before the nodes and edges,
+	 * where json.write puts them.
+	 * @param file file
+	 * @return graph
+	 * @throws IOException if reading fails or the document is malformed
+	 */
+	public Graph<Object, Object> read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(channel);
+		}
+	}
+
+	/**
+	 * @param channel channel, not closed
+	 * @return graph
+	 * @throws IOException if reading fails or the document is malformed
+	 * @see #read(Path)
+	 */
+	public Graph<Object, Object> read(ReadableByteChannel channel) throws IOException {
+		GraphTarget target = new GraphTarget();
+		read(channel, target, () -> {
+			if (target.graph != null)
+				throw new IOException("Options must come before nodes and edges");
+		});
+		return target.graph();
+	}
+
+	/**
+	 * @param file file
+	 * @param sink receives the nodes and edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or the document is malformed
+	 */
+	public long read(Path file, GraphSink sink) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(channel, sink);
+		}
+	}
+
+	/**
+	 * @param channel channel, not closed
+	 * @param sink receives the nodes and edges
+	 * @return number of edges read
+	 * @throws IOException if reading fails or the document is malformed
+	 */
+	public long read(ReadableByteChannel channel, GraphSink sink) throws IOException {
+		return read(channel, sink, () -> { });
+	}
+
+	/**
+	 * @return directed option of the last document, true if absent
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * @return multigraph option of the last document, false if absent
+	 */
+	public boolean isMultiGraph() {
+		return multigraph;
+	}
+
+	/**
+	 * @return compound option of the last document, false if absent
+	 */
+	public boolean isCompound() {
+		return compound;
+	}
+
+	private interface OptionsListener {
+		void options() throws IOException;
+	}
+
+	/**
+	 * Creates the graph with the options read so far on the first node or edge.
+	 */
+	private final class GraphTarget implements GraphSink {
+		private Graph<Object, Object> graph;
+		private GraphSink sink;
+
+		private Graph<Object, Object> graph() {
+			if (graph == null) {
+				graph = new Graph<>(directed, multigraph, compound);
+				sink = GraphSink.of(graph);
+			}
+			return graph;
+		}
+
+		@Override
+		public void node(String id, Object value) {
+			graph();
+			sink.node(id, value);
+		}
+
+		@Override
+		public void edge(String source, String target, String name, Object value) {
+			graph();
+			sink.edge(source, target, name, value);
+		}
+
+		@Override
+		public void parent(String id, String parentId) {
+			graph();
+			sink.parent(id, parentId);
+		}
+	}
+
+	private long read(ReadableByteChannel channel, GraphSink sink, OptionsListener listener) throws IOException {
+		this.channel = channel;
+		buffer = new byte[1 << 16];
+		window = ByteBuffer.wrap(buffer);
+		pos = end = 0;
+		offset = 0;
+		directed = true;
+		multigraph = false;
+		compound = false;
+
+		long edges = 0;
+		expect('{');
+		if (!consume('}')) {
+			do {
+				readString();
+				expect(':');
+				if (keyIs(OPTIONS)) {
+					readOptions();
+					listener.options();
+				} else if (keyIs(NODES)) {
+					expect('[');
+					if (!consume(']')) {
+						do {
+							readNode(sink);
+						} while (consume(','));
+						expect(']');
+					}
+				} else if (keyIs(EDGES)) {
+					expect('[');
+					if (!consume(']')) {
+						do {
+							readEdge(sink);
+							edges++;
+						} while (consume(','));
+						expect(']');
+					}
+				} else {
+					readValue();
+				}
+			} while (consume(','));
+			expect('}');
+		}
+		return edges;
+	}
+
+	private void readOptions() throws IOException {
+		expect('{');
+		if (consume('}'))
+			return;
+		do {
+			readString();
+			expect(':');
+			if (keyIs(DIRECTED))
+				directed = readBoolean();
+			else if (keyIs(MULTIGRAPH))
+				multigraph = readBoolean();
+			else if (keyIs(COMPOUND))
+				compound = readBoolean();
+			else
+				readValue();
+		} while (consume(','));
+		expect('}');
+	}
+
+	private void readNode(GraphSink sink) throws IOException {
+		String id = null;
+		String parent = null;
+		Object value = null;
+		expect('{');
+		if (!consume('}')) {
+			do {
+				readString();
+				expect(':');
+				if (keyIs(V))
+					id = readId();
+				else if (keyIs(PARENT))
+					parent = readId();
+				else if (keyIs(VALUE))
+					value = readValue();
+				else
+					readValue();
+			} while (consume(','));
+			expect('}');
+		}
+		if (id == null)
+			throw error("Node without v");
+		sink.node(id, value);
+		if (parent != null)
+			sink.parent(id, parent);
+	}
+
+	private void readEdge(GraphSink sink) throws IOException {
+		String source = null;
+		String target = null;
+		String name = null;
+		Object value = null;
+		expect('{');
+		if (!consume('}')) {
+			do {
+				readString();
+				expect(':');
+				if (keyIs(V))
+					source = readId();
+				else if (keyIs(W))
+					target = readId();
+				else if (keyIs(NAME))
+					name = readId();
+				else if (keyIs(VALUE))
+					value = readValue();
+				else
+					readValue();
+			} while (consume(','));
+			expect('}');
+		}
+		if (source == null || target == null)
+			throw error("Edge without v or w");
+		sink.edge(source, target, name, value);
+	}
+
+	/**
+	 * @return a string value through the id cache, or null for null
+	 */
+	private String readId() throws IOException {
+		if (peek() != '"')
+			return readValue() == null ? null : fail("Expected a string");
+		readString();
+		return ids.get(scratch, 0, scratchSize);
+	}
+
+	private boolean readBoolean() throws IOException {
+		Object value = readValue();
+		if (!(value instanceof Boolean))
+			throw error("Expected true or false");
+		return (Boolean) value;
+	}
+
+	private Object readValue() throws IOException {
+		int c = peek();
+		switch (c) {
+			case '"':
+				readString();
+				return new String(scratch, 0, scratchSize, StandardCharsets.UTF_8);
+			case '{': {
+				pos++;
+				Map<String, Object> map = new LinkedHashMap<>();
+				if (!consume('}')) {
+					do {
+						readString();
+						String key = new String(scratch, 0, scratchSize, StandardCharsets.UTF_8);
+						expect(':');
+						map.put(key, readValue());
+					} while (consume(','));
+					expect('}');
+				}
+				return map;
+			}
+			case '[': {
+				pos++;
+				List<Object> list = new ArrayList<>();
+				if (!consume(']')) {
+					do {
+						list.add(readValue());
+					} while (consume(','));
+					expect(']');
+				}
+				return list;
+			}
+			case 't':
+				literal("true");
+				return Boolean.TRUE;
+			case 'f':
+				literal("false");
+				return Boolean.FALSE;
+			case 'n':
+				literal("null");
+				return null;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9'))
+					return readNumber();
+				throw error(c == -1 ? "Unexpected end of input" : "Unexpected character '" + (char) c + "'");
+		}
+	}
+
+	private Object readNumber() throws IOException {
+		scratchSize = 0;
+		boolean integral = true;
+		while (true) {
+			int c = next();
+			if (c == -1)
+				break;
+			if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+				append((byte) c);
+			} else if (c == '.' || c == 'e' || c == 'E') {
+				integral = false;
+				append((byte) c);
+			} else {
+				pos--;
+				break;
+			}
+		}
+		String text = new String(scratch, 0, scratchSize, StandardCharsets.ISO_8859_1);
+		try {
+			if (integral && scratchSize <= 18)
+				return Long.parseLong(text);
+			return Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			throw error("Malformed number " + text);
+		}
+	}
+
+	/**
+	 * Read a string into scratch as UTF-8 without the quotes and escapes.
+	 */
+	private void readString() throws IOException {
+		expect('"');
+		scratchSize = 0;
+		while (true) {
+			// copy plain runs straight from the buffer
+			int from = pos;
+			while (pos < end && buffer[pos] != '"' && buffer[pos] != '\\')
+				pos++;
+			append(buffer, from, pos);
+			if (pos == end) {
+				if (!fill())
+					throw error("Unterminated string");
+				continue;
+			}
+			if (buffer[pos++] == '"')
+				return;
+
+			int c = next();
+			switch (c) {
+				case '"': case '\\': case '/': append((byte) c); break;
+				case 'b': append((byte) '\b'); break;
+				case 'f': append((byte) '\f'); break;
+				case 'n': append((byte) '\n'); break;
+				case 'r': append((byte) '\r'); break;
+				case 't': append((byte) '\t'); break;
+				case 'u': {
+					int code = readHex();
+					if (Character.isHighSurrogate((char) code)) {
+						int low = next() == '\\' && next() == 'u' ? readHex() : -1;
+						if (!Character.isLowSurrogate((char) low))
+							throw error("Invalid surrogate pair");
+						code = Character.toCodePoint((char) code, (char) low);
+					}
+					appendCodePoint(code);
+					break;
+				}
+				default:
+					throw error("Invalid escape");
+			}
+		}
+	}
+
+	private int readHex() throws IOException {
+		int code = 0;
+		for (int i = 0; i < 4; i++) {
+			int digit = Character.digit(next(), 16);
+			if (digit == -1)
+				throw error("Invalid unicode escape");
+			code = code << 4 | digit;
+		}
+		return code;
+	}
+
+	private void appendCodePoint(int code) {
+		if (code < 0x80) {
+			append((byte) code);
+		} else if (code < 0x800) {
+			append((byte) (0xC0 | code >> 6));
+			append((byte) (0x80 | code & 0x3F));
+		} else if (code < 0x10000) {
+			append((byte) (0xE0 | code >> 12));
+			append((byte) (0x80 | code >> 6 & 0x3F));
+			append((byte) (0x80 | code & 0x3F));
+		} else {
+			append((byte) (0xF0 | code >> 18));
+			append((byte) (0x80 | code >> 12 & 0x3F));
+			append((byte) (0x80 | code >> 6 & 0x3F));
+			append((byte) (0x80 | code & 0x3F));
+		}
+	}
+
+	private void append(byte b) {
+		if (scratchSize == scratch.length)
+			scratch = Arrays.copyOf(scratch, scratch.length << 1);
+		scratch[scratchSize++] = b;
+	}
+
+	private void append(byte[] bytes, int from, int to) {
+		int count = to - from;
+		if (scratchSize + count > scratch.length)
+			scratch = Arrays.copyOf(scratch, Math.max(scratch.length << 1, scratchSize + count));
+		System.arraycopy(bytes, from, scratch, scratchSize, count);
+		scratchSize += count;
+	}
+
+	private boolean keyIs(byte[] key) {
+		return Arrays.equals(scratch, 0, scratchSize, key, 0, key.length);
+	}
+
+	private void literal(String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			if (next() != text.charAt(i))
+				throw error("Expected " + text);
+		}
+	}
+
+	private void expect(char c) throws IOException {
+		if (!consume(c))
+			throw error("Expected '" + c + "'");
+	}
+
+	/**
+	 * @return true if the next non blank character is c and was consumed
+	 */
+	private boolean consume(char c) throws IOException {
+		if (peek() != c)
+			return false;
+		pos++;
+		return true;
+	}
+
+	/**
+	 * @return the next non blank character without consuming it, -1 at the end of input
+	 */
+	private int peek() throws IOException {
+		while (true) {
+			if (pos == end && !fill())
+				return -1;
+			byte b = buffer[pos];
+			if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+				return b;
+			pos++;
+		}
+	}
+
+	private int next() throws IOException {
+		if (pos == end && !fill())
+			return -1;
+		return buffer[pos++];
+	}
+
+	private boolean fill() throws IOException {
+		offset += end;
+		pos = end = 0;
+		window.clear();
+		while (true) {
+			int n = channel.read(window);
+			if (n == -1)
+				return false;
+			if (n > 0) {
+				end = n;
+				return true;
+			}
+		}
+	}
+
+	private IOException error(String message) {
+		return new IOException(message + " at byte " + (offset + pos));
+	}
+
+	private <T> T fail(String message) throws IOException {
+		throw error(message);
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,434 @@
+package io.github.openlg.graphlib.io;
+
+import io.github.openlg.graphlib.IndexedGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Read-only graph topology in a memory-mapped file.
+ *
+ * <pre>
+ * header   int magic "OLGM", int version, int node count, int id table size,
+ *          long link count, long id byte count, padded to 64 bytes
+ * int[]    successor offsets (n + 1), successors sorted by index
+ * int[]    predecessor offsets (n + 1), predecessors sorted by index
+ * int[]    open addressing table of node index + 1 by String.hashCode of the id, 0 for free slots
+ * long[]   id offsets (n + 1), UTF-8 id bytes
+ * </pre>
+ *
+ * Every section starts 8 byte aligned and is read in place, so {@link #open(Path)} only maps the file and
+ * checks the header: pages are loaded by the OS when they are first touched and are shared with every
+ * other process that maps the same file. Files larger than 2 GB are mapped as 1 GB segments.
+ *
+ * The file keeps the distinct links between nodes, not edge names or values. Nodes are numbered
+ * 0 .. n - 1, so {@link io.github.openlg.graphlib.algorithms.Topsort}, Tarjan, Components and the other
+ * {@link IndexedGraph} algorithms run directly against the mapping. An instance never changes and can be
+ * shared across threads; the mapping is released when it is garbage collected.
+ *
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public final class MappedGraph implements IndexedGraph {
+
+	private static final int MAGIC = 0x4F4C474D;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final MappedByteBuffer[] segments;
+
+	private final int nodeCount;
+	private final int tableSize;
+	private final long linkCount;
+
+	/**
+	 * byte positions of the sections
+	 */
+	private final long succOffsets;
+	private final long succTargets;
+	private final long predOffsets;
+	private final long predSources;
+	private final long idTable;
+	private final long idOffsets;
+	private final long idBytes;
+
+	private MappedGraph(MappedByteBuffer[] segments, long fileSize) throws IOException {
+		this.segments = segments;
+		if (fileSize < HEADER_SIZE || getInt(0) != MAGIC)
+			throw new IOException("Not a mapped graph file");
+		if (getInt(4) != VERSION)
+			throw new IOException("Unsupported mapped graph version " + getInt(4));
+		nodeCount = getInt(8);
+		tableSize = getInt(12);
+		linkCount = getLong(16);
+		long idByteCount = getLong(24);
+
+		succOffsets = HEADER_SIZE;
+		succTargets = align(succOffsets + 4L * (nodeCount + 1));
+		predOffsets = align(succTargets + 4L * linkCount);
+		predSources = align(predOffsets + 4L * (nodeCount + 1));
+		idTable = align(predSources + 4L * linkCount);
+		idOffsets = align(idTable + 4L * tableSize);
+		idBytes = idOffsets + 8L * (nodeCount + 1);
+		if (idBytes + idByteCount != fileSize)
+			throw new IOException("Mapped graph file is truncated or corrupt");
+	}
+
+	/**
+	 * Maps a file written by {@link #write(IndexedGraph, Path)}.
+	 *
+	 * @param file file
+	 * @return graph backed by the file
+	 * @throws IOException if the file can not be mapped or is not in this format
+	 */
+	public static MappedGraph open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+			for (int i = 0; i < segments.length; i++) {
+				long start = (long) i << SEGMENT_SHIFT;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+			}
+			return new MappedGraph(segments, size);
+		}
+	}
+
+	/**
+	 * Writes the topology of a graph in the mapped format. Node indices are compacted in index order.
+	 *
+	 * @param graph graph, usually a {@link io.github.openlg.graphlib.Graph} or a frozen CsrGraph
+	 * @param file file, replaced if it exists
+	 * @throws IOException if writing fails
+	 */
+	public static void write(IndexedGraph graph, Path file) throws IOException {
+		int n = graph.nodeCount();
+		int[] remap = new int[graph.nodeBound()];
+		int[] order = new int[n];
+		long links = 0;
+		for (int node = 0, i = 0; node < graph.nodeBound(); node++) {
+			if (graph.containsIndex(node)) {
+				remap[node] = i;
+				order[i++] = node;
+				links += graph.successorCount(node);
+			}
+		}
+		if (links > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Too many links for a mapped graph: " + links);
+
+		int tableSize = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+		int[] table = new int[tableSize];
+		long idByteCount = 0;
+		for (int i = 0; i < n; i++) {
+			String id = graph.nodeIdAt(order[i]);
+			idByteCount += id.getBytes(StandardCharsets.UTF_8).length;
+			int slot = slotOf(id, tableSize);
+			while (table[slot] != 0)
+				slot = (slot + 1) & (tableSize - 1);
+			table[slot] = i + 1;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			Sink sink = new Sink(channel);
+			sink.putInt(MAGIC);
+			sink.putInt(VERSION);
+			sink.putInt(n);
+			sink.putInt(tableSize);
+			sink.putLong(links);
+			sink.putLong(idByteCount);
+			sink.align(HEADER_SIZE);
+
+			writeRows(sink, graph, order, remap, true);
+			writeRows(sink, graph, order, remap, false);
+			for (int slot : table)
+				sink.putInt(slot);
+			sink.align(8);
+
+			long offset = 0;
+			for (int i = 0; i < n; i++) {
+				sink.putLong(offset);
+				offset += graph.nodeIdAt(order[i]).getBytes(StandardCharsets.UTF_8).length;
+			}
+			sink.putLong(offset);
+			for (int i = 0; i < n; i++)
+				sink.put(graph.nodeIdAt(order[i]).getBytes(StandardCharsets.UTF_8));
+			sink.flush();
+		}
+	}
+
+	/**
+	 * Offsets and then sorted rows of the successors or predecessors of every node.
+	 */
+	private static void writeRows(Sink sink, IndexedGraph graph, int[] order, int[] remap, boolean out)
+			throws IOException {
+		int offset = 0;
+		for (int node : order) {
+			sink.putInt(offset);
+			offset += out ? graph.successorCount(node) : graph.predecessorCount(node);
+		}
+		sink.putInt(offset);
+		sink.align(8);
+
+		int[] row = new int[16];
+		for (int node : order) {
+			int count = out ? graph.successorCount(node) : graph.predecessorCount(node);
+			if (row.length < count)
+				row = new int[Math.max(count, row.length << 1)];
+			for (int i = 0; i < count; i++)
+				row[i] = remap[out ? graph.successorAt(node, i) : graph.predecessorAt(node, i)];
+			Arrays.sort(row, 0, count);
+			for (int i = 0; i < count; i++)
+				sink.putInt(row[i]);
+		}
+		sink.align(8);
+	}
+
+	/**
+	 * @return number of distinct source - target pairs
+	 */
+	public long linkCount() {
+		return linkCount;
+	}
+
+	/**
+	 * @return node ids in index order, decoded on access
+	 */
+	public List<String> getNodes() {
+		return new AbstractList<String>() {
+			@Override
+			public String get(int index) {
+				Objects.checkIndex(index, nodeCount);
+				return nodeIdAt(index);
+			}
+
+			@Override
+			public int size() {
+				return nodeCount;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof String && hasNode((String) o);
+			}
+		};
+	}
+
+	public boolean hasNode(String nodeId) {
+		return indexOf(nodeId) != -1;
+	}
+
+	/**
+	 * Binary search in the sorted successor row of the source.
+	 *
+	 * @param sourceId source node id
+	 * @param targetId target node id
+	 * @return true if there is at least one edge from source to target
+	 */
+	public boolean hasEdge(String sourceId, String targetId) {
+		int source = indexOf(sourceId);
+		int target = indexOf(targetId);
+		if (source == -1 || target == -1)
+			return false;
+		int low = getInt(succOffsets + 4L * source);
+		int high = getInt(succOffsets + 4L * source + 4) - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int value = getInt(succTargets + 4L * mid);
+			if (value < target)
+				low = mid + 1;
+			else if (value > target)
+				high = mid - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	public List<String> successors(String nodeId) {
+		int node = indexOf(nodeId);
+		List<String> successors = new ArrayList<>();
+		for (int i = 0, count = node != -1 ? successorCount(node) : 0; i < count; i++)
+			successors.add(nodeIdAt(successorAt(node, i)));
+		return successors;
+	}
+
+	public List<String> predecessors(String nodeId) {
+		int node = indexOf(nodeId);
+		List<String> predecessors = new ArrayList<>();
+		for (int i = 0, count = node != -1 ? predecessorCount(node) : 0; i < count; i++)
+			predecessors.add(nodeIdAt(predecessorAt(node, i)));
+		return predecessors;
+	}
+
+	@Override
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	@Override
+	public int nodeBound() {
+		return nodeCount;
+	}
+
+	@Override
+	public boolean containsIndex(int index) {
+		return index >= 0 && index < nodeCount;
+	}
+
+	@Override
+	public int indexOf(String nodeId) {
+		if (nodeId == null)
+			return -1;
+		byte[] key = nodeId.getBytes(StandardCharsets.UTF_8);
+		for (int slot = slotOf(nodeId, tableSize); ; slot = (slot + 1) & (tableSize - 1)) {
+			int entry = getInt(idTable + 4L * slot);
+			if (entry == 0)
+				return -1;
+			if (idEquals(entry - 1, key))
+				return entry - 1;
+		}
+	}
+
+	/**
+	 * @param index node index
+	 * @return id of the node, decoded from the file on every call
+	 */
+	@Override
+	public String nodeIdAt(int index) {
+		long from = getLong(idOffsets + 8L * index);
+		byte[] bytes = new byte[(int) (getLong(idOffsets + 8L * index + 8) - from)];
+		getBytes(idBytes + from, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int successorCount(int index) {
+		return getInt(succOffsets + 4L * index + 4) - getInt(succOffsets + 4L * index);
+	}
+
+	@Override
+	public int successorAt(int index, int i) {
+		return getInt(succTargets + 4L * (getInt(succOffsets + 4L * index) + i));
+	}
+
+	@Override
+	public int predecessorCount(int index) {
+		return getInt(predOffsets + 4L * index + 4) - getInt(predOffsets + 4L * index);
+	}
+
+	@Override
+	public int predecessorAt(int index, int i) {
+		return getInt(predSources + 4L * (getInt(predOffsets + 4L * index) + i));
+	}
+
+	private boolean idEquals(int index, byte[] key) {
+		long from = getLong(idOffsets + 8L * index);
+		if (getLong(idOffsets + 8L * index + 8) - from != key.length)
+			return false;
+		for (int i = 0; i < key.length; i++) {
+			if (getByte(idBytes + from + i) != key[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * ints and longs are aligned to their size, so they never cross a segment boundary
+	 */
+	private int getInt(long position) {
+		return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+	}
+
+	private long getLong(long position) {
+		return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+	}
+
+	private byte getByte(long position) {
+		return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+	}
+
+	private void getBytes(long position, byte[] bytes) {
+		for (int i = 0; i < bytes.length; ) {
+			ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+			int offset = (int) (position & SEGMENT_MASK);
+			int n = Math.min(bytes.length - i, segment.limit() - offset);
+			segment.position(offset);
+			segment.get(bytes, i, n);
+			i += n;
+			position += n;
+		}
+	}
+
+	private static long align(long position) {
+		return (position + 7) & ~7L;
+	}
+
+	private static int slotOf(String id, int tableSize) {
+		int h = id.hashCode();
+		return (h ^ (h >>> 16)) & (tableSize - 1);
+	}
+
+	/**
+	 * Sequential writer that tracks the file position for alignment.
+	 */
+	private static final class Sink {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+		private long position = 0;
+
+		private Sink(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes)
+				flush();
+		}
+
+		private void putInt(int value) throws IOException {
+			ensure(4);
+			buffer.putInt(value);
+			position += 4;
+		}
+
+		private void putLong(long value) throws IOException {
+			ensure(8);
+			buffer.putLong(value);
+			position += 8;
+		}
+
+		private void put(byte[] bytes) throws IOException {
+			for (int i = 0; i < bytes.length; ) {
+				ensure(1);
+				int n = Math.min(bytes.length - i, buffer.remaining());
+				buffer.put(bytes, i, n);
+				i += n;
+				position += n;
+			}
+		}
+
+		private void align(long alignment) throws IOException {
+			while (position % alignment != 0) {
+				ensure(1);
+				buffer.put((byte) 0);
+				position++;
+			}
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+	}
+}
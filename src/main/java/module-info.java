@@ -2,4 +2,7 @@
 module io.github.openlg.graphlib {
     exports io.github.openlg.graphlib;
     exports io.github.openlg.graphlib.algorithms;
+    exports io.github.openlg.graphlib.io;
+
+    requires java.xml;
 }
\ No newline at end of file
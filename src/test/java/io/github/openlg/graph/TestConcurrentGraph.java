@@ -0,0 +1,176 @@
+package io.github.openlg.graph;
+
+import io.github.openlg.graphlib.ConcurrentGraph;
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IllegalOperationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class TestConcurrentGraph {
+
+	@Test
+	public void testSingleThread(){
+		ConcurrentGraph<String, String> g = new ConcurrentGraph<>(true, true);
+		g.setNode("a", "a-label");
+		g.setEdge("a", "b", "ab");
+		g.setEdge("a", "b", "ab-foo", "foo");
+		g.setEdge("c", "a", "ca");
+		g.setPath("b", "c", "c");
+
+		Assert.assertEquals(g.nodeCount(), 3);
+		Assert.assertEquals(g.edgeCount(), 5);
+		Assert.assertEquals(g.getNode("a"), "a-label");
+		Assert.assertEquals(g.getEdge("a", "b"), "ab");
+		Assert.assertEquals(g.getEdge("a", "b", "foo"), "ab-foo");
+		Assert.assertEquals(g.outEdges("a", "b").size(), 2);
+		Assert.assertEquals(new HashSet<>(g.successors("c")), new HashSet<>(List.of("a", "c")));
+		Assert.assertEquals(new HashSet<>(g.neighbors("a")), new HashSet<>(List.of("b", "c")));
+
+		g.setEdge("a", "b", "ab-2");
+		Assert.assertEquals(g.getEdge("a", "b"), "ab-2");
+		Assert.assertEquals(g.edgeCount(), 5);
+
+		g.removeEdge("a", "b", "foo");
+		Assert.assertEquals(g.outEdges("a").size(), 1);
+		Assert.assertEquals(g.inEdges("b").size(), 1);
+
+		g.removeNode("c");
+		Assert.assertEquals(g.nodeCount(), 2);
+		Assert.assertEquals(g.edgeCount(), 1);
+		Assert.assertTrue(g.predecessors("a").isEmpty());
+		Assert.assertTrue(g.successors("b").isEmpty());
+
+		Graph<String, String> copy = g.toGraph();
+		Assert.assertEquals(copy.nodeCount(), 2);
+		Assert.assertEquals(copy.getEdge("a", "b"), "ab-2");
+
+		Assert.assertThrows(IllegalOperationException.class,
+				() -> new ConcurrentGraph<String, String>().setEdge("a", "b", null, "foo"));
+	}
+
+	@Test
+	public void testUndirected(){
+		ConcurrentGraph<String, String> g = new ConcurrentGraph<>(false, false);
+		g.setEdge("b", "a", "ab");
+		Assert.assertEquals(g.getEdge("a", "b"), "ab");
+		Assert.assertTrue(g.hasEdge("b", "a"));
+		g.removeEdge("b", "a");
+		Assert.assertEquals(g.edgeCount(), 0);
+	}
+
+	@Test
+	public void testConcurrentEdges() throws Exception {
+		int threads = 8;
+		int nodes = 200;
+		ConcurrentGraph<String, Integer> g = new ConcurrentGraph<>(true, false, 4);
+
+		// every thread owns the edges whose hash falls on it, so the final state is known; nodes are shared
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Set<Edge>>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(thread);
+				Set<Edge> expected = new HashSet<>();
+				for (int i = 0; i < 20000; i++) {
+					String source = "n" + random.nextInt(nodes);
+					String target = "n" + random.nextInt(nodes);
+					Edge edge = new Edge(source, target);
+					if (Math.floorMod(edge.hashCode(), threads) != thread)
+						continue;
+					if (random.nextInt(3) == 0) {
+						g.removeEdge(source, target);
+						expected.remove(edge);
+					} else {
+						g.setEdge(source, target, i);
+						expected.add(edge);
+					}
+					// readers run alongside the writers
+					g.successors(target);
+					g.inEdges(source);
+				}
+				return expected;
+			}));
+		}
+		Set<Edge> expected = new HashSet<>();
+		for (Future<Set<Edge>> future : futures)
+			expected.addAll(future.get());
+		executor.shutdown();
+
+		Assert.assertEquals(new HashSet<>(g.getEdges()), expected);
+		assertConsistent(g);
+	}
+
+	@Test
+	public void testConcurrentRemoveNode() throws Exception {
+		int threads = 8;
+		int nodes = 100;
+		ConcurrentGraph<String, Integer> g = new ConcurrentGraph<>(true, true, 4);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(thread);
+				for (int i = 0; i < 20000; i++) {
+					String source = "n" + random.nextInt(nodes);
+					String target = "n" + random.nextInt(nodes);
+					int op = random.nextInt(10);
+					if (op == 0)
+						g.removeNode(source);
+					else if (op == 1)
+						g.removeEdge(source, target, "e" + thread);
+					else
+						g.setEdge(source, target, i, "e" + thread);
+				}
+			}));
+		}
+		for (Future<?> future : futures)
+			future.get();
+		executor.shutdown();
+
+		assertConsistent(g);
+	}
+
+	private static void assertConsistent(ConcurrentGraph<String, Integer> g) {
+		Set<String> nodeIds = new HashSet<>(g.getNodes());
+		Assert.assertEquals(g.nodeCount(), nodeIds.size());
+
+		int outCount = 0;
+		int inCount = 0;
+		for (String nodeId : nodeIds) {
+			for (Edge edge : g.outEdges(nodeId)) {
+				Assert.assertTrue(nodeIds.contains(edge.getTarget()));
+				Assert.assertTrue(g.inEdges(edge.getTarget(), nodeId).contains(edge));
+				Assert.assertTrue(g.predecessors(edge.getTarget()).contains(nodeId));
+				outCount++;
+			}
+			for (Edge edge : g.inEdges(nodeId)) {
+				Assert.assertTrue(g.outEdges(edge.getSource(), nodeId).contains(edge));
+				Assert.assertTrue(g.successors(edge.getSource()).contains(nodeId));
+				inCount++;
+			}
+		}
+		Assert.assertEquals(outCount, g.edgeCount());
+		Assert.assertEquals(inCount, g.edgeCount());
+
+		Graph<String, Integer> copy = g.toGraph();
+		Assert.assertEquals(copy.nodeCount(), g.nodeCount());
+		Assert.assertEquals(copy.edgeCount(), g.edgeCount());
+	}
+}
@@ -0,0 +1,116 @@
+package io.github.openlg.graph;
+
+import io.github.openlg.graphlib.CsrGraph;
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Topsort;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class TestCsrGraph {
+
+	@Test
+	public void testReadApi(){
+		Graph<String, String> g = new Graph<>(true, true, false);
+		g.setNode("a", "a-label");
+		g.setEdge("a", "b", "ab");
+		g.setEdge("a", "b", "ab-foo", "foo");
+		g.setEdge("c", "a", "ca");
+		g.setEdge("b", "c");
+		g.setNode("d");
+		CsrGraph<String, String> frozen = g.freeze();
+
+		// is not affected by later changes
+		g.setEdge("d", "a");
+		g.removeNode("c");
+
+		Assert.assertEquals(frozen.nodeCount(), 4);
+		Assert.assertEquals(frozen.edgeCount(), 4);
+		Assert.assertArrayEquals(frozen.getNodes().toArray(), new String[]{"a", "b", "c", "d"});
+		Assert.assertEquals(frozen.getNode("a"), "a-label");
+		Assert.assertNull(frozen.getNode("x"));
+		Assert.assertTrue(frozen.hasEdge("a", "b"));
+		Assert.assertTrue(frozen.hasEdge("a", "b", "foo"));
+		Assert.assertFalse(frozen.hasEdge("b", "a"));
+		Assert.assertEquals(frozen.getEdge("a", "b", "foo"), "ab-foo");
+		Assert.assertEquals(frozen.getEdge(new Edge("c", "a")), "ca");
+		Assert.assertArrayEquals(frozen.successors("a").toArray(), new String[]{"b"});
+		Assert.assertArrayEquals(frozen.predecessors("a").toArray(), new String[]{"c"});
+		Assert.assertEquals(new HashSet<>(frozen.neighbors("a")), new HashSet<>(List.of("b", "c")));
+		Assert.assertEquals(new HashSet<>(frozen.outEdges("a")), new HashSet<>(List.of(new Edge("a", "b"), new Edge("a", "b", "foo"))));
+		Assert.assertEquals(frozen.inEdges("a", "c"), List.of(new Edge("c", "a")));
+		Assert.assertEquals(frozen.nodeEdges("d").size(), 0);
+		Assert.assertEquals(frozen.getSources(), new HashSet<>(List.of("d")));
+		Assert.assertEquals(frozen.getSinks(), new HashSet<>(List.of("d")));
+		Assert.assertEquals(frozen.findCycles().size(), 1);
+		Assert.assertFalse(frozen.isAcyclic());
+		Assert.assertThrows(Topsort.CycleException.class, frozen::topsort);
+		Assert.assertThrows(UnsupportedOperationException.class, () -> frozen.successors("a").add("x"));
+	}
+
+	@Test
+	public void testCompound(){
+		Graph<String, String> g = new Graph<>(true, false, true);
+		g.setParent("a", "parent");
+		g.setParent("b", "parent");
+		g.setNode("c");
+		CsrGraph<String, String> frozen = g.freeze();
+		Assert.assertEquals(frozen.getParent("a"), "parent");
+		Assert.assertNull(frozen.getParent("parent"));
+		Assert.assertEquals(new HashSet<>(frozen.getChildren("parent")), new HashSet<>(List.of("a", "b")));
+		Assert.assertEquals(new HashSet<>(frozen.getChildren(null)), new HashSet<>(List.of("parent", "c")));
+		Assert.assertNull(frozen.getChildren("x"));
+	}
+
+	@Test
+	public void testMatchesGraph() throws Exception {
+		Random random = new Random(3);
+		Graph<String, Integer> g = new Graph<>(true, true, false);
+		for (int i = 0; i < 5000; i++) {
+			String source = "n" + random.nextInt(500);
+			String target = "n" + random.nextInt(500);
+			if (random.nextInt(5) == 0)
+				g.removeNode(source);
+			else
+				g.setEdge(source, target, i, random.nextBoolean() ? null : "e" + random.nextInt(3));
+		}
+		CsrGraph<String, Integer> frozen = g.freeze();
+		Assert.assertEquals(frozen.getNodes(), new ArrayList<>(g.getNodes()));
+		Assert.assertEquals(new HashSet<>(frozen.getEdges()), new HashSet<>(g.getEdges()));
+		Assert.assertEquals(frozen.tarjan().size(), g.tarjan().size());
+
+		// read concurrently without locks
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			results.add(executor.submit(() -> {
+				for (String nodeId : g.getNodes()) {
+					if (!new HashSet<>(frozen.successors(nodeId)).equals(new HashSet<>(g.successors(nodeId)))
+							|| !new HashSet<>(frozen.predecessors(nodeId)).equals(new HashSet<>(g.predecessors(nodeId)))
+							|| !new HashSet<>(frozen.inEdges(nodeId)).equals(new HashSet<>(g.inEdges(nodeId))))
+						return false;
+					for (Edge edge : g.outEdges(nodeId)) {
+						if (!g.getEdge(edge).equals(frozen.getEdge(edge)))
+							return false;
+					}
+				}
+				return true;
+			}));
+		}
+		for (Future<Boolean> result : results)
+			Assert.assertTrue(result.get());
+		executor.shutdown();
+	}
+}
@@ -2,11 +2,26 @@ package io.github.openlg.graph;
 
 import io.github.openlg.graphlib.Edge;
 import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IllegalOperationException;
+import io.github.openlg.graphlib.algorithms.Tarjan;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -464,6 +479,103 @@ public class TestGraph {
 		Assert.assertArrayEquals(g.neighbors("c").stream().sorted().toArray(), new String[]{"b"});
 	}
 
+	@Test
+	public void testNeighborViews(){
+		Graph<String, String> g = new Graph<>(true, true, false);
+		g.setEdge("a", "b");
+		g.setEdge("a", "b", null, "name");
+		g.setEdge("c", "a");
+		g.setEdge("a", "c");
+
+		// views reflect later changes of the graph
+		Collection<String> successors = g.successors("a");
+		Collection<String> neighbors = g.neighbors("a");
+		Assert.assertEquals(successors.size(), 2);
+		Assert.assertEquals(neighbors.size(), 2);
+		Assert.assertTrue(successors.contains("c"));
+		g.setEdge("a", "d");
+		Assert.assertEquals(successors.size(), 3);
+		Assert.assertArrayEquals(neighbors.stream().sorted().toArray(), new String[]{"b", "c", "d"});
+
+		// views are read-only
+		try {
+			successors.add("e");
+			Assert.fail("views are read-only");
+		} catch (UnsupportedOperationException e) {}
+
+		// snapshots are copies
+		Set<String> snapshot = g.snapshotSuccessors("a");
+		g.removeEdge("a", "d");
+		Assert.assertArrayEquals(snapshot.stream().sorted().toArray(), new String[]{"b", "c", "d"});
+		Assert.assertArrayEquals(successors.stream().sorted().toArray(), new String[]{"b", "c"});
+		Assert.assertArrayEquals(g.snapshotPredecessors("a").toArray(), new String[]{"c"});
+		Assert.assertArrayEquals(g.snapshotNeighbors("a").stream().sorted().toArray(), new String[]{"b", "c"});
+
+		// visits each node once without building a collection
+		List<String> visited = new ArrayList<>();
+		g.forEachSuccessor("a", visited::add);
+		Assert.assertArrayEquals(visited.stream().sorted().toArray(), new String[]{"b", "c"});
+		visited.clear();
+		g.forEachPredecessor("b", visited::add);
+		Assert.assertArrayEquals(visited.toArray(), new String[]{"a"});
+		visited.clear();
+		g.forEachNeighbor("a", visited::add);
+		Assert.assertArrayEquals(visited.stream().sorted().toArray(), new String[]{"b", "c"});
+		visited.clear();
+		g.forEachNeighbor("x", visited::add);
+		Assert.assertEquals(visited.size(), 0);
+
+		// edges come with their values, edges of one pair one after another
+		g.setEdge("a", "c", "ac");
+		List<String> outEdges = new ArrayList<>();
+		g.forEachOutEdge("a", (edge, value) -> outEdges.add(edge.getTarget() + ":" + edge.getName() + ":" + value));
+		Assert.assertEquals(outEdges.size(), 3);
+		Assert.assertEquals(outEdges.get(0).charAt(0), outEdges.get(1).charAt(0));
+		Assert.assertTrue(outEdges.contains("c:null:ac"));
+		List<String> edges = new ArrayList<>();
+		g.forEachEdge((edge, value) -> edges.add(edge.getSource() + edge.getTarget() + ":" + value));
+		Assert.assertArrayEquals(edges.stream().sorted().toArray(), new String[]{"ab:null", "ab:null", "ac:ac", "ca:null"});
+	}
+
+	@Test
+	public void testViewsFailFast(){
+		Graph<String, String> g = new Graph<>();
+		g.setEdge("a", "b");
+		g.setEdge("a", "c");
+		g.setEdge("a", "d");
+		g.setEdge("a", "e");
+		Assert.assertThrows(ConcurrentModificationException.class, () -> {
+			for (Edge e : g.outEdges("a"))
+				g.removeEdge(e);
+		});
+
+		Graph<String, String> path = new Graph<>();
+		path.setPath("a", "b", "c", "d");
+		Assert.assertThrows(ConcurrentModificationException.class, () -> {
+			for (String nodeId : path.getNodes()) {
+				if (nodeId.equals("b"))
+					path.removeNode("c");
+			}
+		});
+		Assert.assertThrows(ConcurrentModificationException.class, () -> {
+			for (String nodeId : path.successors("a"))
+				path.setEdge("a", "x");
+		});
+		Assert.assertThrows(ConcurrentModificationException.class, () -> {
+			for (Edge e : path.getEdges())
+				path.setNode("y");
+		});
+
+		// a retained view of a removed node stays empty when its index is reused
+		Collection<Edge> inEdges = path.inEdges("b");
+		path.removeNode("b");
+		path.setNode("p");
+		path.setEdge("z", "p");
+		Assert.assertTrue(inEdges.isEmpty());
+		Assert.assertFalse(inEdges.iterator().hasNext());
+		Assert.assertFalse(inEdges.contains(new Edge("z", "p")));
+	}
+
 	@Test
 	public void testIsLeaf(){
 		// returns false for connected node in undirected graph
@@ -512,6 +624,35 @@ public class TestGraph {
 				.map(Edge::toString).sorted().toArray());
 	}
 
+	@Test
+	public void testEdgeEquality(){
+		// compares edges field by field
+		Assert.assertEquals(new Edge("a", "b"), new Edge("a", "b", null));
+		Assert.assertEquals(new Edge("a", "b").hashCode(), new Edge("a", "b", null).hashCode());
+		Assert.assertEquals(new Edge("a", "b", "name"), new Edge("a", "b", "name"));
+		Assert.assertNotEquals(new Edge("a", "b"), new Edge("b", "a"));
+		Assert.assertNotEquals(new Edge("a", "b"), new Edge("a", "b", "name"));
+		Assert.assertNotEquals(new Edge("a", "b", "x"), new Edge("a", "b", "y"));
+
+		// equal edges collapse in a hash set
+		Set<Edge> set = new HashSet<>(Arrays.asList(new Edge("a", "b"), new Edge("a", "b"), new Edge("a", "b", "name")));
+		Assert.assertEquals(set.size(), 2);
+
+		// the graph hands out one instance per edge
+		Graph<String, String> g = new Graph<>(true, true, false);
+		g.setEdge("a", "b");
+		g.setEdge("a", "b", null, "name");
+		Edge edge = g.outEdges("a", "b").stream().filter(e -> e.getName() == null).findFirst().get();
+		Assert.assertSame(edge, g.inEdges("b", "a").stream().filter(e -> e.getName() == null).findFirst().get());
+		Assert.assertTrue(g.getEdges().stream().anyMatch(e -> e == edge));
+
+		// edge collections answer contains by value
+		Assert.assertTrue(g.getEdges().contains(new Edge("a", "b", "name")));
+		Assert.assertTrue(g.outEdges("a").contains(new Edge("a", "b")));
+		Assert.assertFalse(g.inEdges("a").contains(new Edge("a", "b")));
+		Assert.assertFalse(g.getEdges().contains(new Edge("b", "a")));
+	}
+
 	@Test
 	public void testSetPath(){
 		// creates a path of multiple edges
@@ -908,4 +1049,240 @@ public class TestGraph {
 		});
 	}
 
+
+	@Test
+	public void testAcyclicMode(){
+		// throws if the graph already has a cycle
+		Graph<String, String> g = new Graph<>();
+		g.setPath("a", "b", "a");
+		Assert.assertThrows(IllegalOperationException.class, () -> g.setAcyclicMode(true));
+		Assert.assertFalse(g.isAcyclicMode());
+
+		// throws if the graph is undirected
+		Assert.assertThrows(IllegalOperationException.class, () -> new Graph<>(false, false, false).setAcyclicMode(true));
+
+		// rejects edges that would create a cycle and keeps the graph unchanged
+		Graph<String, String> dag = new Graph<>();
+		dag.setAcyclicMode(true);
+		dag.setPath("c", "d", "e");
+		dag.setEdge("a", "b");
+		dag.setEdge("b", "c");
+		Assert.assertThrows(IllegalOperationException.class, () -> dag.setEdge("e", "a"));
+		Assert.assertThrows(IllegalOperationException.class, () -> dag.setEdge("f", "f"));
+		Assert.assertFalse(dag.hasEdge("e", "a"));
+		Assert.assertFalse(dag.hasNode("f"));
+		Assert.assertArrayEquals(dag.topsort().toArray(), new String[]{"a", "b", "c", "d", "e"});
+
+		// accepts the edge once the path is removed
+		dag.removeEdge("c", "d");
+		dag.setEdge("e", "a");
+		dag.removeNode("b");
+		List<String> order = dag.topsort();
+		Assert.assertEquals(order.size(), 4);
+		Assert.assertTrue(order.indexOf("e") < order.indexOf("a"));
+		Assert.assertTrue(order.indexOf("d") < order.indexOf("e"));
+
+		// agrees with a full cycle check on random insertions
+		Random random = new Random(11);
+		Graph<String, String> checked = new Graph<>();
+		checked.setAcyclicMode(true);
+		Graph<String, String> plain = new Graph<>();
+		for (int i = 0; i < 3000; i++) {
+			String source = "n" + random.nextInt(60);
+			String target = "n" + random.nextInt(60);
+			if (random.nextInt(10) == 0) {
+				checked.removeNode(source);
+				plain.removeNode(source);
+				continue;
+			}
+			plain.setEdge(source, target);
+			boolean acyclic = plain.isAcyclic();
+			try {
+				checked.setEdge(source, target);
+				Assert.assertTrue(acyclic);
+			} catch (IllegalOperationException e) {
+				Assert.assertFalse(acyclic);
+				plain.removeEdge(source, target);
+			}
+			order = checked.topsort();
+			Assert.assertEquals(order.size(), checked.nodeCount());
+			for (Edge edge : checked.getEdges())
+				Assert.assertTrue(order.indexOf(edge.getSource()) < order.indexOf(edge.getTarget()));
+		}
+	}
+
+
+	@Test
+	public void testSccTracking(){
+		// throws if tracking is not enabled
+		Graph<String, String> g = new Graph<>();
+		Assert.assertThrows(IllegalOperationException.class, () -> g.sccOf("a"));
+
+		// merges components on a new cycle and splits them when it is broken
+		g.setPath("a", "b", "c");
+		g.setSccTracking(true);
+		Assert.assertNotEquals(g.sccOf("a"), g.sccOf("c"));
+		Assert.assertEquals(g.sccOf("x"), -1);
+		g.setEdge("c", "a");
+		Assert.assertEquals(g.sccOf("a"), g.sccOf("b"));
+		Assert.assertEquals(g.sccOf("a"), g.sccOf("c"));
+		Assert.assertEquals(g.findCycles().size(), 1);
+		g.removeEdge("b", "c");
+		Assert.assertNotEquals(g.sccOf("a"), g.sccOf("b"));
+		Assert.assertEquals(g.findCycles().size(), 0);
+		Assert.assertArrayEquals(g.tarjan().stream().map(c -> c.get(0)).toArray(), new String[]{"b", "a", "c"});
+
+		// agrees with Tarjan's algorithm on random updates
+		Random random = new Random(5);
+		for (int i = 0; i < 3000; i++) {
+			String source = "n" + random.nextInt(40);
+			String target = "n" + random.nextInt(40);
+			int op = random.nextInt(10);
+			if (op < 6)
+				g.setEdge(source, target);
+			else if (op < 9)
+				g.removeEdge(source, target);
+			else
+				g.removeNode(source);
+
+			Set<Set<String>> expected = new HashSet<>();
+			new Tarjan().tarjan(g).forEach(c -> expected.add(new HashSet<>(c)));
+			Map<Integer, Set<String>> tracked = new HashMap<>();
+			g.getNodes().forEach(nodeId -> tracked.computeIfAbsent(g.sccOf(nodeId), k -> new HashSet<>()).add(nodeId));
+			Assert.assertEquals(new HashSet<>(tracked.values()), expected);
+
+			// components come in reverse topological order
+			List<List<String>> components = g.tarjan();
+			Map<String, Integer> rank = new HashMap<>();
+			for (int c = 0; c < components.size(); c++)
+				for (String nodeId : components.get(c))
+					rank.put(nodeId, c);
+			for (Edge edge : g.getEdges())
+				Assert.assertTrue(rank.get(edge.getSource()) >= rank.get(edge.getTarget()));
+		}
+	}
+
+	@Test
+	public void testBatch(){
+		Graph<String, String> g = new Graph<>(true, false, true);
+		g.setNode("a", "a-label");
+		g.setParent("b", "a");
+		g.setEdge("a", "b", "ab");
+		g.setEdge("b", "c", "bc");
+
+		g.batch(b -> b.setEdge("c", "d", "cd").removeEdge("a", "b").setNode("a", "a-2").removeNode("x"));
+		Assert.assertEquals(g.getEdge("c", "d"), "cd");
+		Assert.assertFalse(g.hasEdge("a", "b"));
+		Assert.assertEquals(g.getNode("a"), "a-2");
+		Assert.assertEquals(g.edgeCount(), 2);
+
+		// the named edge fails, everything before it is reverted
+		Assert.assertThrows(IllegalOperationException.class, () -> g.batch(b -> b
+				.removeNode("b")
+				.setEdge("c", "d", "cd-2")
+				.setEdge("d", "e")
+				.setNode("a", "a-3")
+				.setEdge("a", "c", null, "foo"), true));
+		Assert.assertEquals(new HashSet<>(g.getNodes()), new HashSet<>(Arrays.asList("a", "b", "c", "d")));
+		Assert.assertEquals(g.getParent("b"), "a");
+		Assert.assertEquals(g.getEdge("b", "c"), "bc");
+		Assert.assertEquals(g.getEdge("c", "d"), "cd");
+		Assert.assertEquals(g.getNode("a"), "a-2");
+		Assert.assertEquals(g.edgeCount(), 2);
+
+		// without rollback the changes before the failure stay
+		Assert.assertThrows(IllegalOperationException.class, () -> g.batch(b -> b
+				.setEdge("d", "e")
+				.setEdge("a", "c", null, "foo")));
+		Assert.assertTrue(g.hasEdge("d", "e"));
+	}
+
+	@Test
+	public void testBatchWithTrackers(){
+		Graph<String, String> g = new Graph<>();
+		g.setPath("a", "b", "c");
+		for (int i = 0; i < 40; i++)
+			g.setNode("x" + i);
+		g.setAcyclicMode(true);
+		g.setSccTracking(true);
+
+		// small batch, applied through the maintained order
+		Assert.assertThrows(IllegalOperationException.class, () -> g.batch(b -> b.setEdge("c", "d").setEdge("d", "a")));
+		Assert.assertTrue(g.hasEdge("c", "d"));
+		Assert.assertFalse(g.hasEdge("d", "a"));
+
+		// large batch, the order is rebuilt and a cycle rejects the whole batch
+		Assert.assertThrows(IllegalOperationException.class, () -> g.batch(b -> {
+			for (int i = 0; i < 100; i++)
+				b.setEdge("n" + i, "n" + (i + 1));
+			b.setEdge("n100", "n0");
+		}));
+		Assert.assertEquals(g.nodeCount(), 44);
+		Assert.assertTrue(g.isAcyclicMode());
+
+		g.batch(b -> {
+			for (int i = 0; i < 100; i++)
+				b.setEdge("n" + i, "n" + (i + 1));
+			b.removeEdge("b", "c");
+		});
+		Assert.assertEquals(g.nodeCount(), 145);
+		Assert.assertEquals(g.topsort().size(), 145);
+		Assert.assertThrows(IllegalOperationException.class, () -> g.setEdge("n100", "n0"));
+
+		g.setAcyclicMode(false);
+		g.batch(b -> {
+			for (int i = 0; i < 100; i++)
+				b.setEdge("n" + (i + 1), "n" + i);
+		});
+		Assert.assertEquals(g.sccOf("n0"), g.sccOf("n100"));
+		Assert.assertNotEquals(g.sccOf("a"), g.sccOf("b"));
+		Assert.assertEquals(g.findCycles().size(), 1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOffHeap() throws IOException, ClassNotFoundException {
+		Graph<String, String> heap = new Graph<>(true, true, false);
+		Graph<String, String> offHeap = new Graph<>(true, true, false, true);
+		Assert.assertTrue(offHeap.isOffHeap());
+		Assert.assertFalse(heap.isOffHeap());
+
+		// the same changes give the same graph
+		Random random = new Random(20);
+		for (int i = 0; i < 20000; i++) {
+			String source = "n" + random.nextInt(300);
+			String target = "n" + random.nextInt(300);
+			String name = random.nextInt(4) == 0 ? "name" + random.nextInt(3) : null;
+			boolean removeNode = random.nextInt(20) == 0;
+			for (Graph<String, String> g : Arrays.asList(heap, offHeap)) {
+				if (removeNode)
+					g.removeNode(source);
+				else if (i % 3 == 0)
+					g.removeEdge(source, target, name);
+				else
+					g.setEdge(source, target, source + target, name);
+			}
+		}
+		Graph<String, String> copy;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(offHeap);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (Graph<String, String>) in.readObject();
+		}
+
+		for (Graph<String, String> g : Arrays.asList(offHeap, copy)) {
+			Assert.assertEquals(new ArrayList<>(g.getNodes()), new ArrayList<>(heap.getNodes()));
+			Assert.assertEquals(new HashSet<>(g.getEdges()), new HashSet<>(heap.getEdges()));
+			for (Edge edge : heap.getEdges())
+				Assert.assertEquals(g.getEdge(edge), heap.getEdge(edge));
+			for (String node : heap.getNodes()) {
+				Assert.assertEquals(new HashSet<>(g.successors(node)), new HashSet<>(heap.successors(node)));
+				Assert.assertEquals(new HashSet<>(g.inEdges(node)), new HashSet<>(heap.inEdges(node)));
+			}
+			Assert.assertEquals(g.tarjan(), heap.tarjan());
+		}
+		Assert.assertTrue(copy.isOffHeap());
+	}
 }
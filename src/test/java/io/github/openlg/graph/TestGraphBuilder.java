@@ -0,0 +1,92 @@
+package io.github.openlg.graph;
+
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+import io.github.openlg.graphlib.IllegalOperationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class TestGraphBuilder {
+
+	@Test
+	public void testBuild(){
+		Graph<String, String> g = new GraphBuilder<String, String>(true, true, 4, 4)
+				.addNode("d", "d-label")
+				.addEdge("a", "b", "ab")
+				.addEdge("a", "b", "ab-foo", "foo")
+				.addEdge("a", "b", "ab-2")
+				.addEdges(new String[]{"b", "c"}, new String[]{"c", "a"}, null)
+				.build();
+
+		Assert.assertEquals(new ArrayList<>(g.getNodes()), List.of("d", "a", "b", "c"));
+		Assert.assertEquals(g.getNode("d"), "d-label");
+		Assert.assertEquals(g.edgeCount(), 4);
+		Assert.assertEquals(g.getEdge("a", "b"), "ab-2");
+		Assert.assertEquals(g.getEdge("a", "b", "foo"), "ab-foo");
+		Assert.assertTrue(g.hasEdge("c", "a"));
+		Assert.assertEquals(g.findCycles().size(), 1);
+
+		// the result is an ordinary graph
+		g.setEdge("d", "a");
+		g.removeNode("b");
+		Assert.assertEquals(g.edgeCount(), 2);
+	}
+
+	@Test
+	public void testErrors(){
+		Assert.assertThrows(IllegalOperationException.class,
+				() -> new GraphBuilder<String, String>().addEdge("a", "b", null, "foo"));
+
+		GraphBuilder<String, String> builder = new GraphBuilder<>();
+		builder.addEdge("a", "b").build();
+		Assert.assertThrows(IllegalOperationException.class, builder::build);
+		Assert.assertThrows(IllegalOperationException.class, () -> builder.addNode("c"));
+
+		// nodes are numbered in order of creation
+		GraphBuilder<String, String> indexed = new GraphBuilder<>();
+		int a = indexed.node("a");
+		int b = indexed.node("b");
+		Assert.assertEquals(indexed.node("a"), a);
+		Assert.assertEquals(b, 1);
+		Assert.assertThrows(IllegalArgumentException.class, () -> indexed.addEdge(a, 2, null, null));
+		Assert.assertEquals(indexed.addEdge(b, a, "ba", null).build().getEdge("b", "a"), "ba");
+	}
+
+	@Test
+	public void testSameAsSetEdge(){
+		for (boolean directed : new boolean[]{true, false}) {
+			Random random = new Random(3);
+			Graph<String, Integer> expected = new Graph<>(directed, false, false);
+			List<String[]> tuples = new ArrayList<>();
+			for (int i = 0; i < 5000; i++) {
+				String source = "n" + random.nextInt(500);
+				String target = "n" + random.nextInt(500);
+				expected.setEdge(source, target, i);
+				tuples.add(new String[]{source, target, String.valueOf(i)});
+			}
+
+			Graph<String, Integer> g = new GraphBuilder<String, Integer>(directed, false, 0, 0)
+					.addEdges(tuples.stream(), t -> t[0], t -> t[1], t -> Integer.valueOf(t[2]))
+					.build();
+
+			Assert.assertEquals(new ArrayList<>(g.getNodes()), new ArrayList<>(expected.getNodes()));
+			Assert.assertEquals(new HashSet<>(g.getEdges()), new HashSet<>(expected.getEdges()));
+			for (Edge edge : expected.getEdges())
+				Assert.assertEquals(g.getEdge(edge), expected.getEdge(edge));
+			for (String node : expected.getNodes()) {
+				Assert.assertEquals(new HashSet<>(g.successors(node)), new HashSet<>(expected.successors(node)));
+				Assert.assertEquals(new HashSet<>(g.predecessors(node)), new HashSet<>(expected.predecessors(node)));
+			}
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package io.github.openlg.graph;
+
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphSnapshot;
+import io.github.openlg.graphlib.IllegalOperationException;
+import io.github.openlg.graphlib.VersionedGraph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author lg
+ * Create by lg on 10/16/26
+ */
+public class TestVersionedGraph {
+
+	@Test
+	public void testSnapshot(){
+		VersionedGraph<String, String> g = new VersionedGraph<>(true, true);
+		g.setNode("a", "a-label");
+		g.setEdge("a", "b", "ab");
+		g.setEdge("a", "b", "ab-foo", "foo");
+		g.setPath("b", "c", "a");
+		GraphSnapshot<String, String> first = g.snapshot();
+
+		g.removeNode("c");
+		g.setEdge("a", "b", "ab-2");
+		g.setNode("a", "a-label-2");
+		GraphSnapshot<String, String> second = g.snapshot();
+
+		Assert.assertEquals(first.nodeCount(), 3);
+		Assert.assertEquals(first.edgeCount(), 4);
+		Assert.assertEquals(first.getNode("a"), "a-label");
+		Assert.assertEquals(first.getEdge("a", "b"), "ab");
+		Assert.assertEquals(first.getEdge("a", "b", "foo"), "ab-foo");
+		Assert.assertEquals(first.outEdges("a").size(), 2);
+		Assert.assertEquals(first.successors("b"), List.of("c"));
+		Assert.assertEquals(first.findCycles().size(), 1);
+
+		Assert.assertEquals(second.nodeCount(), 2);
+		Assert.assertEquals(second.edgeCount(), 2);
+		Assert.assertEquals(second.getNode("a"), "a-label-2");
+		Assert.assertEquals(second.getEdge("a", "b"), "ab-2");
+		Assert.assertFalse(second.hasNode("c"));
+		Assert.assertTrue(second.successors("b").isEmpty());
+		Assert.assertTrue(second.isAcyclic());
+		Assert.assertEquals(second.topsort(), List.of("a", "b"));
+		Assert.assertTrue(second.version() > first.version());
+
+		Assert.assertSame(g.snapshot(), second);
+		Assert.assertThrows(IllegalOperationException.class,
+				() -> new VersionedGraph<String, String>().setEdge("a", "b", null, "foo"));
+	}
+
+	@Test
+	public void testHashCollisions(){
+		// "Aa" and "BB" have the same hash code, so do all strings built from them
+		VersionedGraph<String, String> g = new VersionedGraph<>();
+		String[] ids = {"AaAa", "AaBB", "BBAa", "BBBB"};
+		g.setPath(ids);
+		for (String id : ids)
+			Assert.assertTrue(g.hasNode(id));
+		g.removeNode("AaBB");
+		Assert.assertFalse(g.hasNode("AaBB"));
+		Assert.assertTrue(g.hasEdge("BBAa", "BBBB"));
+		Assert.assertEquals(g.nodeCount(), 3);
+		Assert.assertEquals(g.edgeCount(), 1);
+	}
+
+	@Test
+	public void testAgainstGraph(){
+		Random random = new Random(42);
+		VersionedGraph<Integer, Integer> g = new VersionedGraph<>(true, true);
+		Graph<Integer, Integer> expected = new Graph<>(true, true, false);
+		List<GraphSnapshot<Integer, Integer>> snapshots = new ArrayList<>();
+		List<Graph<Integer, Integer>> copies = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			String source = "n" + random.nextInt(60);
+			String target = "n" + random.nextInt(60);
+			String name = random.nextBoolean() ? null : "e" + random.nextInt(2);
+			int op = random.nextInt(10);
+			if (op == 0) {
+				g.removeNode(source);
+				expected.removeNode(source);
+			} else if (op < 4) {
+				g.removeEdge(source, target, name);
+				expected.removeEdge(source, target, name);
+			} else {
+				g.setEdge(source, target, i, name);
+				expected.setEdge(source, target, i, name);
+			}
+			if (i % 500 == 0) {
+				snapshots.add(g.snapshot());
+				copies.add(copy(expected));
+			}
+		}
+		snapshots.add(g.snapshot());
+		copies.add(expected);
+
+		// older versions must be unaffected by the later changes
+		for (int i = 0; i < snapshots.size(); i++)
+			assertSameGraph(snapshots.get(i), copies.get(i));
+	}
+
+	@Test
+	public void testReaderWhileWriting() throws Exception {
+		VersionedGraph<Object, Object> g = new VersionedGraph<>();
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					GraphSnapshot<Object, Object> snapshot = g.snapshot();
+					// the writer only adds forward edges, so every version is acyclic and complete
+					Assert.assertEquals(snapshot.topsort().size(), snapshot.nodeCount());
+					int edges = 0;
+					for (String node : snapshot.getNodes())
+						edges += snapshot.outEdges(node).size();
+					Assert.assertEquals(edges, snapshot.edgeCount());
+				}
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		});
+		reader.start();
+		Random random = new Random(1);
+		for (int i = 1; i < 20000; i++) {
+			g.setEdge("n" + random.nextInt(i), "n" + i);
+			if (i % 7 == 0)
+				g.removeEdge("n" + random.nextInt(i), "n" + random.nextInt(i));
+		}
+		done.set(true);
+		reader.join();
+		Assert.assertNull(failure.get());
+	}
+
+	private static Graph<Integer, Integer> copy(Graph<Integer, Integer> graph) {
+		Graph<Integer, Integer> copy = new Graph<>(true, true, false);
+		for (String node : graph.getNodes())
+			copy.setNode(node, graph.getNode(node));
+		for (Edge edge : graph.getEdges())
+			copy.setEdge(edge, graph.getEdge(edge));
+		return copy;
+	}
+
+	private static void assertSameGraph(GraphSnapshot<Integer, Integer> snapshot, Graph<Integer, Integer> expected) {
+		Assert.assertEquals(snapshot.nodeCount(), expected.nodeCount());
+		Assert.assertEquals(snapshot.edgeCount(), expected.edgeCount());
+		Assert.assertEquals(new HashSet<>(snapshot.getNodes()), new HashSet<>(expected.getNodes()));
+		Assert.assertEquals(new HashSet<>(snapshot.getEdges()), new HashSet<>(expected.getEdges()));
+		for (Edge edge : expected.getEdges())
+			Assert.assertEquals(snapshot.getEdge(edge), expected.getEdge(edge));
+		for (String node : expected.getNodes()) {
+			Assert.assertEquals(new HashSet<>(snapshot.successors(node)), new HashSet<>(expected.successors(node)));
+			Assert.assertEquals(new HashSet<>(snapshot.predecessors(node)), new HashSet<>(expected.predecessors(node)));
+			Assert.assertEquals(new HashSet<>(snapshot.inEdges(node)), new HashSet<>(expected.inEdges(node)));
+		}
+		Assert.assertEquals(new Tarjan().tarjan(snapshot).size(), new Tarjan().tarjan(expected).size());
+	}
+}
@@ -5,7 +5,9 @@ import io.github.openlg.graphlib.algorithms.Components;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author lg<lirufei0808 @ gmail.com>
@@ -51,4 +53,58 @@ public class TestComponents {
 
     }
 
+    @Test
+    public void testComponentSets() {
+        Graph<String, String> g = new Graph<>();
+        g.setPath("a", "b", "c");
+        g.setNode("d");
+        g.setEdge("f", "e");
+        g.removeNode("d");
+        g.setEdge("g", "a");
+
+        // labels components by their first node
+        int[] labels = new Components().componentLabels(g);
+        Assert.assertEquals(labels[g.indexOf("a")], 0);
+        Assert.assertEquals(labels[g.indexOf("c")], 0);
+        Assert.assertEquals(labels[g.indexOf("g")], 0);
+        Assert.assertEquals(labels[g.indexOf("f")], 1);
+        Assert.assertEquals(labels[g.indexOf("e")], 1);
+
+        List<Set<String>> sets = new Components().componentSets(g);
+        Assert.assertEquals(sets.size(), 2);
+        Assert.assertArrayEquals(sets.get(0).toArray(), new String[]{"a", "b", "c", "g"});
+        Assert.assertArrayEquals(sets.get(1).toArray(), new String[]{"f", "e"});
+
+        // handles long paths
+        g = new Graph<>();
+        for (int i = 1; i < 200000; i++) {
+            g.setEdge(String.valueOf(i - 1), String.valueOf(i));
+        }
+        Assert.assertEquals(new Components().componentSets(g).size(), 1);
+    }
+
+    @Test
+    public void testSubgraph() {
+        // keeps named edges of a multigraph
+        Graph<String, String> g = new Graph<>(true, true, false);
+        g.setNode("a", "a-label");
+        g.setEdge("a", "b", "x", "first");
+        g.setEdge("a", "b", "y", "second");
+        g.setEdge("c", "d");
+
+        List<Graph<String, String>> graphList = new Components().getComponents(g);
+        Assert.assertEquals(graphList.size(), 2);
+        Graph<String, String> component = graphList.get(0);
+        Assert.assertTrue(component.isMultiGraph());
+        Assert.assertEquals(component.getNode("a"), "a-label");
+        Assert.assertEquals(component.edgeCount(), 2);
+        Assert.assertEquals(component.getEdge("a", "b", "first"), "x");
+        Assert.assertEquals(component.getEdge("a", "b", "second"), "y");
+
+        // copies only the requested nodes
+        Graph<String, String> subgraph = new Components().subgraph(g, Arrays.asList("a", "c"));
+        Assert.assertEquals(subgraph.nodeCount(), 2);
+        Assert.assertEquals(subgraph.edgeCount(), 0);
+    }
+
 }
@@ -0,0 +1,125 @@
+package io.github.openlg.graph.alg;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.IllegalOperationException;
+import io.github.openlg.graphlib.algorithms.DagPaths;
+import io.github.openlg.graphlib.algorithms.Topsort;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestDagPaths {
+
+    @Test
+    public void testDagPaths() {
+        // build pipeline with durations on the edges
+        Graph<String, Integer> graph = new Graph<>(true, true, false);
+        graph.setEdge("checkout", "compile", 2);
+        graph.setEdge("checkout", "lint", 1);
+        graph.setEdge("compile", "test", 5);
+        graph.setEdge("compile", "package", 1);
+        graph.setEdge("lint", "package", 1);
+        graph.setEdge("lint", "package", 9, "slow");
+        graph.setEdge("test", "deploy", 1);
+        graph.setEdge("package", "deploy", 3);
+        graph.setNode("docs");
+
+        DagPaths dag = new DagPaths();
+        DagPaths.Paths shortest = dag.shortest(graph, "checkout", Integer::doubleValue);
+        Assert.assertEquals(shortest.distance("package"), 2, 0);
+        Assert.assertEquals(shortest.distance("deploy"), 5, 0);
+        Assert.assertEquals(shortest.path("deploy"), Arrays.asList("checkout", "lint", "package", "deploy"));
+        Assert.assertEquals(shortest.distance("docs"), Double.POSITIVE_INFINITY, 0);
+        Assert.assertEquals(shortest.path("docs"), Collections.emptyList());
+        Assert.assertEquals(shortest.predecessors()[graph.indexOf("checkout")], -1);
+
+        DagPaths.Paths longest = dag.longest(graph, "checkout", Integer::doubleValue);
+        Assert.assertEquals(longest.distance("package"), 10, 0);
+        Assert.assertEquals(longest.distance("deploy"), 13, 0);
+        Assert.assertEquals(longest.distance("docs"), Double.NEGATIVE_INFINITY, 0);
+
+        DagPaths.Paths earliest = dag.longest(graph, Integer::doubleValue);
+        Assert.assertEquals(earliest.distance("docs"), 0, 0);
+        Assert.assertEquals(earliest.distance("test"), 7, 0);
+        Assert.assertEquals(earliest.distances()[graph.indexOf("deploy")], 13, 0);
+        Assert.assertEquals(dag.criticalPath(graph, Integer::doubleValue),
+                Arrays.asList("checkout", "lint", "package", "deploy"));
+        Assert.assertEquals(dag.criticalPath(new Graph<String, Integer>(), Integer::doubleValue), Collections.emptyList());
+
+        graph.setEdge("deploy", "checkout", 1);
+        Assert.assertThrows(Topsort.CycleException.class, () -> dag.longest(graph, Integer::doubleValue));
+        Assert.assertThrows(IllegalOperationException.class,
+                () -> dag.longest(new Graph<String, Integer>(false, false, false), Integer::doubleValue));
+        Assert.assertThrows(IllegalArgumentException.class, () -> dag.shortest(graph, "missing", Integer::doubleValue));
+    }
+
+    @Test
+    public void testRandomDags() {
+        Random random = new Random(2);
+        DagPaths dag = new DagPaths();
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(40);
+            Graph<String, Double> graph = new Graph<>();
+            for (int i = 0; i < n; i++) {
+                graph.setNode("n" + i);
+            }
+            // edges only go from lower to higher numbers, weights may be negative
+            for (int i = random.nextInt(n * 3); i > 0; i--) {
+                int v = random.nextInt(n);
+                int w = random.nextInt(n);
+                if (v != w) {
+                    graph.setEdge("n" + Math.min(v, w), "n" + Math.max(v, w), (double) (random.nextInt(21) - 10));
+                }
+            }
+
+            int source = random.nextInt(n);
+            double[] shortest = bruteForce(graph, n, source, false);
+            double[] longest = bruteForce(graph, n, source, true);
+            DagPaths.Paths s = dag.shortest(graph, "n" + source, Double::doubleValue);
+            DagPaths.Paths l = dag.longest(graph, "n" + source, Double::doubleValue);
+            for (int t = 0; t < n; t++) {
+                Assert.assertEquals(s.distance("n" + t), shortest[t], 0);
+                Assert.assertEquals(l.distance("n" + t), longest[t], 0);
+                Assert.assertEquals(pathLength(graph, s, "n" + t), shortest[t], 0);
+                Assert.assertEquals(pathLength(graph, l, "n" + t), longest[t], 0);
+            }
+        }
+    }
+
+    private static double pathLength(Graph<String, Double> graph, DagPaths.Paths paths, String target) {
+        double length = 0;
+        String previous = null;
+        for (String node : paths.path(target)) {
+            if (previous != null) {
+                length += graph.getEdge(previous, node);
+            }
+            previous = node;
+        }
+        return previous == null ? paths.distance(target) : length;
+    }
+
+    /**
+     * Relaxes along the node numbers, which are a topological order of the random graphs.
+     */
+    private static double[] bruteForce(Graph<String, Double> graph, int n, int source, boolean longest) {
+        double[] d = new double[n];
+        Arrays.fill(d, longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        d[source] = 0;
+        for (int v = 0; v < n; v++) {
+            for (int w = v + 1; w < n; w++) {
+                Double weight = graph.getEdge("n" + v, "n" + w);
+                if (weight != null && !Double.isInfinite(d[v])) {
+                    d[w] = longest ? Math.max(d[w], d[v] + weight) : Math.min(d[w], d[v] + weight);
+                }
+            }
+        }
+        return d;
+    }
+}
@@ -31,4 +31,27 @@ public class TestIsAcyclic {
         // rethrows non-CycleException errors
         Assert.assertThrows(NullPointerException.class, () -> new IsAcyclic().isAcyclic(null));
     }
+
+    @Test
+    public void testDepthFirstSearch() {
+        // returns true if paths meet again without a cycle
+        Graph<String, String> graph = new Graph<>();
+        graph.setPath("a", "b", "d");
+        graph.setPath("a", "c", "d");
+        graph.setEdge("e", "b");
+        Assert.assertTrue(new IsAcyclic().isAcyclic(graph));
+
+        // returns false for a cycle that is only reachable from a later root
+        graph.setPath("f", "g", "h", "g");
+        Assert.assertFalse(new IsAcyclic().isAcyclic(graph));
+
+        // handles long paths
+        graph = new Graph<>();
+        for (int i = 1; i < 200000; i++) {
+            graph.setEdge(String.valueOf(i - 1), String.valueOf(i));
+        }
+        Assert.assertTrue(new IsAcyclic().isAcyclic(graph));
+        graph.setEdge("199999", "0");
+        Assert.assertFalse(new IsAcyclic().isAcyclic(graph));
+    }
 }
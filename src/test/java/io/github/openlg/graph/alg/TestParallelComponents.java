@@ -0,0 +1,57 @@
+package io.github.openlg.graph.alg;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Components;
+import io.github.openlg.graphlib.algorithms.ParallelComponents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestParallelComponents {
+
+    @Test
+    public void test() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // returns an empty list for an empty graph
+        Graph<String, String> g = new Graph<>();
+        Assert.assertEquals(new ParallelComponents().componentSets(g, pool).size(), 0);
+
+        // returns nodes connected by a neighbor relationship in a digraph
+        g.setPath("a", "b", "c", "a");
+        g.setEdge("d", "c");
+        g.setEdge("e", "f");
+        g.setNode("g");
+        List<Set<String>> sets = new ParallelComponents().componentSets(g, pool);
+        Assert.assertEquals(sets.size(), 3);
+        Assert.assertArrayEquals(sets.get(0).toArray(), new String[]{"a", "b", "c", "d"});
+        Assert.assertArrayEquals(sets.get(1).toArray(), new String[]{"e", "f"});
+        Assert.assertArrayEquals(sets.get(2).toArray(), new String[]{"g"});
+
+        // matches the sequential union-find on large sparse graphs
+        Random random = new Random(7);
+        for (int round = 0; round < 5; round++) {
+            g = new Graph<>();
+            int nodes = 100000;
+            for (int i = 0; i < nodes; i++) {
+                g.setNode("n" + i);
+            }
+            for (int i = 0; i < nodes * (round + 1) / 4; i++) {
+                g.setEdge("n" + random.nextInt(nodes), "n" + random.nextInt(nodes));
+            }
+            for (int i = 0; i < 1000; i++) {
+                g.removeNode("n" + random.nextInt(nodes));
+            }
+            Assert.assertArrayEquals(new ParallelComponents().componentLabels(g, pool), new Components().componentLabels(g));
+        }
+        pool.shutdown();
+    }
+}
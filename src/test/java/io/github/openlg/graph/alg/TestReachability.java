@@ -0,0 +1,100 @@
+package io.github.openlg.graph.alg;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Reachability;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestReachability {
+
+    @Test
+    public void testCanReach() {
+        Graph<String, String> graph = new Graph<>();
+        graph.setPath("a", "b", "c", "d");
+        graph.setEdge("a", "x");
+        graph.setEdge("y", "d");
+        graph.setNode("alone");
+
+        Reachability reachability = new Reachability();
+        Assert.assertTrue(reachability.canReach(graph, "a", "d"));
+        Assert.assertFalse(reachability.canReach(graph, "d", "a"));
+        Assert.assertFalse(reachability.canReach(graph, "x", "d"));
+        Assert.assertTrue(reachability.canReach(graph, "y", "d"));
+        Assert.assertTrue(reachability.canReach(graph, "alone", "alone"));
+        Assert.assertFalse(reachability.canReach(graph, "alone", "a"));
+
+        // bounded depth counts edges
+        Assert.assertTrue(reachability.canReach(graph, "a", "d", 3));
+        Assert.assertFalse(reachability.canReach(graph, "a", "d", 2));
+        Assert.assertTrue(reachability.canReach(graph, "a", "a", 0));
+        Assert.assertFalse(reachability.canReach(graph, "a", "b", 0));
+
+        // undirected graphs and snapshots follow edges both ways
+        Graph<String, String> undirected = new Graph<>(false, false, false);
+        undirected.setPath("a", "b", "c");
+        undirected.setEdge("d", "c");
+        Assert.assertTrue(reachability.canReach(undirected, "d", "a"));
+        Assert.assertTrue(reachability.canReach(undirected.freeze(), "a", "d"));
+        Assert.assertTrue(reachability.canReach(graph.freeze(), "a", "d"));
+        Assert.assertFalse(reachability.canReach(graph.freeze(), "d", "a"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> reachability.canReach(graph, "a", "missing"));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(6);
+        Reachability reachability = new Reachability();
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(80);
+            Graph<String, String> graph = new Graph<>(random.nextInt(4) != 0, false, false);
+            for (int i = 0; i < n; i++) {
+                graph.setNode("n" + i);
+            }
+            for (int i = random.nextInt(n * 2); i > 0; i--) {
+                graph.setEdge("n" + random.nextInt(n), "n" + random.nextInt(n));
+            }
+            // removed nodes leave unused indices behind
+            graph.removeNode("n" + random.nextInt(n));
+
+            for (String from : graph.getNodes()) {
+                int[] depth = bfs(graph, graph.indexOf(from));
+                for (String to : graph.getNodes()) {
+                    int d = depth[graph.indexOf(to)];
+                    Assert.assertEquals(reachability.canReach(graph, from, to), d != -1);
+                    int maxDepth = random.nextInt(6);
+                    Assert.assertEquals(reachability.canReach(graph, from, to, maxDepth), d != -1 && d <= maxDepth);
+                }
+            }
+        }
+    }
+
+    private static int[] bfs(Graph<String, String> graph, int from) {
+        int[] depth = new int[graph.nodeBound()];
+        Arrays.fill(depth, -1);
+        depth[from] = 0;
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (String next : graph.isDirected() ? graph.successors(graph.nodeIdAt(node))
+                    : graph.neighbors(graph.nodeIdAt(node))) {
+                int index = graph.indexOf(next);
+                if (depth[index] == -1) {
+                    depth[index] = depth[node] + 1;
+                    queue.add(index);
+                }
+            }
+        }
+        return depth;
+    }
+}
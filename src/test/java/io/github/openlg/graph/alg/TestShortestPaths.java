@@ -0,0 +1,146 @@
+package io.github.openlg.graph.alg;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.ShortestPaths;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestShortestPaths {
+
+    @Test
+    public void testShortestPaths() {
+        Graph<String, Double> graph = new Graph<>(true, true, false);
+        graph.setEdge("a", "b", 4.0);
+        graph.setEdge("a", "c", 1.0);
+        graph.setEdge("c", "b", 2.0);
+        graph.setEdge("b", "d", 1.0);
+        graph.setEdge("b", "d", 0.5, "shortcut");
+        graph.setEdge("d", "a", 1.0);
+        graph.setNode("e");
+
+        ShortestPaths paths = new ShortestPaths(graph, Double::doubleValue);
+        Assert.assertEquals(paths.distance("a", "d"), 3.5, 0);
+        Assert.assertEquals(paths.path("a", "d"), Arrays.asList("a", "c", "b", "d"));
+        Assert.assertEquals(paths.path("a", "a"), Collections.singletonList("a"));
+        Assert.assertEquals(paths.distance("a", "e"), Double.POSITIVE_INFINITY, 0);
+        Assert.assertEquals(paths.path("a", "e"), Collections.emptyList());
+
+        double[] distances = paths.distances("c");
+        Assert.assertEquals(distances[graph.indexOf("b")], 2.0, 0);
+        Assert.assertEquals(distances[graph.indexOf("a")], 3.5, 0);
+        Assert.assertEquals(distances[graph.indexOf("e")], Double.POSITIVE_INFINITY, 0);
+        int[] predecessors = paths.predecessors();
+        Assert.assertEquals(predecessors[graph.indexOf("a")], graph.indexOf("d"));
+        Assert.assertEquals(predecessors[graph.indexOf("c")], -1);
+
+        // undirected edges are followed both ways
+        Graph<String, Integer> undirected = new Graph<>(false, false, false);
+        undirected.setEdge("x", "y", 2);
+        undirected.setEdge("z", "y", 3);
+        ShortestPaths both = new ShortestPaths(undirected, Integer::doubleValue);
+        Assert.assertEquals(both.path("z", "x"), Arrays.asList("z", "y", "x"));
+        Assert.assertEquals(both.distance("x", "z"), 5, 0);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> paths.distance("a", "missing"));
+        graph.setEdge("e", "a", -1.0);
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ShortestPaths(graph, Double::doubleValue));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(60);
+            Graph<String, Double> graph = new Graph<>(random.nextBoolean(), false, false);
+            for (int i = 0; i < n; i++) {
+                graph.setNode("n" + i);
+            }
+            for (int i = random.nextInt(n * 4); i > 0; i--) {
+                graph.setEdge("n" + random.nextInt(n), "n" + random.nextInt(n), (double) random.nextInt(10));
+            }
+            double[][] expected = floydWarshall(graph, n);
+
+            ShortestPaths paths = new ShortestPaths(graph, Double::doubleValue);
+            for (int s = 0; s < n; s++) {
+                double[] distances = paths.distances("n" + s);
+                for (int t = 0; t < n; t++) {
+                    Assert.assertEquals(distances[graph.indexOf("n" + t)], expected[s][t], 0);
+                    Assert.assertEquals(paths.distance("n" + s, "n" + t), expected[s][t], 0);
+                    // the zero heuristic is admissible, A* must agree
+                    Assert.assertEquals(paths.distance("n" + s, "n" + t, node -> 0), expected[s][t], 0);
+
+                    double length = 0;
+                    String previous = null;
+                    for (String node : paths.path("n" + s, "n" + t)) {
+                        if (previous != null) {
+                            Double weight = graph.getEdge(previous, node);
+                            length += weight != null ? weight : graph.getEdge(node, previous);
+                        }
+                        previous = node;
+                    }
+                    Assert.assertEquals(previous == null ? Double.POSITIVE_INFINITY : length, expected[s][t], 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAStar() {
+        // grid with euclidean coordinates, every edge at least as long as the straight line
+        int size = 40;
+        Random random = new Random(5);
+        Graph<double[], Double> graph = new Graph<>(false, false, false);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                graph.setNode(x + "," + y, new double[]{x, y});
+                if (x > 0)
+                    graph.setEdge((x - 1) + "," + y, x + "," + y, 1 + random.nextDouble());
+                if (y > 0)
+                    graph.setEdge(x + "," + (y - 1), x + "," + y, 1 + random.nextDouble());
+            }
+        }
+        ShortestPaths paths = new ShortestPaths(graph, Double::doubleValue);
+        for (int i = 0; i < 50; i++) {
+            String source = random.nextInt(size) + "," + random.nextInt(size);
+            String target = random.nextInt(size) + "," + random.nextInt(size);
+            double[] to = graph.getNode(target);
+            double expected = paths.distance(source, target);
+            double astar = paths.distance(source, target, node -> {
+                double[] at = graph.getNode(graph.nodeIdAt(node));
+                return Math.hypot(at[0] - to[0], at[1] - to[1]);
+            });
+            Assert.assertEquals(astar, expected, 1e-9);
+        }
+    }
+
+    private static double[][] floydWarshall(Graph<String, Double> graph, int n) {
+        double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(d[i], Double.POSITIVE_INFINITY);
+            d[i][i] = 0;
+        }
+        graph.forEachEdge((edge, weight) -> {
+            int v = Integer.parseInt(edge.getSource().substring(1));
+            int w = Integer.parseInt(edge.getTarget().substring(1));
+            d[v][w] = Math.min(d[v][w], weight);
+            if (!graph.isDirected())
+                d[w][v] = Math.min(d[w][v], weight);
+        });
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+                }
+            }
+        }
+        return d;
+    }
+}
@@ -56,6 +56,25 @@ public class TestTarjan {
         Assert.assertArrayEquals(list.get(1).stream().sorted().toArray(), new String[]{"a", "b"});
         Assert.assertArrayEquals(list.get(2).stream().sorted().toArray(), new String[]{"c", "d", "e"});
 
+        // labels components in reverse topological order
+        g = new Graph<>();
+        g.setPath("a", "b", "a");
+        g.setEdge("b", "c");
+        int[] ids = new Tarjan().componentIds(g);
+        Assert.assertEquals(ids[g.indexOf("a")], ids[g.indexOf("b")]);
+        Assert.assertTrue(ids[g.indexOf("b")] > ids[g.indexOf("c")]);
+
+        // does not overflow the stack on long chains
+        g = new Graph<>();
+        int length = 200000;
+        for (int i = 1; i < length; i++) {
+            g.setEdge(String.valueOf(i - 1), String.valueOf(i));
+        }
+        Assert.assertEquals(g.tarjan().size(), length);
+        g.setEdge(String.valueOf(length - 1), "0");
+        list = g.tarjan();
+        Assert.assertEquals(list.size(), 1);
+        Assert.assertEquals(list.get(0).size(), length);
     }
 
 }
@@ -6,6 +6,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author lg&lt;lirufei0808@gmail.com&gt;
@@ -51,5 +52,84 @@ public class TestTopsort {
         graph.setNode("d");
         Assert.assertThrows(Topsort.CycleException.class, graph::topsort);
 
+        // reports the cycle
+        graph = new Graph<>();
+        graph.setPath("x", "b", "c", "a", "b");
+        try {
+            graph.topsort();
+            Assert.fail("reports the cycle");
+        } catch (Topsort.CycleException e) {
+            List<String> cycle = e.getCycle();
+            Assert.assertArrayEquals(cycle.stream().sorted().toArray(), new String[]{"a", "b", "c"});
+            for (int i = 0; i < cycle.size(); i++) {
+                Assert.assertTrue(graph.hasEdge(cycle.get(i), cycle.get((i + 1) % cycle.size())));
+            }
+        }
+        graph = new Graph<>();
+        graph.setPath("a", "a");
+        try {
+            graph.topsort();
+            Assert.fail("reports a cycle of 1 node");
+        } catch (Topsort.CycleException e) {
+            Assert.assertArrayEquals(e.getCycle().toArray(), new String[]{"a"});
+        }
+
+        // breaks ties by insertion order or lexicographically
+        graph = new Graph<>();
+        graph.setNode("c");
+        graph.setNode("a");
+        graph.setNode("d");
+        graph.setNode("b");
+        graph.setEdge("d", "b");
+        graph.removeNode("c");
+        graph.setNode("e");
+        Assert.assertArrayEquals(new Topsort().topsort(graph, Topsort.Order.INSERTION).toArray(), new String[]{"a", "d", "b", "e"});
+        Assert.assertArrayEquals(new Topsort().topsort(graph, Topsort.Order.LEXICOGRAPHIC).toArray(), new String[]{"a", "d", "b", "e"});
+        graph.setEdge("e", "a");
+        Assert.assertArrayEquals(new Topsort().topsort(graph, Topsort.Order.LEXICOGRAPHIC).toArray(), new String[]{"d", "b", "e", "a"});
+
+        // does not overflow the stack on long chains
+        graph = new Graph<>();
+        for (int i = 1; i < 200000; i++) {
+            graph.setEdge(String.valueOf(i - 1), String.valueOf(i));
+        }
+        list = graph.topsort();
+        Assert.assertEquals(list.size(), 200000);
+        Assert.assertEquals(list.get(0), "0");
+        Assert.assertEquals(list.get(199999), "199999");
+    }
+
+    @Test
+    public void testLevels() {
+        // returns no levels for an empty graph
+        Graph<String, String> graph = new Graph<>();
+        Assert.assertEquals(new Topsort().levels(graph).size(), 0);
+
+        // groups nodes whose predecessors are done
+        graph.setPath("a", "b", "d");
+        graph.setPath("a", "c", "d");
+        graph.setEdge("a", "d");
+        graph.setNode("e");
+        List<List<String>> levels = new Topsort().levels(graph);
+        Assert.assertEquals(levels.size(), 3);
+        Assert.assertArrayEquals(levels.get(0).toArray(), new String[]{"a", "e"});
+        Assert.assertArrayEquals(levels.get(1).toArray(), new String[]{"b", "c"});
+        Assert.assertArrayEquals(levels.get(2).toArray(), new String[]{"d"});
+
+        // expands wide frontiers in parallel
+        graph = new Graph<>();
+        for (int i = 0; i < 20000; i++) {
+            graph.setPath("root", "x" + i, "y" + (i % 100), "sink");
+        }
+        levels = new Topsort().levels(graph, new ForkJoinPool(4));
+        Assert.assertEquals(levels.size(), 4);
+        Assert.assertEquals(levels.get(1).size(), 20000);
+        Assert.assertEquals(levels.get(2).size(), 100);
+        Assert.assertArrayEquals(levels.get(3).toArray(), new String[]{"sink"});
+
+        // throws CycleException if there is a cycle
+        Graph<String, String> cyclic = new Graph<>();
+        cyclic.setPath("a", "b", "c", "b");
+        Assert.assertThrows(Topsort.CycleException.class, () -> new Topsort().levels(cyclic));
     }
 }
@@ -0,0 +1,84 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a random DAG edge by edge: plain setEdge, setEdge in acyclic mode, and plain setEdge with a full
+ * isAcyclic check after every batch of edges. Edges are inserted in random order, so the maintained order
+ * has to be repaired regularly.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AcyclicModeBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"4"})
+    private int degree;
+
+    @Param({"1000"})
+    private int batch;
+
+    private String[] sources;
+    private String[] targets;
+
+    @Setup
+    public void setup() {
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        Random random = new Random(42);
+        sources = new String[nodes * degree];
+        targets = new String[nodes * degree];
+        for (int i = 0; i < sources.length; i++) {
+            int a = random.nextInt(nodes);
+            int b = random.nextInt(nodes);
+            while (a == b) {
+                b = random.nextInt(nodes);
+            }
+            sources[i] = ids[Math.min(a, b)];
+            targets[i] = ids[Math.max(a, b)];
+        }
+    }
+
+    @Benchmark
+    public Graph<Object, Object> plain() {
+        Graph<Object, Object> graph = new Graph<>();
+        for (int i = 0; i < sources.length; i++) {
+            graph.setEdge(sources[i], targets[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> acyclicMode() {
+        Graph<Object, Object> graph = new Graph<>();
+        graph.setAcyclicMode(true);
+        for (int i = 0; i < sources.length; i++) {
+            graph.setEdge(sources[i], targets[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> checkEveryBatch() {
+        Graph<Object, Object> graph = new Graph<>();
+        for (int i = 0; i < sources.length; i++) {
+            graph.setEdge(sources[i], targets[i]);
+            if (i % batch == batch - 1 && !graph.isAcyclic()) {
+                throw new IllegalStateException();
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a change set of edge adds and removes one call at a time against one batch, with and without
+ * maintained strongly connected components.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class BatchBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"20000"})
+    private int changes;
+
+    @Param({"false", "true"})
+    private boolean sccTracking;
+
+    private Graph<Object, Object> graph;
+    private String[] sources;
+    private String[] targets;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        graph = BenchmarkGraphs.create("random", nodes, 2);
+        graph.setSccTracking(sccTracking);
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        Random random = new Random(11);
+        sources = new String[changes];
+        targets = new String[changes];
+        for (int i = 0; i < changes; i++) {
+            sources[i] = ids[random.nextInt(nodes)];
+            targets[i] = ids[random.nextInt(nodes)];
+        }
+    }
+
+    @Benchmark
+    public Graph<Object, Object> singleCalls() {
+        for (int i = 0; i < changes; i++) {
+            if ((i & 1) == 0) {
+                graph.setEdge(sources[i], targets[i]);
+            } else {
+                graph.removeEdge(sources[i - 1], targets[i - 1]);
+                graph.removeEdge(sources[i], targets[i]);
+            }
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> batch() {
+        return graph.batch(b -> {
+            for (int i = 0; i < changes; i++) {
+                if ((i & 1) == 0) {
+                    b.setEdge(sources[i], targets[i]);
+                } else {
+                    b.removeEdge(sources[i - 1], targets[i - 1]);
+                    b.removeEdge(sources[i], targets[i]);
+                }
+            }
+        });
+    }
+}
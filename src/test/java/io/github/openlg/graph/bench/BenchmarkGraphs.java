@@ -0,0 +1,82 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+
+import java.util.Random;
+
+/**
+ * Graph shapes shared by the benchmarks.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {
+    }
+
+    static String[] nodeIds(int nodes) {
+        String[] ids = new String[nodes];
+        for (int i = 0; i < nodes; i++) {
+            ids[i] = "node-" + i;
+        }
+        return ids;
+    }
+
+    /**
+     * @param shape chain: one path through all nodes, random: uniform random edges, dag: random edges from lower to higher node,
+     *              powerlaw: preferential attachment with a random direction on every edge
+     * @param nodes number of nodes
+     * @param degree average out degree for random shapes
+     * @return graph
+     */
+    static <N, E> Graph<N, E> create(String shape, int nodes, int degree) {
+        String[] ids = nodeIds(nodes);
+        Graph<N, E> graph = new Graph<>();
+        for (String id : ids) {
+            graph.setNode(id);
+        }
+        Random random = new Random(42);
+        switch (shape) {
+            case "chain":
+                for (int i = 1; i < nodes; i++) {
+                    graph.setEdge(ids[i - 1], ids[i]);
+                }
+                break;
+            case "random":
+                for (long i = (long) nodes * degree; i > 0; i--) {
+                    graph.setEdge(ids[random.nextInt(nodes)], ids[random.nextInt(nodes)]);
+                }
+                break;
+            case "dag":
+                for (long i = (long) nodes * degree; i > 0; i--) {
+                    int a = random.nextInt(nodes);
+                    int b = random.nextInt(nodes);
+                    if (a != b) {
+                        graph.setEdge(ids[Math.min(a, b)], ids[Math.max(a, b)]);
+                    }
+                }
+                break;
+            case "powerlaw":
+                // every edge adds both ends, so picking a random end picks nodes in proportion to their degree
+                int[] ends = new int[(int) Math.min(Integer.MAX_VALUE - 8, 2L * nodes * degree)];
+                int size = 0;
+                for (int i = 1; i < nodes && size + 2 <= ends.length; i++) {
+                    for (int j = 0; j < degree && size + 2 <= ends.length; j++) {
+                        int target = size == 0 ? 0 : ends[random.nextInt(size)];
+                        if (random.nextBoolean()) {
+                            graph.setEdge(ids[i], ids[target]);
+                        } else {
+                            graph.setEdge(ids[target], ids[i]);
+                        }
+                        ends[size++] = i;
+                        ends[size++] = target;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown graph shape " + shape);
+        }
+        return graph;
+    }
+}
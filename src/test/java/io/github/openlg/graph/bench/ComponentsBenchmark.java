@@ -0,0 +1,57 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Components;
+import io.github.openlg.graphlib.algorithms.ParallelComponents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential union-find against the parallel Afforest components with 1 to N threads.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ComponentsBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"4"})
+    private int degree;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private Graph<Object, Object> graph;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create("random", nodes, degree);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] sequential() {
+        return new Components().componentLabels(graph);
+    }
+
+    @Benchmark
+    public int[] parallel() {
+        return new ParallelComponents().componentLabels(graph, pool);
+    }
+}
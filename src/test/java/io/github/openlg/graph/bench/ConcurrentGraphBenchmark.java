@@ -0,0 +1,80 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.ConcurrentGraph;
+import io.github.openlg.graphlib.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed setEdge / removeEdge / successors throughput of the striped ConcurrentGraph against a Graph behind one
+ * global lock. Run with -t to vary the number of writer threads.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentGraphBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    private ConcurrentGraph<Object, Object> concurrent;
+    private Graph<Object, Object> locked;
+    private String[] ids;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final Random random = new Random(Thread.currentThread().getId());
+    }
+
+    @Setup
+    public void setup() {
+        ids = BenchmarkGraphs.nodeIds(nodes);
+        concurrent = new ConcurrentGraph<>();
+        locked = new Graph<>();
+        for (String id : ids) {
+            concurrent.setNode(id);
+            locked.setNode(id);
+        }
+    }
+
+    @Benchmark
+    public int concurrentGraph(Cursor cursor) {
+        String source = ids[cursor.random.nextInt(nodes)];
+        String target = ids[cursor.random.nextInt(nodes)];
+        int op = cursor.random.nextInt(4);
+        if (op == 0) {
+            concurrent.removeEdge(source, target);
+        } else if (op == 1) {
+            return concurrent.successors(source).size();
+        } else {
+            concurrent.setEdge(source, target);
+        }
+        return op;
+    }
+
+    @Benchmark
+    public int lockedGraph(Cursor cursor) {
+        String source = ids[cursor.random.nextInt(nodes)];
+        String target = ids[cursor.random.nextInt(nodes)];
+        int op = cursor.random.nextInt(4);
+        synchronized (locked) {
+            if (op == 0) {
+                locked.removeEdge(source, target);
+            } else if (op == 1) {
+                return locked.successors(source).size();
+            } else {
+                locked.setEdge(source, target);
+            }
+        }
+        return op;
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.CsrGraph;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read queries on the mutable graph against its frozen CSR snapshot.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsrGraphBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    private Graph<Object, Object> graph;
+    private CsrGraph<Object, Object> frozen;
+    private String[] ids;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final Random random = new Random(7);
+    }
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create("random", nodes, 10);
+        frozen = graph.freeze();
+        ids = BenchmarkGraphs.nodeIds(nodes);
+    }
+
+    @Benchmark
+    public boolean graphHasEdge(Cursor cursor) {
+        return graph.hasEdge(ids[cursor.random.nextInt(nodes)], ids[cursor.random.nextInt(nodes)]);
+    }
+
+    @Benchmark
+    public boolean frozenHasEdge(Cursor cursor) {
+        return frozen.hasEdge(ids[cursor.random.nextInt(nodes)], ids[cursor.random.nextInt(nodes)]);
+    }
+
+    @Benchmark
+    public int graphSuccessors(Cursor cursor) {
+        int length = 0;
+        for (String successor : graph.successors(ids[cursor.random.nextInt(nodes)])) {
+            length += successor.length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int frozenSuccessors(Cursor cursor) {
+        int length = 0;
+        for (String successor : frozen.successors(ids[cursor.random.nextInt(nodes)])) {
+            length += successor.length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] graphTarjan() {
+        return new Tarjan().componentIds(graph);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] frozenTarjan() {
+        return new Tarjan().componentIds(frozen);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CsrGraph<Object, Object> freeze() {
+        return graph.freeze();
+    }
+}
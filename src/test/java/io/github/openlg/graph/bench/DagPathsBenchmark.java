@@ -0,0 +1,54 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.DagPaths;
+import io.github.openlg.graphlib.algorithms.ShortestPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single source paths over a DAG in topological order against Dijkstra on the same graph, including the
+ * setup each of them needs for one query. Edge weights are derived from the node positions.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class DagPathsBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    private Graph<Object, Double> graph;
+    private String source;
+
+    @Setup
+    public void setup() {
+        Graph<Object, Object> dag = BenchmarkGraphs.create("dag", nodes, 5);
+        graph = new Graph<>();
+        dag.forEachEdge((edge, value) ->
+                graph.setEdge(edge.getSource(), edge.getTarget(), (double) (edge.getTarget().length() % 7)));
+        source = BenchmarkGraphs.nodeIds(nodes)[0];
+    }
+
+    @Benchmark
+    public DagPaths.Paths dagShortest() {
+        return new DagPaths().shortest(graph, source, Double::doubleValue);
+    }
+
+    @Benchmark
+    public DagPaths.Paths dagLongest() {
+        return new DagPaths().longest(graph, Double::doubleValue);
+    }
+
+    @Benchmark
+    public double[] dijkstra() {
+        return new ShortestPaths(graph, Double::doubleValue).distances(source);
+    }
+}
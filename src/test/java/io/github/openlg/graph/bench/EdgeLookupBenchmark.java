@@ -0,0 +1,74 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edge lookups on existing edges, run with <code>-prof gc</code> to check the allocation per call.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgeLookupBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"1000000"})
+    private int edges;
+
+    private Graph<String, String> graph;
+    private String[] sources;
+    private String[] targets;
+    private int next;
+
+    @Setup
+    public void setup() {
+        String[] ids = new String[nodes];
+        for (int i = 0; i < nodes; i++) {
+            ids[i] = "node-" + i;
+        }
+        graph = new Graph<>();
+        sources = new String[edges];
+        targets = new String[edges];
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            sources[i] = ids[random.nextInt(nodes)];
+            targets[i] = ids[random.nextInt(nodes)];
+            graph.setEdge(sources[i], targets[i], "label");
+        }
+    }
+
+    private int nextEdge() {
+        int i = next;
+        next = i + 1 == edges ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public boolean hasEdge() {
+        int i = nextEdge();
+        return graph.hasEdge(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public String getEdge() {
+        int i = nextEdge();
+        return graph.getEdge(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public Graph<String, String> setExistingEdge() {
+        int i = nextEdge();
+        return graph.setEdge(sources[i], targets[i], "label");
+    }
+}
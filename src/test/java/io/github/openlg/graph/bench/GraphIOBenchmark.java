@@ -0,0 +1,71 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.io.GraphIO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and load time of the GraphIO binary format against Java serialization. The encoded sizes are
+ * printed by the setup.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class GraphIOBenchmark {
+
+    @Param({"200000"})
+    private int nodes;
+
+    private Graph<Object, Object> graph;
+    private byte[] binary;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        graph = BenchmarkGraphs.create("random", nodes, 5);
+        binary = graphIOWrite().toByteArray();
+        serialized = javaWrite().toByteArray();
+        System.out.println("GraphIO " + binary.length + " bytes, Java serialization " + serialized.length + " bytes");
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream graphIOWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphIO.write(graph, out);
+        return out;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> graphIORead() throws IOException {
+        return GraphIO.read(new ByteArrayInputStream(binary));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream javaWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(graph);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Object javaRead() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return objects.readObject();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load throughput in edges per second: one setEdge call per edge against the bulk GraphBuilder.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@OperationsPerInvocation(GraphLoadBenchmark.EDGES)
+public class GraphLoadBenchmark {
+
+    static final int EDGES = 1_000_000;
+
+    @Param({"200000"})
+    private int nodes;
+
+    private String[] sources;
+    private String[] targets;
+
+    @Setup
+    public void setup() {
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        Random random = new Random(42);
+        sources = new String[EDGES];
+        targets = new String[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            sources[i] = ids[random.nextInt(nodes)];
+            targets[i] = ids[random.nextInt(nodes)];
+        }
+    }
+
+    @Benchmark
+    public Graph<Object, Object> setEdge() {
+        Graph<Object, Object> graph = new Graph<>();
+        for (int i = 0; i < EDGES; i++) {
+            graph.setEdge(sources[i], targets[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> builder() {
+        return new GraphBuilder<>(nodes, EDGES).addEdges(sources, targets, null).build();
+    }
+
+    @Benchmark
+    public Graph<Object, Object> builderWithoutHints() {
+        return new GraphBuilder<>().addEdges(sources, targets, null).build();
+    }
+}
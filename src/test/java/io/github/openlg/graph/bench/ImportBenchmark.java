@@ -0,0 +1,134 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+import io.github.openlg.graphlib.io.EdgeListReader;
+import io.github.openlg.graphlib.io.GraphSink;
+import io.github.openlg.graphlib.io.JsonGraphReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest time of an edge list file through the streaming readers against reading lines, splitting them
+ * and calling setEdge, and the parse time alone without building a graph. The parallel read uses the common
+ * ForkJoinPool. The files hold nodes * 5 edges, divide by the time for edges per second.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ImportBenchmark {
+
+    @Param({"200000"})
+    private int nodes;
+
+    private Path tsv;
+    private Path json;
+
+    @Setup
+    public void setup() throws IOException {
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        tsv = Files.createTempFile("import", ".tsv");
+        json = Files.createTempFile("import", ".json");
+        Random random = new Random(5);
+        try (BufferedWriter lines = Files.newBufferedWriter(tsv);
+             BufferedWriter document = Files.newBufferedWriter(json)) {
+            document.write("{\"options\":{\"directed\":true,\"multigraph\":false,\"compound\":false},\"edges\":[\n");
+            for (int i = 0; i < nodes * 5; i++) {
+                String v = ids[random.nextInt(nodes)];
+                String w = ids[random.nextInt(nodes)];
+                lines.write(v + "\t" + w + "\n");
+                document.write((i > 0 ? ",\n" : "") + "{\"v\":\"" + v + "\",\"w\":\"" + w + "\"}");
+            }
+            document.write("]}\n");
+        }
+        System.out.println("tsv " + Files.size(tsv) + " bytes, json " + Files.size(json) + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(tsv);
+        Files.delete(json);
+    }
+
+    @Benchmark
+    public Graph<Object, Object> splitLines() throws IOException {
+        Graph<Object, Object> graph = new Graph<>();
+        try (BufferedReader reader = Files.newBufferedReader(tsv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                graph.setEdge(fields[0], fields[1]);
+            }
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public long splitLinesParse() throws IOException {
+        long hash = 0;
+        try (BufferedReader reader = Files.newBufferedReader(tsv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                hash += fields[0].hashCode() ^ fields[1].hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public long edgeListParse() throws IOException {
+        long[] hash = new long[1];
+        EdgeListReader.tsv().read(tsv, new GraphSink() {
+            @Override
+            public void node(String id, Object value) {
+            }
+
+            @Override
+            public void edge(String source, String target, String name, Object value) {
+                hash[0] += source.hashCode() ^ target.hashCode();
+            }
+        });
+        return hash[0];
+    }
+
+    @Benchmark
+    public Graph<Object, Object> edgeListToGraph() throws IOException {
+        Graph<Object, Object> graph = new Graph<>();
+        EdgeListReader.tsv().read(tsv, GraphSink.of(graph));
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Object, Object> edgeListToBuilder() throws IOException {
+        GraphBuilder<Object, Object> builder = new GraphBuilder<>(nodes, nodes * 5);
+        EdgeListReader.tsv().read(tsv, GraphSink.of(builder));
+        return builder.build();
+    }
+
+    @Benchmark
+    public Graph<Object, Object> edgeListParallelToBuilder() throws IOException {
+        GraphBuilder<Object, Object> builder = new GraphBuilder<>(nodes, nodes * 5);
+        EdgeListReader.tsv().readParallel(tsv, builder);
+        return builder.build();
+    }
+
+    @Benchmark
+    public Graph<Object, Object> jsonToGraph() throws IOException {
+        return new JsonGraphReader().read(json);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.IsAcyclic;
+import io.github.openlg.graphlib.algorithms.Topsort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Three-color DFS against the former check that ran a full topological sort and caught CycleException.
+ * The cyclic shape is a DAG with one back edge near the first node.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsAcyclicBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"dag", "cyclic"})
+    private String shape;
+
+    private Graph<Object, Object> graph;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create("dag", nodes, 4);
+        if ("cyclic".equals(shape)) {
+            String[] ids = BenchmarkGraphs.nodeIds(nodes);
+            graph.setPath(ids[0], ids[1], ids[0]);
+        }
+    }
+
+    @Benchmark
+    public boolean depthFirstSearch() {
+        return new IsAcyclic().isAcyclic(graph);
+    }
+
+    @Benchmark
+    public boolean topsortException() {
+        try {
+            new Topsort().topsort(graph);
+        } catch (Topsort.CycleException e) {
+            return false;
+        }
+        return true;
+    }
+}
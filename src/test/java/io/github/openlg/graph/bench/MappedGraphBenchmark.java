@@ -0,0 +1,80 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import io.github.openlg.graphlib.io.GraphIO;
+import io.github.openlg.graphlib.io.MappedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time until a graph stored in a file is usable, loading it with GraphIO against mapping it, and a full
+ * Tarjan pass over the loaded graph against the mapping.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class MappedGraphBenchmark {
+
+    @Param({"500000"})
+    private int nodes;
+
+    private Path binaryFile;
+    private Path mappedFile;
+    private Graph<Object, Object> graph;
+    private MappedGraph mapped;
+
+    @Setup
+    public void setup() throws IOException {
+        graph = BenchmarkGraphs.create("random", nodes, 5);
+        binaryFile = Files.createTempFile("graph", ".olgg");
+        mappedFile = Files.createTempFile("graph", ".olgm");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(binaryFile))) {
+            GraphIO.write(graph, out);
+        }
+        MappedGraph.write(graph, mappedFile);
+        mapped = MappedGraph.open(mappedFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(mappedFile);
+    }
+
+    @Benchmark
+    public Graph<Object, Object> loadGraphIO() throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(binaryFile))) {
+            return GraphIO.read(in);
+        }
+    }
+
+    @Benchmark
+    public MappedGraph openMapped() throws IOException {
+        return MappedGraph.open(mappedFile);
+    }
+
+    @Benchmark
+    public int[] tarjanGraph() {
+        return new Tarjan().componentIds(graph);
+    }
+
+    @Benchmark
+    public int[] tarjanMapped() {
+        return new Tarjan().componentIds(mapped);
+    }
+}
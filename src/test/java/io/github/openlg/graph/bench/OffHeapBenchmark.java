@@ -0,0 +1,61 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full collection time with a large live graph kept on heap against off heap, and the cost of off heap
+ * access for a Tarjan pass. The setup prints the heap used by the graph.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g", "-XX:+UseG1GC"})
+public class OffHeapBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"false", "true"})
+    private boolean offHeap;
+
+    private Graph<Object, Object> graph;
+
+    @Setup
+    public void setup() {
+        long before = usedHeap();
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        graph = new Graph<>(true, false, false, offHeap);
+        Random random = new Random(7);
+        for (int i = 0; i < nodes * 5; i++) {
+            graph.setEdge(ids[random.nextInt(nodes)], ids[random.nextInt(nodes)]);
+        }
+        System.out.println("offHeap=" + offHeap + " graph heap " + (usedHeap() - before) / (1 << 20) + " MB");
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Graph<Object, Object> fullGc() {
+        System.gc();
+        return graph;
+    }
+
+    @Benchmark
+    public int[] tarjan() {
+        return new Tarjan().componentIds(graph);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Reachability;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch of random point to point queries answered by the bidirectional search, by the same search with a depth
+ * bound and by a depth first search over node ids with a hash set per query.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ReachabilityBenchmark {
+
+    private static final int QUERIES = 200;
+
+    @Param({"random", "powerlaw"})
+    private String shape;
+
+    @Param({"200000"})
+    private int nodes;
+
+    private Graph<Object, Object> graph;
+    private String[] from;
+    private String[] to;
+    private final Reachability reachability = new Reachability();
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create(shape, nodes, 3);
+        String[] ids = BenchmarkGraphs.nodeIds(nodes);
+        Random random = new Random(7);
+        from = new String[QUERIES];
+        to = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = ids[random.nextInt(nodes)];
+            to[i] = ids[random.nextInt(nodes)];
+        }
+    }
+
+    @Benchmark
+    public int bidirectional() {
+        int reached = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (reachability.canReach(graph, from[i], to[i])) {
+                reached++;
+            }
+        }
+        return reached;
+    }
+
+    @Benchmark
+    public int bidirectionalDepth6() {
+        int reached = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (reachability.canReach(graph, from[i], to[i], 6)) {
+                reached++;
+            }
+        }
+        return reached;
+    }
+
+    @Benchmark
+    public int depthFirst() {
+        int reached = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (depthFirst(from[i], to[i])) {
+                reached++;
+            }
+        }
+        return reached;
+    }
+
+    private boolean depthFirst(String source, String target) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        seen.add(source);
+        stack.push(source);
+        while (!stack.isEmpty()) {
+            String node = stack.pop();
+            if (node.equals(target)) {
+                return true;
+            }
+            for (String next : graph.successors(node)) {
+                if (seen.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One edge insertion and one edge removal followed by a component query, with maintained components
+ * against a full Tarjan pass after every change. With degree 2 a random graph has a giant component,
+ * so removals inside it pay for re-running Tarjan on that component.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SccTrackingBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"1", "2"})
+    private int degree;
+
+    private Graph<Object, Object> tracked;
+    private Graph<Object, Object> plain;
+    private String[] ids;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        tracked = BenchmarkGraphs.create("random", nodes, degree);
+        tracked.setSccTracking(true);
+        plain = BenchmarkGraphs.create("random", nodes, degree);
+        ids = BenchmarkGraphs.nodeIds(nodes);
+        random = new Random(7);
+    }
+
+    private void update(Graph<Object, Object> graph) {
+        String source = ids[random.nextInt(nodes)];
+        String target = ids[random.nextInt(nodes)];
+        if (graph.hasEdge(source, target)) {
+            return;
+        }
+        graph.setEdge(source, target);
+        graph.removeEdge(source, target);
+    }
+
+    @Benchmark
+    public int tracked() {
+        update(tracked);
+        return tracked.sccOf(ids[random.nextInt(nodes)]);
+    }
+
+    @Benchmark
+    public int recompute() {
+        update(plain);
+        return new Tarjan().componentIds(plain)[plain.indexOf(ids[random.nextInt(nodes)])];
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.ShortestPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point to point queries on a road network sized grid (side * side crossings, roads both ways with weights
+ * of at least their length) with ShortestPaths against Dijkstra on a boxed PriorityQueue over outEdges.
+ * Every invocation answers the same QUERIES random queries.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ShortestPathsBenchmark {
+
+    private static final int QUERIES = 5;
+
+    @Param({"1000"})
+    private int side;
+
+    private Graph<Object, Double> graph;
+    private ShortestPaths paths;
+    private String[] sources;
+    private String[] targets;
+    private double[] x;
+    private double[] y;
+
+    @Setup
+    public void setup() {
+        graph = new Graph<>();
+        Random random = new Random(9);
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                String node = i + "," + j;
+                if (i > 0)
+                    road((i - 1) + "," + j, node, random);
+                if (j > 0)
+                    road(i + "," + (j - 1), node, random);
+            }
+        }
+        paths = constructor();
+        x = new double[graph.nodeBound()];
+        y = new double[graph.nodeBound()];
+        for (int node = 0; node < graph.nodeBound(); node++) {
+            String[] at = graph.nodeIdAt(node).split(",");
+            x[node] = Integer.parseInt(at[0]);
+            y[node] = Integer.parseInt(at[1]);
+        }
+        sources = new String[QUERIES];
+        targets = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(side) + "," + random.nextInt(side);
+            targets[i] = random.nextInt(side) + "," + random.nextInt(side);
+        }
+    }
+
+    private void road(String a, String b, Random random) {
+        double weight = 1 + random.nextDouble();
+        graph.setEdge(a, b, weight);
+        graph.setEdge(b, a, weight);
+    }
+
+    @Benchmark
+    public ShortestPaths constructor() {
+        return new ShortestPaths(graph, Double::doubleValue);
+    }
+
+    @Benchmark
+    public double dijkstra() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += paths.distance(sources[i], targets[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double aStar() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            int target = graph.indexOf(targets[i]);
+            sum += paths.distance(sources[i], targets[i], node -> Math.hypot(x[node] - x[target], y[node] - y[target]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double priorityQueue() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += boxedDijkstra(sources[i], targets[i]);
+        }
+        return sum;
+    }
+
+    private double boxedDijkstra(String source, String target) {
+        Map<String, Double> distance = new HashMap<>();
+        Set<String> settled = new HashSet<>();
+        PriorityQueue<Map.Entry<String, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+        distance.put(source, 0.0);
+        queue.add(Map.entry(source, 0.0));
+        while (!queue.isEmpty()) {
+            String node = queue.poll().getKey();
+            if (!settled.add(node))
+                continue;
+            double d = distance.get(node);
+            if (node.equals(target))
+                return d;
+            for (Edge edge : graph.outEdges(node)) {
+                double candidate = d + graph.getEdge(edge);
+                Double known = distance.get(edge.getTarget());
+                if (known == null || candidate < known) {
+                    distance.put(edge.getTarget(), candidate);
+                    queue.add(Map.entry(edge.getTarget(), candidate));
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strongly connected components on large graphs. For the 10M node runs pass
+ * <code>-p nodes=10000000 -jvmArgs -Xmx12g</code>.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xss1m"})
+public class TarjanBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"chain", "random"})
+    private String shape;
+
+    private Graph<Object, Object> graph;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create(shape, nodes, 4);
+    }
+
+    @Benchmark
+    public int[] componentIds() {
+        return new Tarjan().componentIds(graph);
+    }
+
+    @Benchmark
+    public List<List<String>> tarjan() {
+        return new Tarjan().tarjan(graph);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Topsort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential topological sort against parallel level computation on random DAGs.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TopsortBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"4"})
+    private int degree;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private Graph<Object, Object> graph;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create("dag", nodes, degree);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] sort() {
+        return new Topsort().sort(graph, Topsort.Order.FIFO);
+    }
+
+    @Benchmark
+    public List<int[]> levels() {
+        return new Topsort().levelIndices(graph, pool);
+    }
+}
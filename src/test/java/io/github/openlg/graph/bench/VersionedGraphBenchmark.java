@@ -0,0 +1,88 @@
+package io.github.openlg.graph.bench;
+
+import io.github.openlg.graphlib.CsrGraph;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphSnapshot;
+import io.github.openlg.graphlib.VersionedGraph;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of taking a consistent view for a long reader: O(1) snapshot of a VersionedGraph against freezing
+ * a Graph, and the price paid for it in writes and traversals.
+ *
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionedGraphBenchmark {
+
+    @Param({"100000"})
+    private int nodes;
+
+    private Graph<Object, Object> graph;
+    private VersionedGraph<Object, Object> versioned;
+    private String[] ids;
+    private final Random random = new Random(7);
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.create("random", nodes, 4);
+        ids = BenchmarkGraphs.nodeIds(nodes);
+        versioned = new VersionedGraph<>();
+        for (String node : graph.getNodes()) {
+            versioned.setNode(node);
+        }
+        graph.getEdges().forEach(edge -> versioned.setEdge(edge));
+    }
+
+    @Benchmark
+    public GraphSnapshot<Object, Object> versionedSnapshot() {
+        return versioned.snapshot();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CsrGraph<Object, Object> graphFreeze() {
+        return graph.freeze();
+    }
+
+    @Benchmark
+    public Graph<Object, Object> graphSetEdge() {
+        String source = ids[random.nextInt(nodes)];
+        String target = ids[random.nextInt(nodes)];
+        graph.setEdge(source, target);
+        return graph.removeEdge(source, target);
+    }
+
+    @Benchmark
+    public VersionedGraph<Object, Object> versionedSetEdge() {
+        String source = ids[random.nextInt(nodes)];
+        String target = ids[random.nextInt(nodes)];
+        versioned.setEdge(source, target);
+        return versioned.removeEdge(source, target);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] graphTarjan() {
+        return new Tarjan().componentIds(graph);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] snapshotTarjan() {
+        return new Tarjan().componentIds(versioned.snapshot());
+    }
+}
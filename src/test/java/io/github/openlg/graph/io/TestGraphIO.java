@@ -0,0 +1,169 @@
+package io.github.openlg.graph.io;
+
+import io.github.openlg.graphlib.Edge;
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.io.Codec;
+import io.github.openlg.graphlib.io.GraphIO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestGraphIO {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Graph<Object, Object> g = new Graph<>(true, true, false);
+        g.setNode("a", "a-label");
+        g.setNode("b", 42);
+        g.setEdge("a", "b", 1L);
+        g.setEdge("a", "b", 2.5, "foo");
+        g.setEdge("b", "a", true, "bar");
+        g.setEdge("c", "c");
+        g.setNode("ü中");
+
+        Graph<Object, Object> copy = roundTrip(g);
+        assertSameGraph(copy, g);
+        Assert.assertTrue(copy.isMultiGraph());
+        Assert.assertEquals(copy.getEdge("a", "b", "foo"), 2.5);
+    }
+
+    @Test
+    public void testShapes() throws IOException {
+        Random random = new Random(8);
+        for (boolean directed : new boolean[]{true, false}) {
+            Graph<Object, Object> g = new Graph<>(directed, false, false);
+            for (int i = 0; i < 2000; i++) {
+                g.setEdge("n" + random.nextInt(300), "n" + random.nextInt(300));
+            }
+            g.setNode("isolated");
+            Graph<Object, Object> copy = roundTrip(g);
+            assertSameGraph(copy, g);
+            Assert.assertEquals(copy.isDirected(), directed);
+        }
+
+        Graph<Object, Object> compound = new Graph<>(true, false, true);
+        compound.setParent("b", "a");
+        compound.setParent("c", "b");
+        compound.setEdge("c", "d", "cd");
+        Graph<Object, Object> copy = roundTrip(compound);
+        assertSameGraph(copy, compound);
+        Assert.assertEquals(copy.getParent("c"), "b");
+        Assert.assertEquals(copy.getParent("b"), "a");
+        Assert.assertNull(copy.getParent("a"));
+        Assert.assertEquals(new HashSet<>(copy.getChildren("a")), new HashSet<>(compound.getChildren("a")));
+    }
+
+    @Test
+    public void testCodec() throws IOException {
+        Codec<int[]> pair = new Codec<int[]>() {
+            @Override
+            public void write(DataOutput out, int[] value) throws IOException {
+                out.writeInt(value[0]);
+                out.writeInt(value[1]);
+            }
+
+            @Override
+            public int[] read(DataInput in) throws IOException {
+                return new int[]{in.readInt(), in.readInt()};
+            }
+        };
+        Graph<String, int[]> g = new Graph<>();
+        g.setNode("a", "a-label");
+        g.setEdge("a", "b", new int[]{1, 2});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphIO.write(g, out, Codec.STRING, pair);
+        Graph<String, int[]> copy = GraphIO.read(new ByteArrayInputStream(out.toByteArray()), Codec.STRING, pair);
+        Assert.assertEquals(copy.getNode("a"), "a-label");
+        Assert.assertArrayEquals(copy.getEdge("a", "b"), new int[]{1, 2});
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> GraphIO.write(g, new ByteArrayOutputStream()));
+        Assert.assertThrows(IOException.class, () -> GraphIO.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    @Test
+    public void testReadLine() throws IOException {
+        // the label is a line count followed by the raw lines, read back with DataInput.readLine
+        Codec<String> lines = new Codec<String>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                out.writeInt(value.split("\r\n|\r|\n").length);
+                out.writeBytes(value);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                StringBuilder value = new StringBuilder();
+                for (int i = in.readInt(); i > 0; i--) {
+                    value.append(in.readLine()).append('|');
+                }
+                return value.toString();
+            }
+        };
+        Graph<String, String> g = new Graph<>();
+        g.setEdge("a", "b", "one\ntwo\rthree\r\nfour\n");
+        Assert.assertEquals(GraphIO.read(new ByteArrayInputStream(write(g, lines)), Codec.STRING, lines)
+                .getEdge("a", "b"), "one|two|three|four|");
+
+        // pad the label so that its "\r" is the last byte of the 64 KB read buffer and its "\n" comes with the next fill
+        g.setEdge("a", "b", "MARK\r\nafter\n");
+        int start = indexOf(write(g, lines), "MARK".getBytes(StandardCharsets.US_ASCII));
+        StringBuilder padded = new StringBuilder();
+        for (int i = start; i < (1 << 16) - 1; i++) {
+            padded.append('x');
+        }
+        g.setEdge("a", "b", padded.append("\r\nafter\n").toString());
+        byte[] bytes = write(g, lines);
+        Assert.assertEquals(bytes[(1 << 16) - 1], '\r');
+        Assert.assertEquals(bytes[1 << 16], '\n');
+        String expected = padded.substring(0, padded.length() - "\r\nafter\n".length()) + "|after|";
+        Assert.assertEquals(GraphIO.read(new ByteArrayInputStream(bytes), Codec.STRING, lines).getEdge("a", "b"), expected);
+    }
+
+    private static byte[] write(Graph<String, String> graph, Codec<String> edgeCodec) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphIO.write(graph, out, Codec.STRING, edgeCodec);
+        return out.toByteArray();
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + part.length), part)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Graph<Object, Object> roundTrip(Graph<Object, Object> graph) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphIO.write(graph, out);
+        return GraphIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertSameGraph(Graph<Object, Object> actual, Graph<Object, Object> expected) {
+        Assert.assertEquals(new ArrayList<>(actual.getNodes()), new ArrayList<>(expected.getNodes()));
+        Assert.assertEquals(new HashSet<>(actual.getEdges()), new HashSet<>(expected.getEdges()));
+        for (String node : expected.getNodes()) {
+            Assert.assertEquals(actual.getNode(node), expected.getNode(node));
+        }
+        for (Edge edge : expected.getEdges()) {
+            Assert.assertEquals(actual.getEdge(edge), expected.getEdge(edge));
+        }
+        Assert.assertEquals(actual.isCompound(), expected.isCompound());
+    }
+}
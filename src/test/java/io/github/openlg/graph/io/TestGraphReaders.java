@@ -0,0 +1,269 @@
+package io.github.openlg.graph.io;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.GraphBuilder;
+import io.github.openlg.graphlib.io.EdgeListReader;
+import io.github.openlg.graphlib.io.GraphMLReader;
+import io.github.openlg.graphlib.io.GraphSink;
+import io.github.openlg.graphlib.io.JsonGraphReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestGraphReaders {
+
+    @Test
+    public void testEdgeList() throws IOException {
+        String tsv = "source\ttarget\tweight\n# comment\na\tb\t1\r\n\nb\tc\nc\ta\t3\textra\nd\td";
+        for (int bufferSize : new int[]{16, 1 << 16}) {
+            Graph<Object, Object> g = new Graph<>();
+            long edges = EdgeListReader.tsv().header(true).bufferSize(bufferSize)
+                    .read(channel(tsv, 3), GraphSink.of(g));
+            Assert.assertEquals(edges, 4);
+            Assert.assertEquals(g.edgeCount(), 4);
+            Assert.assertEquals(g.getEdge("a", "b"), "1");
+            Assert.assertNull(g.getEdge("b", "c"));
+            Assert.assertEquals(g.getEdge("c", "a"), "3");
+            Assert.assertTrue(g.hasEdge("d", "d"));
+        }
+
+        Graph<Object, Object> g = new Graph<>();
+        EdgeListReader.csv().read(channel("\"a,1\",b,\"say \"\"hi\"\"\"\nb,\"\",x\n", 5), GraphSink.of(g));
+        Assert.assertEquals(g.getEdge("a,1", "b"), "say \"hi\"");
+        Assert.assertTrue(g.hasNode(""));
+
+        g = new Graph<>();
+        EdgeListReader.whitespace().read(channel("% konect\n  1   2\n2\t 3  \n", 4), GraphSink.of(g));
+        Assert.assertEquals(g.edgeCount(), 2);
+        Assert.assertTrue(g.hasEdge("1", "2"));
+        Assert.assertTrue(g.hasEdge("2", "3"));
+        Assert.assertNull(g.getEdge("2", "3"));
+
+        // lines longer than the buffer grow it
+        StringBuilder longId = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+            longId.append("ü");
+        g = new Graph<>();
+        EdgeListReader.tsv().bufferSize(16).read(channel(longId + "\tx\nx\t" + longId, 7), GraphSink.of(g));
+        Assert.assertTrue(g.hasEdge(longId.toString(), "x"));
+        Assert.assertTrue(g.hasEdge("x", longId.toString()));
+
+        try {
+            EdgeListReader.tsv().read(channel("a\tb\nc\n", 100), GraphSink.of(new Graph<>()));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("Line 2"));
+        }
+        try {
+            EdgeListReader.csv().read(channel("\"a,b\n", 100), GraphSink.of(new Graph<>()));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("quote"));
+        }
+    }
+
+    @Test
+    public void testEdgeListBuilder() throws IOException {
+        Random random = new Random(3);
+        StringBuilder text = new StringBuilder();
+        Graph<Object, Object> expected = new Graph<>();
+        for (int i = 0; i < 20000; i++) {
+            String v = "n" + random.nextInt(2000);
+            String w = "n" + random.nextInt(2000);
+            text.append(v).append(',').append(w).append('\n');
+            expected.setEdge(v, w);
+        }
+        GraphBuilder<Object, Object> builder = new GraphBuilder<>();
+        EdgeListReader.csv().bufferSize(100).read(channel(text.toString(), 1000), GraphSink.of(builder));
+        Graph<Object, Object> g = builder.build();
+        Assert.assertEquals(g.nodeCount(), expected.nodeCount());
+        Assert.assertEquals(g.edgeCount(), expected.edgeCount());
+        expected.forEachEdge((edge, value) -> Assert.assertTrue(g.hasEdge(edge.getSource(), edge.getTarget())));
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        Path file = Files.createTempFile("edges", ".tsv");
+        try {
+            Random random = new Random(4);
+            StringBuilder text = new StringBuilder("source\ttarget\tvalue\n");
+            for (int i = 0; i < 300000; i++) {
+                text.append('n').append(random.nextInt(50000)).append('\t').append('n').append(random.nextInt(50000));
+                if (i % 3 == 0)
+                    text.append('\t').append(i);
+                text.append(i % 1000 == 0 ? "\r\n\n# comment\n" : "\n");
+            }
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(Files.size(file) > 3 << 20);
+
+            GraphBuilder<Object, Object> sequential = new GraphBuilder<>();
+            long expected = EdgeListReader.tsv().header(true).read(file, GraphSink.of(sequential));
+            Graph<Object, Object> g = sequential.build();
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                GraphBuilder<Object, Object> parallel = new GraphBuilder<>();
+                Assert.assertEquals(EdgeListReader.tsv().header(true).readParallel(file, parallel, pool), expected);
+                Graph<Object, Object> p = parallel.build();
+                Assert.assertEquals(expected, 300000);
+                Assert.assertEquals(new ArrayList<>(p.getNodes()), new ArrayList<>(g.getNodes()));
+                Assert.assertEquals(p.edgeCount(), g.edgeCount());
+                g.forEachEdge((edge, value) -> Assert.assertEquals(p.getEdge(edge), value));
+
+                // errors name the line within its range
+                StringBuilder lines = new StringBuilder();
+                for (int i = 0; i < 400000; i++) {
+                    lines.append("a\tb\n");
+                }
+                Files.write(file, lines.append("broken\n").toString().getBytes(StandardCharsets.UTF_8));
+                try {
+                    EdgeListReader.tsv().readParallel(file, new GraphBuilder<>(), pool);
+                    Assert.fail();
+                } catch (IOException e) {
+                    Assert.assertTrue(e.getMessage(), e.getMessage().matches("Line \\d+ after byte \\d+ has less than two fields"));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        String json = "{\"options\": {\"directed\": false, \"multigraph\": true, \"compound\": true},\n"
+                + " \"nodes\": [{\"v\": \"a\", \"value\": {\"label\": \"A\", \"size\": [1, -2.5e1, true, null]}},\n"
+                + "   {\"v\": \"b\", \"parent\": \"a\"}, {\"value\": 7, \"v\": \"c\\u00fc\\ud83d\\ude00\\n\"}],\n"
+                + " \"edges\": [{\"v\": \"b\", \"w\": \"a\", \"name\": \"x\", \"value\": \"\\\"q\\\"\"},\n"
+                + "   {\"v\": \"a\", \"w\": \"d\", \"value\": 12345678901234567890}],\n"
+                + " \"value\": {\"ignored\": []}}";
+        JsonGraphReader reader = new JsonGraphReader();
+        Graph<Object, Object> g = reader.read(channel(json, 2));
+        Assert.assertFalse(g.isDirected());
+        Assert.assertTrue(g.isMultiGraph());
+        Assert.assertTrue(g.isCompound());
+        Assert.assertEquals(g.nodeCount(), 4);
+        Assert.assertEquals(g.getParent("b"), "a");
+
+        Map<?, ?> a = (Map<?, ?>) g.getNode("a");
+        Assert.assertEquals(a.get("label"), "A");
+        Assert.assertEquals(a.get("size"), Arrays.asList(1L, -25.0, true, null));
+        Assert.assertEquals(g.getNode("cü\uD83D\uDE00\n"), 7L);
+        Assert.assertEquals(g.getEdge("a", "b", "x"), "\"q\"");
+        Assert.assertEquals(g.getEdge("a", "d"), 1.2345678901234567e19);
+
+        // a sink gets the same elements, options are reported by the reader
+        GraphBuilder<Object, Object> builder = new GraphBuilder<>();
+        long edges = reader.read(channel("{\"edges\":[{\"v\":\"x\",\"w\":\"y\",\"value\":1}],"
+                + "\"nodes\":[{\"v\":\"z\"}],\"options\":{\"directed\":true}}", 100), GraphSink.of(builder));
+        Assert.assertEquals(edges, 1);
+        Assert.assertTrue(reader.isDirected());
+        Graph<Object, Object> built = builder.build();
+        Assert.assertEquals(built.getEdge("x", "y"), 1L);
+        Assert.assertTrue(built.hasNode("z"));
+
+        for (String malformed : new String[]{"{\"nodes\":[{\"value\":1}]}", "{\"edges\":[{\"v\":\"a\"}]}",
+                "{\"nodes\":[{\"v\":\"a\"}", "{\"nodes\":[{\"v\":\"\\ud83d\"}]}", "{\"nodes\":[{\"v\":tru}]}",
+                "{\"nodes\":[{\"v\":\"a\"}],\"options\":{}}"}) {
+            try {
+                reader.read(channel(malformed, 100));
+                Assert.fail(malformed);
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testGraphML() throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                + "  <key id=\"d0\" for=\"node\" attr.name=\"color\" attr.type=\"string\"/>\n"
+                + "  <key id=\"d1\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\"/>\n"
+                + "  <key id=\"d2\" for=\"node\" attr.name=\"rank\" attr.type=\"int\"/>\n"
+                + "  <graph id=\"G\" edgedefault=\"undirected\">\n"
+                + "    <data key=\"d0\">graph data is skipped</data>\n"
+                + "    <node id=\"n0\"><data key=\"d0\">green</data></node>\n"
+                + "    <node id=\"n1\"><data key=\"d0\">red</data><data key=\"d2\">2</data>\n"
+                + "      <graph id=\"n1:\" edgedefault=\"undirected\">\n"
+                + "        <node id=\"n1::n0\"/>\n"
+                + "      </graph>\n"
+                + "    </node>\n"
+                + "    <edge id=\"e0\" source=\"n0\" target=\"n1\"><data key=\"d1\">1.5</data></edge>\n"
+                + "    <edge id=\"e1\" source=\"n1::n0\" target=\"n0\"/>\n"
+                + "  </graph>\n"
+                + "</graphml>";
+        GraphMLReader reader = new GraphMLReader();
+        Graph<Object, Object> g = new Graph<>(false, true, true);
+        long edges = reader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), GraphSink.of(g));
+        Assert.assertEquals(edges, 2);
+        Assert.assertFalse(reader.isDirected());
+        Assert.assertEquals(g.nodeCount(), 3);
+        Assert.assertEquals(g.getNode("n0"), "green");
+        Map<?, ?> n1 = (Map<?, ?>) g.getNode("n1");
+        Assert.assertEquals(n1.get("color"), "red");
+        Assert.assertEquals(n1.get("rank"), 2L);
+        Assert.assertEquals(g.getParent("n1::n0"), "n1");
+        Assert.assertEquals(g.getEdge("n1", "n0"), 1.5);
+        Assert.assertTrue(g.hasEdge("n1::n0", "n0"));
+
+        // edge ids become names
+        g = new Graph<>(false, true, true);
+        reader.edgeIds(true).read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), GraphSink.of(g));
+        Assert.assertEquals(g.getEdge("n0", "n1", "e0"), 1.5);
+
+        try {
+            reader.read(new ByteArrayInputStream("<graphml><graph><edge source=\"a\"/></graph></graphml>"
+                    .getBytes(StandardCharsets.UTF_8)), GraphSink.of(new Graph<>()));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("target"));
+        }
+    }
+
+    /**
+     * @return channel handing out at most chunk bytes per read, to cross buffer boundaries everywhere
+     */
+    private static ReadableByteChannel channel(String text, int chunk) {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!bytes.hasRemaining())
+                    return -1;
+                int n = Math.min(Math.min(chunk, dst.remaining()), bytes.remaining());
+                ByteBuffer slice = bytes.duplicate();
+                slice.limit(slice.position() + n);
+                dst.put(slice);
+                bytes.position(bytes.position() + n);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.openlg.graph.io;
+
+import io.github.openlg.graphlib.Graph;
+import io.github.openlg.graphlib.algorithms.Components;
+import io.github.openlg.graphlib.algorithms.Tarjan;
+import io.github.openlg.graphlib.algorithms.Topsort;
+import io.github.openlg.graphlib.io.MappedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author lg&lt;lirufei0808@gmail.com&gt;
+ * create at 2026/10/16
+ */
+public class TestMappedGraph {
+
+    @Test
+    public void testTopology() throws IOException {
+        Random random = new Random(19);
+        Graph<Object, Object> g = new Graph<>(true, true, false);
+        for (int i = 0; i < 3000; i++) {
+            g.setEdge("n" + random.nextInt(500), "n" + random.nextInt(500));
+        }
+        g.setEdge("n1", "n2", null, "named");
+        g.setNode("ü中");
+        g.removeNode("n7");
+
+        MappedGraph mapped = writeAndOpen(g);
+        Assert.assertEquals(mapped.nodeCount(), g.nodeCount());
+        Assert.assertEquals(new ArrayList<>(mapped.getNodes()), new ArrayList<>(g.getNodes()));
+        Assert.assertTrue(mapped.hasNode("ü中"));
+        Assert.assertFalse(mapped.hasNode("n7"));
+        Assert.assertEquals(mapped.indexOf("missing"), -1);
+        for (String node : g.getNodes()) {
+            Assert.assertEquals(mapped.nodeIdAt(mapped.indexOf(node)), node);
+            Assert.assertEquals(new HashSet<>(mapped.successors(node)), new HashSet<>(g.successors(node)));
+            Assert.assertEquals(new HashSet<>(mapped.predecessors(node)), new HashSet<>(g.predecessors(node)));
+        }
+        Assert.assertTrue(mapped.hasEdge("n1", "n2"));
+        Assert.assertEquals(mapped.hasEdge("n2", "n1"), g.hasEdge("n2", "n1"));
+        Assert.assertFalse(mapped.hasEdge("n1", "missing"));
+    }
+
+    @Test
+    public void testAlgorithms() throws IOException {
+        Random random = new Random(20);
+        Graph<Object, Object> dag = new Graph<>();
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(400);
+            int b = random.nextInt(400);
+            if (a != b) {
+                dag.setEdge("n" + Math.min(a, b), "n" + Math.max(a, b));
+            }
+        }
+        MappedGraph mapped = writeAndOpen(dag);
+        List<String> order = new Topsort().topsort(mapped, Topsort.Order.FIFO);
+        Assert.assertEquals(order.size(), dag.nodeCount());
+        for (String node : dag.getNodes()) {
+            for (String successor : dag.successors(node)) {
+                Assert.assertTrue(order.indexOf(node) < order.indexOf(successor));
+            }
+        }
+
+        Graph<Object, Object> cyclic = new Graph<>();
+        for (int i = 0; i < 1500; i++) {
+            cyclic.setEdge("n" + random.nextInt(800), "n" + random.nextInt(800));
+        }
+        mapped = writeAndOpen(cyclic);
+        Assert.assertEquals(toSets(new Tarjan().tarjan(mapped)), toSets(cyclic.tarjan()));
+        Assert.assertEquals(new HashSet<>(new Components().componentSets(mapped)),
+                new HashSet<>(new Components().componentSets(cyclic)));
+    }
+
+    @Test
+    public void testCorruptFile() throws IOException {
+        Path file = Files.createTempFile("graph", ".olgm");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            Assert.assertThrows(IOException.class, () -> MappedGraph.open(file));
+
+            Graph<Object, Object> g = new Graph<>();
+            g.setEdge("a", "b");
+            MappedGraph.write(g, file);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            Assert.assertThrows(IOException.class, () -> MappedGraph.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static MappedGraph writeAndOpen(Graph<Object, Object> graph) throws IOException {
+        Path file = Files.createTempFile("graph", ".olgm");
+        file.toFile().deleteOnExit();
+        MappedGraph.write(graph, file);
+        return MappedGraph.open(file);
+    }
+
+    private static Set<Set<String>> toSets(List<List<String>> components) {
+        return components.stream().map(HashSet::new).collect(Collectors.toSet());
+    }
+}